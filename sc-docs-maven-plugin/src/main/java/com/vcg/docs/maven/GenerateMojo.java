@@ -0,0 +1,100 @@
+package com.vcg.docs.maven;
+
+import com.vcg.docs.ScSwaggerDocs;
+import io.swagger.models.Swagger;
+import org.apache.maven.artifact.DependencyResolutionRequiredException;
+import org.apache.maven.plugin.AbstractMojo;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugins.annotations.LifecyclePhase;
+import org.apache.maven.plugins.annotations.Mojo;
+import org.apache.maven.plugins.annotations.Parameter;
+import org.apache.maven.plugins.annotations.ResolutionScope;
+import org.apache.maven.project.MavenProject;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 在 maven 构建中直接生成当前模块的文档,使用 maven 已解析好的编译 classpath,
+ * 不再启动 maven 子进程复制依赖到 target/dependency.
+ * 解析过程读取 docs.* 系统属性并共用 ~/.sc-docs 缓存目录,不支持 mvn -T 并行构建多个模块
+ */
+@Mojo(name = "generate", defaultPhase = LifecyclePhase.PROCESS_CLASSES,
+        requiresDependencyResolution = ResolutionScope.COMPILE)
+public class GenerateMojo extends AbstractMojo {
+
+    @Parameter(defaultValue = "${project}", readonly = true, required = true)
+    private MavenProject project;
+
+    @Parameter(property = "docs.outputDirectory", defaultValue = "${project.build.directory}/docs")
+    private File outputDirectory;
+
+    /**
+     * 输出格式,与命令行的 -f 相同,如 json,yaml,api,html,md
+     */
+    @Parameter(property = "docs.formats", defaultValue = "json")
+    private List<String> formats;
+
+    @Parameter(property = "docs.threads", defaultValue = "1")
+    private int threads;
+
+    @Parameter(property = "docs.skip", defaultValue = "false")
+    private boolean skip;
+
+    @Override
+    public void execute() throws MojoExecutionException {
+        if (skip || "pom".equals(project.getPackaging())) {
+            getLog().info("Skipping docs of " + project.getArtifactId());
+            return;
+        }
+
+        // src/main/java 放在第一个,其余为生成的源码目录
+        List<File> sourceRoots = new ArrayList<>();
+        File sourceDirectory = new File(project.getBuild().getSourceDirectory());
+        if (sourceDirectory.isDirectory()) {
+            sourceRoots.add(sourceDirectory);
+        }
+        for (String sourceRoot : project.getCompileSourceRoots()) {
+            File file = new File(sourceRoot);
+            if (file.isDirectory() && !file.equals(sourceDirectory)) {
+                sourceRoots.add(file);
+            }
+        }
+        if (sourceRoots.isEmpty()) {
+            getLog().info("No source roots in " + project.getArtifactId());
+            return;
+        }
+
+        // 模块自身的 class 目录每次编译都会变化,自身的类型从源码解析
+        File classes = new File(project.getBuild().getOutputDirectory());
+        List<File> classpath = new ArrayList<>();
+        try {
+            for (String element : project.getCompileClasspathElements()) {
+                File file = new File(element);
+                if (file.exists() && !file.equals(classes)) {
+                    classpath.add(file);
+                }
+            }
+        } catch (DependencyResolutionRequiredException e) {
+            throw new MojoExecutionException("Unable to resolve compile classpath of " + project.getArtifactId(), e);
+        }
+
+        ScSwaggerDocs scSwaggerDocs = new ScSwaggerDocs();
+        scSwaggerDocs.setThreads(threads);
+        Swagger swagger = scSwaggerDocs.parseModule(sourceRoots, classpath);
+        if (swagger == null) {
+            getLog().info("No apis found in " + project.getArtifactId());
+            return;
+        }
+        try {
+            for (String format : formats) {
+                scSwaggerDocs.write(swagger, format.trim(), outputDirectory.getAbsolutePath());
+            }
+            scSwaggerDocs.writeMetrics(outputDirectory.getAbsolutePath());
+        } catch (IOException e) {
+            throw new MojoExecutionException("Unable to write docs to " + outputDirectory, e);
+        }
+    }
+}
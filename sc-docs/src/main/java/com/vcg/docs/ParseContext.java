@@ -0,0 +1,203 @@
+package com.vcg.docs;
+
+import com.github.javaparser.ParserConfiguration;
+import com.github.javaparser.ast.CompilationUnit;
+import com.github.javaparser.symbolsolver.JavaSymbolSolver;
+import com.github.javaparser.symbolsolver.resolution.typesolvers.CombinedTypeSolver;
+import com.vcg.docs.cache.ModelPack;
+import com.vcg.docs.cache.ParseCache;
+import com.vcg.docs.scan.ConstantTable;
+import com.vcg.docs.solver.ClassDirectoryTypeSolver;
+import com.vcg.docs.solver.IndexedJarTypeSolver;
+import com.vcg.docs.solver.JarIndex;
+import com.vcg.docs.solver.JdkTypeSolver;
+import com.vcg.docs.solver.SourceIndex;
+import com.vcg.docs.solver.SourceTypeSolver;
+import com.vcg.docs.visitor.ResolveSwaggerType;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.codec.digest.DigestUtils;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * 一次解析过程中所有模块共用的源码哈希、源码和jar索引、模型和线程池
+ */
+@Slf4j
+@Getter
+public class ParseContext implements AutoCloseable {
+
+    private final List<File> sourceDirectories;
+
+    private final Map<String, String> sourceHashes;
+
+    /**
+     * 源码中的字符串常量,与文件哈希一起收集
+     */
+    private final ConstantTable constants = new ConstantTable();
+
+    /**
+     * 源码中的类名索引,所有线程的类型解析器共用
+     */
+    private final SourceIndex sourceIndex;
+
+    /**
+     * 每个线程已解析的源文件,线程在模块之间复用时不再重复解析
+     */
+    @Getter(AccessLevel.NONE)
+    private final ThreadLocal<Map<java.nio.file.Path, Optional<CompilationUnit>>> parsedSources = ThreadLocal.withInitial(HashMap::new);
+
+    private final ExecutorService executor;
+
+    /**
+     * 所有模块和提取器共用的类型解析结果,每个类型在一次解析中只解析一次
+     */
+    private final ResolveSwaggerType resolveSwaggerType = new ResolveSwaggerType();
+
+    private final Map<File, JarIndex> jarIndexes = new ConcurrentHashMap<>();
+
+    /**
+     * docs.modelPacks 中的模型包,按模块依赖中的jar匹配后加载
+     */
+    @Getter(AccessLevel.NONE)
+    private final List<ModelPack> modelPacks = ModelPack.load();
+
+    /**
+     * jar -> sha1,只在配置了模型包时计算,每个jar只计算一次
+     */
+    @Getter(AccessLevel.NONE)
+    private final Map<File, String> jarHashes = new ConcurrentHashMap<>();
+
+    /**
+     * 构建工具已解析好的 classpath 中的jar,如 maven 插件中模块的编译依赖
+     */
+    private JarIndex classpathIndex;
+
+    /**
+     * 构建工具已解析好的 classpath 中的 class 目录,如 reactor 中其他模块的 target/classes,每个目录只遍历一次
+     */
+    private final Map<File, ClassDirectoryTypeSolver> classDirectories = new LinkedHashMap<>();
+
+    private final List<File> classpath = new ArrayList<>();
+
+    public ParseContext(List<File> sourceDirectories, int threads) {
+        this.sourceDirectories = sourceDirectories;
+        this.sourceHashes = ParseCache.hash(sourceDirectories, constants::add);
+        this.sourceIndex = SourceIndex.of(sourceDirectories, sourceHashes.keySet());
+        this.resolveSwaggerType.setSources(sourceHashes.keySet());
+        this.resolveSwaggerType.setConstants(constants.build());
+        this.executor = threads > 1 ? Executors.newFixedThreadPool(threads) : null;
+    }
+
+    /**
+     * 记录已解析好的 classpath,之后创建的类型解析器都包含这些jar和 class 目录,不再需要 target/dependency
+     */
+    public synchronized void addClasspath(List<File> classpath) {
+        this.classpath.addAll(classpath);
+        List<File> jars = new ArrayList<>();
+        for (File file : classpath) {
+            if (file.isDirectory()) {
+                classDirectories.put(file, new ClassDirectoryTypeSolver(file));
+            } else if (file.getName().endsWith(".jar")) {
+                jars.add(file);
+            }
+        }
+        long start = System.currentTimeMillis();
+        classpathIndex = JarIndex.of(jars);
+        log.info("Indexed " + classpathIndex.size() + " classes of " + jars.size() + " jars in " + (System.currentTimeMillis() - start) + "ms");
+    }
+
+    /**
+     * 模块的类型解析器,依赖只包含该模块 target/dependency 下的jar,不影响其他模块.
+     * javaparser 的类型解析缓存不是线程安全的,每个线程使用独立的解析器,源码索引、jar索引和当前线程已解析的源文件共用
+     */
+    public ParserConfiguration newParserConfiguration(File dependency) {
+        ParserConfiguration parserConfiguration = new ParserConfiguration();
+        parserConfiguration.setSymbolResolver(new JavaSymbolSolver(newTypeSolver(dependency)));
+        return parserConfiguration;
+    }
+
+    public CombinedTypeSolver newTypeSolver(File dependency) {
+        CombinedTypeSolver typeSolver = new CombinedTypeSolver();
+        typeSolver.add(new SourceTypeSolver(sourceIndex, parsedSources.get()));
+        typeSolver.add(JdkTypeSolver.create());
+        JarIndex index = getJarIndex(dependency);
+        if (!index.isEmpty()) {
+            typeSolver.add(new IndexedJarTypeSolver(index));
+        }
+        for (Map.Entry<File, ClassDirectoryTypeSolver> entry : classDirectories.entrySet()) {
+            ClassDirectoryTypeSolver classDirectory = new ClassDirectoryTypeSolver(entry.getKey(), entry.getValue());
+            classDirectory.appendDependencies(index);
+            classDirectory.appendDependencies(classpathIndex);
+            typeSolver.add(classDirectory);
+        }
+        if (classpathIndex != null && !classpathIndex.isEmpty()) {
+            typeSolver.add(new IndexedJarTypeSolver(classpathIndex));
+        }
+        return typeSolver;
+    }
+
+    /**
+     * 加载与模块依赖中的jar内容相同的模型包,按 sha1 匹配,包中的类型以匹配到的jar登记,
+     * 没有依赖该jar的模块不会用到这些模型
+     */
+    public void loadModelPacks(File dependency) {
+        if (modelPacks.isEmpty()) return;
+        List<File> jars = new ArrayList<>();
+        File[] files = dependency.listFiles(pathname -> pathname.getName().endsWith(".jar"));
+        if (files != null) {
+            jars.addAll(Arrays.asList(files));
+        }
+        for (File file : classpath) {
+            if (file.getName().endsWith(".jar")) {
+                jars.add(file);
+            }
+        }
+        for (ModelPack pack : modelPacks) {
+            Optional<File> jar = jars.stream()
+                    .filter(file -> pack.getSha1() != null && pack.getSha1().equals(sha1(file)))
+                    .findFirst();
+            if (jar.isPresent()) {
+                resolveSwaggerType.load(pack, jar.get().getName());
+            } else {
+                log.debug("Skipping model pack of " + pack.getSource() + ", no matching jar in " + dependency);
+            }
+        }
+    }
+
+    private String sha1(File jar) {
+        return jarHashes.computeIfAbsent(jar.getAbsoluteFile(), file -> {
+            try (InputStream inputStream = new FileInputStream(file)) {
+                return DigestUtils.sha1Hex(inputStream);
+            } catch (IOException e) {
+                log.warn("Unable to hash " + file + ": " + e.getMessage());
+                return "";
+            }
+        });
+    }
+
+    public JarIndex getJarIndex(File dependency) {
+        return jarIndexes.computeIfAbsent(dependency.getAbsoluteFile(), d -> {
+            long start = System.currentTimeMillis();
+            JarIndex index = JarIndex.of(d);
+            log.info("Indexed " + index.size() + " classes of " + d + " in " + (System.currentTimeMillis() - start) + "ms");
+            return index;
+        });
+    }
+
+    @Override
+    public void close() {
+        parsedSources.remove();
+        if (executor != null) {
+            executor.shutdown();
+        }
+    }
+}
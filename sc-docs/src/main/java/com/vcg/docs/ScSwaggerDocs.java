@@ -0,0 +1,1040 @@
+package com.vcg.docs;
+
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.yaml.YAMLMapper;
+import com.github.javaparser.JavaParser;
+import com.github.javaparser.ParseResult;
+import com.github.javaparser.ParseStart;
+import com.github.javaparser.ParserConfiguration;
+import com.github.javaparser.ast.CompilationUnit;
+import com.google.common.collect.ImmutableMap;
+import com.vcg.docs.bytecode.BytecodeExtractor;
+import com.vcg.docs.cache.DependencyCache;
+import com.vcg.docs.cache.ModelPack;
+import com.vcg.docs.cache.ParseCache;
+import com.vcg.docs.cache.SwaggerCache;
+import com.vcg.docs.controller.FileExploreController;
+import com.vcg.docs.metrics.Metrics;
+import com.vcg.docs.metrics.ResolveProfile;
+import com.vcg.docs.scan.SourceScanner;
+import com.vcg.docs.solver.ClassDirectoryTypeSolver;
+import com.vcg.docs.swaggerhub.SwaggerHubClient;
+import com.vcg.docs.swaggerhub.SwaggerHubRequest;
+import com.vcg.docs.translate.TransApi;
+import com.vcg.docs.utils.Swagger2OpenApi;
+import com.vcg.docs.utils.SwaggerUtils;
+import com.vcg.docs.visitor.ApiDocsGenerator;
+import com.vcg.docs.visitor.ApiExtractor;
+import com.vcg.docs.visitor.ApiExtractorProvider;
+import com.vcg.docs.visitor.CompositeVisitorAdapter;
+import com.vcg.docs.visitor.PropertyInterner;
+import com.vcg.docs.visitor.ResolveSwaggerType;
+import com.vcg.docs.visitor.ResolveTrace;
+import io.github.swagger2markup.GroupBy;
+import io.github.swagger2markup.OrderBy;
+import io.github.swagger2markup.Swagger2MarkupConverter;
+import io.github.swagger2markup.builder.Swagger2MarkupConfigBuilder;
+import io.github.swagger2markup.markup.builder.MarkupLanguage;
+import io.swagger.codegen.*;
+import io.swagger.models.*;
+import io.swagger.models.auth.ApiKeyAuthDefinition;
+import io.swagger.models.auth.BasicAuthDefinition;
+import io.swagger.models.auth.In;
+import io.swagger.models.auth.OAuth2Definition;
+import io.swagger.models.parameters.Parameter;
+import io.swagger.models.properties.Property;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.cli.Options;
+import org.apache.commons.cli.*;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.maven.wrapper.MavenWrapperMain;
+import org.asciidoctor.*;
+import org.jruby.RubyInstanceConfig;
+import org.jruby.javasupport.JavaEmbedUtils;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.env.Environment;
+import org.thymeleaf.TemplateEngine;
+import org.thymeleaf.context.Context;
+import org.thymeleaf.templateresolver.ClassLoaderTemplateResolver;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static com.github.javaparser.Providers.provider;
+import static org.asciidoctor.Asciidoctor.Factory.create;
+
+@Slf4j
+@SpringBootApplication
+public class ScSwaggerDocs {
+
+    private String title = "Api Documentation";
+
+    private String description = "";
+
+    private String version = "1.0";
+
+    private String basePath = "/";
+
+    private String host = "localhost";
+
+    private ObjectMapper objectMapper = new ObjectMapper().setSerializationInclusion(JsonInclude.Include.NON_NULL);
+
+    private ObjectMapper yamlMapper = new YAMLMapper().setSerializationInclusion(JsonInclude.Include.NON_NULL);
+
+    private static final Pattern CHINESE_PATTERN = Pattern.compile("[\u4e00-\u9fa5]");
+
+    private boolean camel = true;
+
+    private int threads = Integer.getInteger("docs.threads", 1);
+
+    private int parallelism = Integer.getInteger("docs.parallelism", 1);
+
+    private boolean skipBuild = Boolean.getBoolean("docs.skipBuild");
+
+    private final Metrics metrics = new Metrics();
+
+    /**
+     * 开启 docs.profile 时按类型统计解析耗时,与 metrics.json 一起输出为 profile.json
+     */
+    private ResolveProfile profile;
+
+    public void setThreads(int threads) {
+        this.threads = threads;
+    }
+
+    public void setParallelism(int parallelism) {
+        this.parallelism = parallelism;
+    }
+
+    public void setSkipBuild(boolean skipBuild) {
+        this.skipBuild = skipBuild;
+    }
+
+    public Metrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * 将各阶段耗时写入输出目录下的 metrics.json,开启 docs.profile 时同时写入 profile.json
+     */
+    public void writeMetrics(String outDirectory) throws IOException {
+        File outFile = new File(outDirectory);
+        if (Metrics.isEnabled()) {
+            outFile.mkdirs();
+            objectMapper.writerWithDefaultPrettyPrinter().writeValue(new File(outFile, "metrics.json"), metrics);
+        }
+        if (profile != null) {
+            outFile.mkdirs();
+            objectMapper.writerWithDefaultPrettyPrinter().writeValue(new File(outFile, "profile.json"), profile.report());
+        }
+    }
+
+
+    public Map<String, Swagger> parse(String sourceDirectory, String basePackage) {
+        return parse(sourceDirectory, basePackage, (projectName, swagger) -> {
+        });
+    }
+
+    /**
+     * @param consumer 每个模块解析完成后在该模块的线程中回调,用于紧接着输出文档
+     */
+    public Map<String, Swagger> parse(String sourceDirectory, String basePackage, BiConsumer<String, Swagger> consumer) {
+        try (Metrics.Phase ignored = metrics.start("build", null)) {
+            copyDependencies(sourceDirectory);
+        }
+        return parseSources(sourceDirectory, basePackage, consumer);
+    }
+
+    /**
+     * 在已完成依赖解析的构建中解析单个模块,如 maven 插件,不执行 maven 构建,也不需要 target/dependency
+     *
+     * @param sourceRoots 模块的源码目录,第一个为 src/main/java
+     * @param classpath   模块的编译 classpath,包含jar和 class 目录
+     * @return 没有接口时返回 null
+     */
+    public Swagger parseModule(List<File> sourceRoots, List<File> classpath) {
+        try (ParseContext context = newParseContext(sourceRoots)) {
+            context.addClasspath(classpath);
+            return parseModule(context, sourceRoots.get(0), (projectName, swagger) -> {
+            });
+        }
+    }
+
+    /**
+     * 生成一次文档后监听源码目录,源文件变化时重新解析,只有文档内容变化的模块才会回调 consumer.
+     * 未变化的源文件直接使用解析缓存,每次重新解析都使用新的类型解析器.
+     *
+     * @param outDirectory 每次生成后写入本次的 metrics.json
+     */
+    public void watch(String sourceDirectory, String basePackage, String outDirectory, BiConsumer<String, Swagger> consumer) throws IOException, InterruptedException {
+        Map<String, String> specs = new ConcurrentHashMap<>();
+        BiConsumer<String, Swagger> changedConsumer = (projectName, swagger) -> {
+            String spec;
+            try {
+                spec = objectMapper.writeValueAsString(swagger);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            if (!spec.equals(specs.put(projectName, spec))) {
+                log.info("Writing " + projectName);
+                consumer.accept(projectName, swagger);
+            }
+        };
+        parse(sourceDirectory, basePackage, changedConsumer);
+        writeMetrics(outDirectory);
+
+        try (WatchService watchService = FileSystems.getDefault().newWatchService()) {
+            for (File directory : getSourceDirectories(sourceDirectory, basePackage)) {
+                register(watchService, directory.toPath());
+            }
+            log.info("Watching " + sourceDirectory + " for changes");
+            while (true) {
+                WatchKey key = watchService.take();
+                boolean changed = false;
+                do {
+                    java.nio.file.Path directory = (java.nio.file.Path) key.watchable();
+                    for (WatchEvent<?> event : key.pollEvents()) {
+                        if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                            changed = true;
+                            continue;
+                        }
+                        java.nio.file.Path path = directory.resolve((java.nio.file.Path) event.context());
+                        if (event.kind() == StandardWatchEventKinds.ENTRY_CREATE && Files.isDirectory(path)) {
+                            register(watchService, path);
+                            changed = true;
+                        }
+                        changed |= path.toString().endsWith(".java");
+                    }
+                    key.reset();
+                    // 合并短时间内的连续修改,例如 IDE 保存多个文件
+                } while ((key = watchService.poll(300, TimeUnit.MILLISECONDS)) != null);
+
+                if (changed) {
+                    try {
+                        metrics.reset();
+                        parseSources(sourceDirectory, basePackage, changedConsumer);
+                        writeMetrics(outDirectory);
+                    } catch (Exception e) {
+                        log.warn("Failed to regenerate docs: " + e.getMessage(), e);
+                    }
+                }
+            }
+        }
+    }
+
+    private void register(WatchService watchService, java.nio.file.Path directory) throws IOException {
+        try (Stream<java.nio.file.Path> stream = Files.walk(directory)) {
+            for (java.nio.file.Path path : stream.filter(Files::isDirectory).collect(Collectors.toList())) {
+                path.register(watchService, StandardWatchEventKinds.ENTRY_CREATE,
+                        StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_DELETE);
+            }
+        }
+    }
+
+    private Map<String, Swagger> parseSources(String sourceDirectory, String basePackage, BiConsumer<String, Swagger> consumer) {
+        log.info("Parsing " + sourceDirectory);
+        List<File> filteredDirectories = getSourceDirectories(sourceDirectory, basePackage);
+        List<File> sourceDirectories = getSourceDirectories(sourceDirectory, basePackage);
+        Map<String, Swagger> swaggerMap = new TreeMap<>();
+
+        long start = System.currentTimeMillis();
+        try (ParseContext context = newParseContext(sourceDirectories)) {
+            if (parallelism > 1 && filteredDirectories.size() > 1) {
+                ExecutorService moduleExecutor = Executors.newFixedThreadPool(Math.min(parallelism, filteredDirectories.size()));
+                try {
+                    Map<File, Future<Swagger>> futures = new LinkedHashMap<>();
+                    for (File filteredDirectory : filteredDirectories) {
+                        futures.put(filteredDirectory, moduleExecutor.submit(() -> parseModule(context, filteredDirectory, consumer)));
+                    }
+                    for (Map.Entry<File, Future<Swagger>> entry : futures.entrySet()) {
+                        try {
+                            Swagger swagger = entry.getValue().get();
+                            if (swagger != null) {
+                                swaggerMap.put(new File(projectPath(entry.getKey())).getName(), swagger);
+                            }
+                        } catch (InterruptedException | ExecutionException e) {
+                            throw new RuntimeException("Failed to parse module " + entry.getKey(), e);
+                        }
+                    }
+                } finally {
+                    moduleExecutor.shutdown();
+                }
+            } else {
+                for (File filteredDirectory : filteredDirectories) {
+                    Swagger swagger = parseModule(context, filteredDirectory, consumer);
+                    if (swagger != null) {
+                        swaggerMap.put(new File(projectPath(filteredDirectory)).getName(), swagger);
+                    }
+                }
+            }
+
+            PropertyInterner interner = context.getResolveSwaggerType().getInterner();
+            if (PropertyInterner.isEnabled()) {
+                log.info("Interned " + interner.size() + " distinct properties, " + interner.getHits() + " duplicates shared");
+            }
+        }
+
+        log.info("Resolved " + filteredDirectories.size() + " modules over "
+                + sourceDirectories.size() + " source roots in " + (System.currentTimeMillis() - start) + "ms");
+        logPhases();
+        return swaggerMap;
+    }
+
+    /**
+     * 按阶段汇总所有模块的耗时、CPU时间、内存分配和阶段结束时的最大堆内存,并发的模块耗时累加
+     */
+    private void logPhases() {
+        Map<String, List<Metrics.Phase>> phases = metrics.getPhases().stream()
+                .collect(Collectors.groupingBy(Metrics.Phase::getName, LinkedHashMap::new, Collectors.toList()));
+        for (Map.Entry<String, List<Metrics.Phase>> entry : phases.entrySet()) {
+            List<Metrics.Phase> values = entry.getValue();
+            log.info(String.format("  %-8s %7dms wall %7dms cpu %6dMB allocated %6dMB heap",
+                    entry.getKey(),
+                    values.stream().mapToLong(Metrics.Phase::getWallMs).sum(),
+                    values.stream().mapToLong(Metrics.Phase::getCpuMs).sum(),
+                    values.stream().mapToLong(Metrics.Phase::getAllocatedBytes).sum() / 1024 / 1024,
+                    values.stream().mapToLong(Metrics.Phase::getHeapUsedBytes).max().orElse(0) / 1024 / 1024));
+        }
+    }
+
+    private ParseContext newParseContext(List<File> sourceDirectories) {
+        try (Metrics.Phase phase = metrics.start("hash", null)) {
+            ParseContext context = new ParseContext(sourceDirectories, threads);
+            if (ResolveProfile.isEnabled()) {
+                if (profile == null) {
+                    profile = new ResolveProfile();
+                }
+                context.getResolveSwaggerType().setProfile(profile);
+            }
+            phase.count("files", context.getSourceHashes().size());
+            phase.count("constants", context.getConstants().size());
+            return context;
+        }
+    }
+
+    /**
+     * 解析单个模块,每个模块使用只包含自身依赖的类型解析器
+     */
+    private Swagger parseModule(ParseContext context, File filteredDirectory, BiConsumer<String, Swagger> consumer) {
+        String projectPath = projectPath(filteredDirectory);
+        String projectName = new File(projectPath).getName();
+        File dependency = new File(projectPath + "/target/dependency");
+        context.loadModelPacks(dependency);
+
+        ResolveSwaggerType resolveSwaggerType = context.getResolveSwaggerType();
+        final CompositeVisitorAdapter visitorAdapter = new CompositeVisitorAdapter(ApiExtractorProvider.load(resolveSwaggerType));
+        Info info = new Info()
+                .title(this.title)
+                .description(this.description)
+                .version(this.version);
+        final Swagger swagger = new Swagger()
+                .info(info)
+                .paths(new TreeMap<>())
+                .basePath(this.basePath)
+                .host(this.host)
+                .securityDefinition("api_key", new ApiKeyAuthDefinition("Authorization", In.HEADER))
+                .securityDefinition("oauth2", new OAuth2Definition()
+                        .implicit("http://petstore.swagger.io/oauth/dialog")
+                        .scope("write:pets", "modify pets in your account")
+                        .scope("read:pets", "read your pets")
+                )
+                .securityDefinition("basic", new BasicAuthDefinition());
+
+
+        // 按 basePackage 过滤的源码目录为 src/main/java 下的子目录,只提取该包下的类
+        String directory = filteredDirectory.getAbsolutePath().replace(File.separatorChar, '/');
+        int sourceIndex = Math.max(directory.indexOf("src/main/java"), 0);
+        String moduleDirectory = directory.substring(0, sourceIndex);
+        File classes = new File(moduleDirectory, "target/classes");
+        File sourceRoot = new File(moduleDirectory, "src/main/java");
+        File staleSource = BytecodeExtractor.isEnabled() && classes.isDirectory()
+                ? BytecodeExtractor.findStaleSource(classes, sourceRoot, filteredDirectory) : null;
+        if (staleSource != null) {
+            log.warn("target/classes of " + projectName + " is out of date with " + staleSource + ", parsing sources");
+        }
+        Collection<Swagger> partials;
+        if (BytecodeExtractor.isEnabled() && classes.isDirectory() && staleSource == null) {
+            String basePackage = directory.substring(sourceIndex).replaceFirst("^src/main/java/*", "")
+                    .replaceAll("/+$", "").replace('/', '.');
+            partials = new ArrayList<>();
+            try (Metrics.Phase phase = metrics.start("bytecode", projectName)) {
+                partials.add(new BytecodeExtractor(resolveSwaggerType, classes, basePackage,
+                        sourceRoot, context.getClasspathIndex() != null ? context.getClasspathIndex() : context.getJarIndex(dependency))
+                        .extract(phase));
+            }
+            // 通过 ApiExtractorProvider 注册的提取器只能处理源码,只解析这些提取器匹配的源文件
+            List<ApiExtractor> extensions = ApiExtractorProvider.load(resolveSwaggerType, false);
+            if (!extensions.isEmpty()) {
+                log.info("Running " + extensions.size() + " registered extractors on sources of " + projectName);
+                partials.addAll(visitSources(context, filteredDirectory, dependency, new CompositeVisitorAdapter(extensions), projectName));
+            }
+        } else {
+            partials = visitSources(context, filteredDirectory, dependency, visitorAdapter, projectName);
+        }
+
+        try (Metrics.Phase phase = metrics.start("merge", projectName)) {
+            for (Swagger partial : partials) {
+                SwaggerUtils.merge(swagger, partial);
+            }
+
+            if (swagger.getTags() != null) {
+                Set<String> pathTagNames = new HashSet<>();
+                Map<String, Tag> tagMap = swagger.getTags()
+                        .stream()
+                        .collect(Collectors.toMap(Tag::getName, t -> t));
+
+                for (String tagName : new HashSet<>(tagMap.keySet())) {
+                    if (!pathTagNames.contains(tagName)) {
+                        tagMap.remove(tagName);
+                    }
+                }
+
+                swagger.tags(new ArrayList<>(new TreeMap<>(tagMap).values()));
+            }
+            // 并发解析时模型发布的先后不固定,按名称排序保证与串行解析输出一致
+            if (swagger.getDefinitions() != null) {
+                swagger.setDefinitions(new TreeMap<>(swagger.getDefinitions()));
+            }
+            phase.count("paths", swagger.getPaths() == null ? 0 : swagger.getPaths().size());
+            phase.count("definitions", swagger.getDefinitions() == null ? 0 : swagger.getDefinitions().size());
+        }
+
+        if (swagger.getPaths() == null || swagger.getPaths().isEmpty()) {
+            return null;
+        }
+
+        String title = System.getProperty("docs." + projectName + ".info.title", projectName);
+        String host = System.getProperty("docs." + projectName + ".host", this.host);
+        String basePath = System.getProperty("docs." + projectName + ".basePath", "/");
+        String scheme = System.getProperty("docs." + projectName + ".scheme", "http");
+        swagger.getInfo().title(title);
+        swagger.host(host);
+        swagger.scheme(Scheme.valueOf(scheme.toUpperCase()));
+        swagger.basePath(basePath);
+        consumer.accept(projectName, swagger);
+        return swagger;
+    }
+
+    /**
+     * 解析模块中变化的源文件,未变化的源文件使用解析缓存
+     */
+    private Collection<Swagger> visitSources(ParseContext context, File filteredDirectory, File dependency,
+                                             CompositeVisitorAdapter visitorAdapter, String projectName) {
+        String projectPath = projectPath(filteredDirectory);
+        ParseCache parseCache;
+        List<java.nio.file.Path> sources;
+        Map<java.nio.file.Path, Swagger> partials = new TreeMap<>();
+        List<java.nio.file.Path> dirtySources = new ArrayList<>();
+        try (Metrics.Phase phase = metrics.start("cache", projectName)) {
+            parseCache = ParseCache.load(projectPath, fingerprint(context, dependency, visitorAdapter.getExtractors()),
+                    context.getConstants());
+            sources = listSources(filteredDirectory);
+            for (java.nio.file.Path source : sources) {
+                Swagger partial = parseCache.get(source, context.getSourceHashes());
+                if (partial == null) {
+                    dirtySources.add(source);
+                } else {
+                    partials.put(source, partial);
+                }
+            }
+            phase.count("files", sources.size());
+            phase.count("cached", partials.size());
+        }
+
+        List<java.nio.file.Path> candidates;
+        try (Metrics.Phase phase = metrics.start("scan", projectName)) {
+            candidates = new SourceScanner(visitorAdapter.getClassAnnotations(), visitorAdapter.getClassTypes()).scan(dirtySources);
+            phase.count("files", dirtySources.size());
+            phase.count("candidates", candidates.size());
+        }
+        log.info("Parsing " + candidates.size() + " of " + dirtySources.size() + " changed files (" + sources.size() + " total) in " + filteredDirectory);
+
+        ExecutorService executor = context.getExecutor();
+        if (executor == null) {
+            ParserConfiguration parserConfiguration = context.newParserConfiguration(dependency);
+            Map<java.nio.file.Path, Optional<CompilationUnit>> parseResults;
+            try (Metrics.Phase phase = metrics.start("parse", projectName)) {
+                parseResults = candidates.parallelStream()
+                        .collect(Collectors.toMap(s -> s, s -> phase.track(() -> parse(s, parserConfiguration))));
+                phase.count("files", candidates.size());
+            }
+            try (Metrics.Phase phase = metrics.start("visit", projectName)) {
+                for (java.nio.file.Path source : candidates) {
+                    parseResults.get(source)
+                            .map(cu -> visit(context, source, cu, visitorAdapter, parseCache, phase))
+                            .ifPresent(partial -> partials.put(source, partial));
+                }
+            }
+        } else {
+            // 并发时每个文件的解析和遍历在同一个任务中完成,两个阶段的耗时相互重叠
+            try (Metrics.Phase parsePhase = metrics.start("parse", projectName);
+                 Metrics.Phase visitPhase = metrics.start("visit", projectName)) {
+                // 线程池中的线程在模块之间复用,每个线程的类型解析器只在本模块中使用,模块结束后随 map 一起释放,已解析的源文件留在线程中
+                Map<Thread, ParserConfiguration> workerConfigurations = new ConcurrentHashMap<>();
+                Map<java.nio.file.Path, Future<Optional<Swagger>>> futures = new LinkedHashMap<>();
+                for (java.nio.file.Path source : candidates) {
+                    futures.put(source, executor.submit(() -> parsePhase.track(() -> parse(source,
+                            workerConfigurations.computeIfAbsent(Thread.currentThread(), t -> context.newParserConfiguration(dependency))))
+                            .map(cu -> visitPhase.track(() -> visit(context, source, cu, visitorAdapter, parseCache, visitPhase)))));
+                }
+                for (Map.Entry<java.nio.file.Path, Future<Optional<Swagger>>> entry : futures.entrySet()) {
+                    try {
+                        entry.getValue().get().ifPresent(partial -> partials.put(entry.getKey(), partial));
+                    } catch (InterruptedException | ExecutionException e) {
+                        throw new RuntimeException("Failed to visit " + entry.getKey(), e);
+                    }
+                }
+                parsePhase.count("files", candidates.size());
+            }
+        }
+
+        parseCache.retain(sources);
+        parseCache.save();
+        return partials.values();
+    }
+
+    private Swagger visit(ParseContext context, java.nio.file.Path source, CompilationUnit compilationUnit,
+                          CompositeVisitorAdapter visitorAdapter, ParseCache parseCache, Metrics.Phase phase) {
+        Swagger partial = SwaggerUtils.partial();
+        ResolveTrace trace = ResolveSwaggerType.startTrace();
+        try {
+            compilationUnit.accept(visitorAdapter, partial);
+        } finally {
+            ResolveSwaggerType.stopTrace();
+        }
+        for (Map.Entry<String, Model> entry : context.getResolveSwaggerType().getModelMap(trace).entrySet()) {
+            partial.model(entry.getKey(), entry.getValue());
+        }
+        parseCache.put(source, context.getSourceHashes(), context.getSourceDirectories(), trace, partial);
+        phase.count("files", 1);
+        phase.count("resolutions", trace.getResolutions());
+        phase.count("cacheHits", trace.getHits());
+        phase.count("cacheMisses", trace.getMisses());
+        phase.count("types", trace.getTypeNames().size());
+        phase.count("models", trace.getModelNames().size());
+        return partial;
+    }
+
+    private String projectPath(File filteredDirectory) {
+        return filteredDirectory.getAbsolutePath().replace("src/main/java", "")
+                .replace("src\\main\\java", "");
+    }
+
+    private Optional<CompilationUnit> parse(java.nio.file.Path source, ParserConfiguration parserConfiguration) {
+        try {
+            ParseResult<CompilationUnit> parseResult = new JavaParser(parserConfiguration)
+                    .parse(ParseStart.COMPILATION_UNIT, provider(source));
+            if (!parseResult.isSuccessful()) {
+                return Optional.empty();
+            }
+            return parseResult.getResult().map(cu -> cu.setStorage(source));
+        } catch (IOException e) {
+            log.warn(e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    private List<java.nio.file.Path> listSources(File directory) {
+        try (Stream<java.nio.file.Path> stream = Files.walk(directory.toPath())) {
+            return stream.filter(p -> p.toString().endsWith(".java"))
+                    .sorted()
+                    .collect(Collectors.toList());
+        } catch (IOException e) {
+            log.warn(e.getMessage());
+            return new ArrayList<>();
+        }
+    }
+
+    /**
+     * 构建工具传入的 classpath 中的 class 目录按建立类名索引时得到的最新修改时间计算,不再单独遍历.
+     * 常量不计入,引用常量的文件在解析缓存中单独判断
+     *
+     * @param extractors 增加或去掉提取器后重新解析
+     */
+    private String fingerprint(ParseContext context, File dependency, List<ApiExtractor> extractors) {
+        StringBuilder sb = new StringBuilder(String.valueOf(ScSwaggerDocs.class.getPackage().getImplementationVersion()));
+        for (ApiExtractor extractor : extractors) {
+            sb.append(";").append(extractor.getClass().getName());
+        }
+        File[] jars = dependency.listFiles(pathname -> pathname.getName().endsWith(".jar"));
+        if (jars != null) {
+            Arrays.sort(jars);
+            for (File jar : jars) {
+                sb.append(";").append(jar.getName()).append(":").append(jar.length());
+            }
+        }
+        for (File file : context.getClasspath()) {
+            ClassDirectoryTypeSolver classDirectory = context.getClassDirectories().get(file);
+            if (classDirectory != null) {
+                sb.append(";").append(file.getAbsolutePath()).append(":").append(classDirectory.getLastModified());
+            } else {
+                sb.append(";").append(file.getName()).append(":").append(file.length());
+            }
+        }
+        return DigestUtils.sha1Hex(sb.toString());
+    }
+
+    private List<File> getSourceDirectories(String sourceDirectory, String basePackage) {
+        List<File> files = new ArrayList<>();
+        filterSourceDirectory(sourceDirectory, basePackage == null ? "" : basePackage, files);
+        return files;
+    }
+
+    private void filterSourceDirectory(String sourceDirectory, String basePackage, List<File> files) {
+        File parentDirectoryFile = new File(sourceDirectory);
+        if (!parentDirectoryFile.isDirectory()) return;
+
+        File sourceDirectoryFile = new File(sourceDirectory, "/src/main/java/" + basePackage.replace(".", "/"));
+
+        if (!sourceDirectoryFile.exists()) {
+            File[] listFiles = parentDirectoryFile.listFiles();
+            if (listFiles != null) {
+                for (File file : listFiles) {
+                    filterSourceDirectory(file.getAbsolutePath(), basePackage, files);
+                }
+            }
+        } else {
+            files.add(sourceDirectoryFile);
+        }
+    }
+
+    public Swagger translate(Swagger swagger) {
+        if (swagger.getTags() != null) {
+            for (Tag tag : swagger.getTags()) {
+                tag.setDescription(translate(tag.getDescription()));
+            }
+        }
+
+        if (swagger.getPaths() != null) {
+            for (Map.Entry<String, Path> entry : swagger.getPaths().entrySet()) {
+                Path value = entry.getValue();
+                for (Operation operation : value.getOperations()) {
+                    for (Parameter parameter : operation.getParameters()) {
+                        String translate = translate(parameter.getDescription());
+                        parameter.setDescription(translate);
+                    }
+
+                    for (Map.Entry<String, Response> responseEntry : operation.getResponses().entrySet()) {
+                        String description = responseEntry.getValue().getDescription();
+                        responseEntry.getValue().description(translate(description));
+                    }
+
+                    operation.summary(translate(operation.getSummary()));
+                }
+            }
+        }
+
+        if (swagger.getDefinitions() != null) {
+            for (Map.Entry<String, Model> entry : swagger.getDefinitions().entrySet()) {
+                Model value = entry.getValue();
+                value.setDescription(translate(value.getDescription()));
+                Map<String, Property> properties = value.getProperties();
+                if (properties != null) {
+                    // 字段属性可能是多个模型和模块共用的实例,翻译后替换为副本
+                    for (Map.Entry<String, Property> propertyEntry : properties.entrySet()) {
+                        String description = propertyEntry.getValue().getDescription();
+                        String translate = translate(description);
+                        if (!Objects.equals(description, translate)) {
+                            Property property = PropertyInterner.copy(propertyEntry.getValue());
+                            property.setDescription(translate);
+                            propertyEntry.setValue(property);
+                        }
+                    }
+                }
+            }
+        }
+
+
+        return swagger;
+    }
+
+
+    private String translate(String content) {
+        if (StringUtils.isNotBlank(content) && CHINESE_PATTERN.matcher(content).find()) {
+            try {
+
+                return TransApi.translate(content.replaceAll("<[^>]+>", ""));
+            } catch (Exception e) {
+                log.warn(e.getMessage());
+            }
+        }
+        return content;
+    }
+
+
+    public void write(Swagger swagger, String format, String outDirectory) throws IOException {
+        try (Metrics.Phase ignored = metrics.start("write:" + format, new File(outDirectory).getName())) {
+            doWrite(swagger, format, outDirectory);
+        }
+    }
+
+    private void doWrite(Swagger swagger, String format, String outDirectory) throws IOException {
+        File outFile = new File(outDirectory);
+        if (outFile.exists()) {
+            outDirectory = outFile.getAbsolutePath();
+        } else {
+            outFile.mkdirs();
+        }
+
+        TemplateEngine templateEngine = templateEngine();
+
+        Swagger2MarkupConfigBuilder builder = new Swagger2MarkupConfigBuilder()
+                .withBasePathPrefix()
+                .withInterDocumentCrossReferences()
+                .withPathsGroupedBy(GroupBy.TAGS)
+                .withTagOrdering(OrderBy.AS_IS)
+                .withoutPathSecuritySection()
+                .withGeneratedExamples()
+                .withFlatBody();
+
+
+        Attributes toc = new Attributes("toc");
+        toc.setTitle(swagger.getInfo().getTitle());
+        //auto, left, right, macro, preamble
+        toc.setTableOfContents(Placement.LEFT);
+        //html5, docbook5, docbook45
+        toc.setDocType("docbook5");
+        toc.setSectNumLevels(4);
+        OptionsBuilder optionsBuilder = OptionsBuilder.options()
+                .headerFooter(true)
+                .inPlace(true)
+                .toFile(true)
+                .attributes(toc)
+                .safe(SafeMode.SAFE);
+
+        String redocs = templateEngine.process("redocs", new Context(Locale.CHINESE, ImmutableMap.of("title", swagger.getInfo().getTitle())));
+        String swaggerUI = templateEngine.process("swagger-ui", new Context(Locale.CHINESE, ImmutableMap.of("title", swagger.getInfo().getTitle())));
+
+        if ("md".equalsIgnoreCase(format)) {
+            builder.withMarkupLanguage(MarkupLanguage.MARKDOWN);
+        } else if ("html".equals(format)) {
+            builder.withMarkupLanguage(MarkupLanguage.ASCIIDOC);
+            optionsBuilder.backend("html5");
+        } else if ("yaml".equals(format)) {
+            try (FileWriter outputStream = new FileWriter(new File(outFile, "swagger.yml"))) {
+                String json = yamlMapper.writerWithDefaultPrettyPrinter().writeValueAsString(swagger);
+                outputStream.write(json);
+            }
+
+            try (FileWriter outputStream = new FileWriter(new File(outFile, "openapi.yml"))) {
+                JsonNode openApi = convertOpenApi(swagger, outFile);
+                String json = yamlMapper.writerWithDefaultPrettyPrinter().writeValueAsString(openApi);
+                outputStream.write(json);
+            } catch (Exception e) {
+                log.warn(e.getMessage());
+            }
+            return;
+        } else if ("api".equals(format)) {
+            try {
+                String folder = System.getProperty("java.io.tmpdir") + "/swagger-codegen/" + UUID.randomUUID().toString();
+                ClientOpts clientOpts = new ClientOpts();
+                clientOpts.setOutputDirectory(outFile.getAbsolutePath());
+                ClientOptInput clientOptInput = new ClientOptInput()
+                        .opts(clientOpts)
+                        .swagger(swagger);
+                CodegenConfig config = new ApiDocsGenerator();
+                config.additionalProperties().put("swagger", swagger);
+                config.additionalProperties().put(CodegenConstants.LIBRARY, "feign");
+                config.setOutputDir(folder);
+                clientOptInput.setConfig(config);
+                try (Metrics.Phase ignored = metrics.start("codegen", outFile.getName())) {
+                    new DefaultGenerator()
+                            .opts(clientOptInput)
+                            .generate();
+                }
+                String docsify = templateEngine.process("docsify", new Context(Locale.CHINESE, ImmutableMap.of("title", swagger.getInfo().getTitle())));
+                FileUtils.copyDirectory(new File(folder + "/docs"), new File(outDirectory + "/api/docs"));
+                FileUtils.copyFile(new File(folder + "/README.md"), new File(outDirectory + "/api/README.md"));
+                try (FileWriter docsifyWriter = new FileWriter(outDirectory + "/api/index.html")) {
+                    IOUtils.write(docsify, docsifyWriter);
+                }
+            } catch (Exception e) {
+                e.printStackTrace();
+            }
+            return;
+        } else {
+            try (FileWriter outputStream = new FileWriter(new File(outFile, "swagger.json"));
+                 FileWriter openApiOutputStream = new FileWriter(new File(outFile, "openapi.json"));
+                 FileWriter redocsWriter = new FileWriter(new File(outFile, "redocs.html"));
+                 FileWriter swaggerUIWriter = new FileWriter(new File(outFile, "swagger-ui.html"))) {
+                String json = objectMapper.writerWithDefaultPrettyPrinter().writeValueAsString(swagger);
+                String openApi = objectMapper.writerWithDefaultPrettyPrinter().writeValueAsString(convertOpenApi(swagger, outFile));
+                outputStream.write(json);
+                openApiOutputStream.write(openApi);
+                IOUtils.write(redocs, redocsWriter);
+                IOUtils.write(swaggerUI, swaggerUIWriter);
+                return;
+            } catch (Exception e) {
+                log.warn(e.getMessage());
+            }
+        }
+        try (Metrics.Phase ignored = metrics.start("markup", outFile.getName())) {
+            Swagger2MarkupConverter.from(swagger)
+                    .withConfig(builder.build())
+                    .build()
+                    .toFile(Paths.get(outFile.getAbsolutePath() + "/index"));
+        }
+
+        try (Metrics.Phase ignored = metrics.start("asciidoctor", outFile.getName())) {
+            RubyInstanceConfig rubyInstanceConfig = new RubyInstanceConfig();
+            rubyInstanceConfig.setLoader(this.getClass().getClassLoader());
+            JavaEmbedUtils.initialize(Arrays.asList("META-INF/jruby.home/lib/ruby/2.0", "classpath:/gems/asciidoctor-1.5.4/lib"), rubyInstanceConfig);
+            create(this.getClass().getClassLoader())
+                    .convertDirectory(new AsciiDocDirectoryWalker(outDirectory), optionsBuilder);
+        }
+    }
+
+    private JsonNode convertOpenApi(Swagger swagger, File outFile) throws IOException {
+        try (Metrics.Phase ignored = metrics.start("openapi", outFile.getName())) {
+            return Swagger2OpenApi.convert(swagger);
+        }
+    }
+
+    private TemplateEngine templateEngine() {
+        TemplateEngine templateEngine = new TemplateEngine();
+        ClassLoaderTemplateResolver classLoaderTemplateResolver = new ClassLoaderTemplateResolver(this.getClass().getClassLoader());
+        classLoaderTemplateResolver.setPrefix("/templates/");
+        classLoaderTemplateResolver.setSuffix(".html");
+        templateEngine.addTemplateResolver(classLoaderTemplateResolver);
+        return templateEngine;
+    }
+
+    private void copyDependencies(String sourceDirectory) {
+        if (skipBuild) {
+            log.info("Skipping maven build, using existing target/dependency");
+            return;
+        }
+        DependencyCache dependencyCache = DependencyCache.load(sourceDirectory);
+        if (dependencyCache.restore()) {
+            log.info("pom.xml unchanged, reusing target/dependency");
+            return;
+        }
+        System.setProperty("maven.multiModuleProjectDirectory", sourceDirectory);
+        try {
+            log.info("downloading maven...");
+            Runtime runtime = Runtime.getRuntime();
+            List<String> envs = new ArrayList<>();
+            for (Map.Entry<String, String> entry : System.getenv().entrySet()) {
+                String key = entry.getKey();
+                String value = entry.getValue();
+                envs.add(key + "=" + value);
+            }
+            try {
+                Process process = runtime.exec("mvn -Dmaven.test.skip=true -Dcheckstyle.skip=true -Dmdep.prependGroupId=true -DskipTests=true clean install dependency:copy-dependencies",
+                        envs.toArray(new String[]{}),
+                        new File(sourceDirectory));
+                try (InputStream errorStream = process.getErrorStream();
+                     InputStream inputStream = process.getInputStream()) {
+                    int len;
+                    byte[] bytes = new byte[1024];
+                    while ((len = inputStream.read(bytes)) != -1) {
+                        System.out.print(new String(bytes, 0, len, StandardCharsets.UTF_8));
+                    }
+
+                    while ((len = errorStream.read(bytes)) != -1) {
+                        System.out.print(new String(bytes, 0, len, StandardCharsets.UTF_8));
+                    }
+                }
+                if (process.waitFor() == 0) {
+                    dependencyCache.save();
+                }
+            } catch (Exception e) {
+                MavenWrapperMain.main(new String[]{
+                        "clean",
+                        "install",
+                        "dependency:copy-dependencies",
+                        "-Dmaven.test.skip=true",
+                        "-Dcheckstyle.skip=true",
+                        "-DskipTests=true",
+                        "-Dmdep.prependGroupId=true",
+                        "-f",
+                        sourceDirectory});
+                dependencyCache.save();
+            }
+        } catch (Exception e) {
+            log.warn(e.getMessage());
+        }
+    }
+
+
+    public static void main(String[] args) throws Exception {
+//        args = new String[]{"-i","/Users/wuyu/IdeaProjects/ifrabbit-graphql","-o","./docs"};
+        Options options = new Options();
+        options.addOption(new Option("h", "help", false, "help"));
+        options.addOption(new Option("i", "input", true, "Source directory"));
+        options.addOption(new Option("o", "output", true, "Output directory"));
+        options.addOption(new Option("t", "translation", false, "Translate description"));
+        options.addOption(new Option("f", "format", true, "Formatted document eg: json,yaml,api,html,md"));
+        options.addOption(new Option("serve", true, "Start server"));
+        options.addOption(new Option("upload", true, "Local file containing the API definition in json"));
+        options.addOption(new Option("threads", true, "Number of threads visiting source files of a module"));
+        options.addOption(new Option("parallelism", true, "Number of modules generated concurrently"));
+        options.addOption(new Option("skipBuild", "skip-build", false, "Skip maven build and use existing target/dependency"));
+        options.addOption(new Option("watch", false, "Regenerate docs when source files change"));
+        options.addOption(new Option("modelPacks", true, "Model pack files or directories to load, separated by comma"));
+        options.addOption(new Option("buildModelPack", true, "Jar to build a model pack from, written to the output directory"));
+        options.addOption(new Option("profile", false, "Write the slowest and most resolved model types to profile.json"));
+        options.addOption(new Option("bytecode", false, "Extract apis from compiled classes in target/classes instead of parsing sources"));
+        HelpFormatter hf = new HelpFormatter();
+        try {
+            CommandLineParser parser = new PosixParser();
+            CommandLine commandLine = parser.parse(options, args);
+            Callable<?> watch = null;
+            if (commandLine.hasOption("profile")) {
+                System.setProperty("docs.profile", "true");
+            }
+            if (commandLine.hasOption("modelPacks")) {
+                System.setProperty("docs.modelPacks", commandLine.getOptionValue("modelPacks"));
+            }
+            if (commandLine.hasOption("bytecode")) {
+                System.setProperty("docs.bytecode", "true");
+            }
+            if (commandLine.hasOption("buildModelPack")) {
+                File jar = new File(commandLine.getOptionValue("buildModelPack"));
+                String outDirectory = commandLine.hasOption("o") ? commandLine.getOptionValue("o") + "/" : "./docs/";
+                File packFile = new File(outDirectory, jar.getName().replaceAll("\\.jar$", "") + ".models.json");
+                ModelPack.build(jar).write(packFile);
+                log.info("Model pack written to " + packFile);
+            }
+            if (commandLine.hasOption("i")) {
+                String sourceDirectory = commandLine.getOptionValue("i");
+                ScSwaggerDocs scSwaggerDocsMojo = new ScSwaggerDocs();
+                if (commandLine.hasOption("threads")) {
+                    scSwaggerDocsMojo.setThreads(Integer.parseInt(commandLine.getOptionValue("threads")));
+                }
+                if (commandLine.hasOption("parallelism")) {
+                    scSwaggerDocsMojo.setParallelism(Integer.parseInt(commandLine.getOptionValue("parallelism")));
+                }
+                if (commandLine.hasOption("skipBuild")) {
+                    scSwaggerDocsMojo.setSkipBuild(true);
+                }
+                String[] formats = commandLine.hasOption("f") ? commandLine.getOptionValue("f").split(",") : new String[]{"json", "api", "yaml", "html", "md"};
+                String outDirectory = commandLine.hasOption("o") ? commandLine.getOptionValue("o") + "/" : "./docs/";
+                boolean translation = commandLine.hasOption("t");
+                boolean serve = commandLine.hasOption("serve");
+                boolean watching = commandLine.hasOption("watch");
+                BiConsumer<String, Swagger> consumer = (projectName, swagger) -> {
+                    if (translation) {
+                        scSwaggerDocsMojo.translate(swagger);
+                    }
+                    for (String format : formats) {
+                        try {
+                            scSwaggerDocsMojo.write(swagger, format, outDirectory + projectName);
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                    }
+                    if (serve && watching) {
+                        SwaggerCache.pin(projectName, swagger);
+                    } else if (serve) {
+                        SwaggerCache.put(projectName, swagger);
+                    }
+                };
+                if (watching) {
+                    watch = () -> {
+                        scSwaggerDocsMojo.watch(sourceDirectory, null, outDirectory, consumer);
+                        return null;
+                    };
+                } else {
+                    scSwaggerDocsMojo.parse(sourceDirectory, null, consumer);
+                    scSwaggerDocsMojo.writeMetrics(outDirectory);
+                }
+            }
+
+            if (commandLine.hasOption("upload")) {
+                String filePath = commandLine.getOptionValue("upload");
+                String swagger = IOUtils.toString(new File(filePath).toURI(), Charset.forName("utf-8"));
+                String isPrivate = System.getProperty("swaggerhub.isPrivate");
+                String owner = System.getProperty("swaggerhub.owner");
+                String name = System.getProperty("swaggerhub.name");
+                String token = System.getProperty("swaggerhub.token");
+                String version = System.getProperty("swaggerhub.version");
+
+                String format = System.getProperty("swaggerhub.format");
+                SwaggerHubRequest swaggerHubRequest = new SwaggerHubRequest()
+                        .setSwagger(swagger)
+                        .setOwner(owner)
+                        .setToken(token)
+                        .setVersion(version)
+                        .setFormat(format == null ? "json" : format)
+                        .setName(name)
+                        .setPrivate(Boolean.parseBoolean(isPrivate));
+                if (owner == null || name == null || token == null || version == null) {
+                    throw new RuntimeException("Name|owner|name|token cannot be empty:\r\n" + swaggerHubRequest.toString());
+                }
+
+                log.info("Uploading...");
+                SwaggerHubClient swaggerHubClient = new SwaggerHubClient();
+                boolean isSuccess = false;
+                for (int i = 0; i < 3; i++) {
+                    isSuccess = swaggerHubClient.saveDefinition(swaggerHubRequest);
+                    if (isSuccess) {
+                        log.info("Uploaded successfully!");
+                        break;
+                    } else {
+                        Thread.sleep(1000);
+                    }
+                }
+                if (!isSuccess) {
+                    log.error("Upload failed, please try again");
+                }
+            }
+
+            if (commandLine.hasOption("serve")) {
+                String aStatic = commandLine.getOptionValue("serve");
+                if (aStatic != null) {
+                    FileExploreController.STATIC_FILE = new File(aStatic);
+                }
+                ConfigurableApplicationContext ctx = SpringApplication.run(ScSwaggerDocs.class, args);
+                Environment env = ctx.getBean(Environment.class);
+                System.err.println("Serving files from undefined at http://localhost:" + env.getProperty("server.port", "8080") + "/\n" +
+                        "Press Ctrl+C to quit\n");
+            }
+
+
+            if (watch != null) {
+                watch.call();
+            }
+
+            if (commandLine.hasOption("h") || commandLine.getOptions().length == 0) {
+                hf.printHelp("java -jar sc-docs.jar ", options, true);
+            }
+        } catch (ParseException e) {
+            hf.printHelp("java -jar sc-docs.jar ", options, true);
+        }
+    }
+}
+
+
@@ -0,0 +1,87 @@
+package com.vcg.docs.bytecode;
+
+import com.vcg.docs.mapping.ApiAnnotation;
+import javassist.bytecode.AnnotationsAttribute;
+import javassist.bytecode.annotation.Annotation;
+import javassist.bytecode.annotation.ArrayMemberValue;
+import javassist.bytecode.annotation.BooleanMemberValue;
+import javassist.bytecode.annotation.EnumMemberValue;
+import javassist.bytecode.annotation.MemberValue;
+import javassist.bytecode.annotation.StringMemberValue;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * class 文件中的注解,引用的常量在编译时已替换为字面值
+ */
+class BytecodeAnnotation implements ApiAnnotation {
+
+    private final Annotation annotation;
+
+    BytecodeAnnotation(Annotation annotation) {
+        this.annotation = annotation;
+    }
+
+    /**
+     * 注解简单名称 -> 注解
+     */
+    static Map<String, BytecodeAnnotation> of(AnnotationsAttribute attribute) {
+        return of(attribute == null ? new Annotation[0] : attribute.getAnnotations());
+    }
+
+    static Map<String, BytecodeAnnotation> of(Annotation[] annotations) {
+        Map<String, BytecodeAnnotation> result = new LinkedHashMap<>();
+        for (Annotation annotation : annotations) {
+            BytecodeAnnotation bytecodeAnnotation = new BytecodeAnnotation(annotation);
+            result.put(bytecodeAnnotation.getName(), bytecodeAnnotation);
+        }
+        return result;
+    }
+
+    /**
+     * 注解类全名
+     */
+    String getTypeName() {
+        return annotation.getTypeName();
+    }
+
+    @Override
+    public String getName() {
+        String typeName = annotation.getTypeName();
+        return typeName.substring(Math.max(typeName.lastIndexOf('.'), typeName.lastIndexOf('$')) + 1);
+    }
+
+    @Override
+    public List<String> values(String... names) {
+        List<String> values = new ArrayList<>();
+        for (String name : names) {
+            MemberValue memberValue = annotation.getMemberValue(name);
+            if (memberValue == null) continue;
+            if (memberValue instanceof ArrayMemberValue) {
+                for (MemberValue value : ((ArrayMemberValue) memberValue).getValue()) {
+                    values.add(value(value));
+                }
+            } else {
+                values.add(value(memberValue));
+            }
+            break;
+        }
+        return values;
+    }
+
+    private String value(MemberValue memberValue) {
+        if (memberValue instanceof StringMemberValue) {
+            return ((StringMemberValue) memberValue).getValue();
+        }
+        if (memberValue instanceof EnumMemberValue) {
+            return ((EnumMemberValue) memberValue).getValue();
+        }
+        if (memberValue instanceof BooleanMemberValue) {
+            return String.valueOf(((BooleanMemberValue) memberValue).getValue());
+        }
+        return memberValue.toString();
+    }
+}
@@ -0,0 +1,416 @@
+package com.vcg.docs.bytecode;
+
+import com.github.javaparser.resolution.types.ResolvedArrayType;
+import com.github.javaparser.resolution.types.ResolvedPrimitiveType;
+import com.github.javaparser.resolution.types.ResolvedType;
+import com.github.javaparser.resolution.types.ResolvedVoidType;
+import com.github.javaparser.resolution.types.ResolvedWildcard;
+import com.github.javaparser.symbolsolver.model.typesystem.ReferenceTypeImpl;
+import com.github.javaparser.symbolsolver.resolution.typesolvers.CombinedTypeSolver;
+import com.vcg.docs.domain.Request;
+import com.vcg.docs.mapping.ApiMapping;
+import com.vcg.docs.metrics.Metrics;
+import com.vcg.docs.solver.ClassDirectoryTypeSolver;
+import com.vcg.docs.solver.IndexedJarTypeSolver;
+import com.vcg.docs.solver.JarIndex;
+import com.vcg.docs.solver.JdkTypeSolver;
+import com.vcg.docs.utils.SwaggerUtils;
+import com.vcg.docs.visitor.ResolveSwaggerType;
+import com.vcg.docs.visitor.ResolveTrace;
+import io.swagger.models.*;
+import io.swagger.models.parameters.BodyParameter;
+import io.swagger.models.properties.ObjectProperty;
+import io.swagger.models.properties.Property;
+import javassist.bytecode.AccessFlag;
+import javassist.bytecode.AnnotationsAttribute;
+import javassist.bytecode.AttributeInfo;
+import javassist.bytecode.BadBytecode;
+import javassist.bytecode.ClassFile;
+import javassist.bytecode.CodeAttribute;
+import javassist.bytecode.LocalVariableAttribute;
+import javassist.bytecode.MethodInfo;
+import javassist.bytecode.ParameterAnnotationsAttribute;
+import javassist.bytecode.SignatureAttribute;
+import javassist.bytecode.annotation.Annotation;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.util.*;
+import java.util.stream.Stream;
+
+/**
+ * 从编译输出的 class 文件中提取 Spring MVC、JAX-RS 和 Dubbo 接口,不解析源码.
+ * 先只读取类上的注解,是接口类时再按方法签名解析类型,注释在生成接口时才从对应的源文件中读取.
+ * 提取规则见 {@link ApiMapping},与源码提取器一致,注解中引用的常量在编译时已替换为字面值.
+ */
+@Slf4j
+public class BytecodeExtractor {
+
+    private static final String DUBBO_SERVICE = "com.alibaba.dubbo.config.annotation.Service";
+
+    private final ResolveSwaggerType resolveSwaggerType;
+
+    private final File classes;
+
+    private final String basePackage;
+
+    private final CombinedTypeSolver typeSolver = new CombinedTypeSolver();
+
+    private final SourceJavadoc javadoc;
+
+    private enum Framework {
+        REST, JAXRS, DUBBO
+    }
+
+    /**
+     * @param classes         模块的编译输出目录,如 target/classes
+     * @param basePackage     只提取该包下的类,为空时提取所有类
+     * @param sourceDirectory 模块的源码目录,只用于读取注释
+     * @param dependencies    模块依赖的jar
+     */
+    public BytecodeExtractor(ResolveSwaggerType resolveSwaggerType, File classes, String basePackage,
+                             File sourceDirectory, JarIndex dependencies) {
+        this.resolveSwaggerType = resolveSwaggerType;
+        this.classes = classes;
+        this.basePackage = basePackage == null || basePackage.isEmpty() ? "" : basePackage + ".";
+        this.javadoc = new SourceJavadoc(sourceDirectory);
+        ClassDirectoryTypeSolver classDirectory = new ClassDirectoryTypeSolver(classes);
+        classDirectory.appendDependencies(dependencies);
+        this.typeSolver.add(classDirectory);
+        if (!dependencies.isEmpty()) {
+            this.typeSolver.add(new IndexedJarTypeSolver(dependencies));
+        }
+        this.typeSolver.add(JdkTypeSolver.create());
+    }
+
+    public static boolean isEnabled() {
+        return Boolean.parseBoolean(System.getProperty("docs.bytecode", "false"));
+    }
+
+    /**
+     * pom 未变化时不会重新构建,源文件修改或删除后 class 文件可能是旧的.
+     * 源文件没有对应的 class 文件或比 class 文件新时返回该源文件,
+     * 接口类的源文件已删除时返回该 class 文件,都是最新时返回 null
+     *
+     * @param sourceDirectory 模块的源码目录,如 src/main/java
+     * @param directory       需要检查的源码目录,为 sourceDirectory 或其中的包目录
+     */
+    public static File findStaleSource(File classes, File sourceDirectory, File directory) {
+        java.nio.file.Path root = sourceDirectory.toPath();
+        try (Stream<java.nio.file.Path> stream = Files.walk(directory.toPath())) {
+            File staleSource = stream.filter(path -> {
+                String name = path.getFileName().toString();
+                return name.endsWith(".java") && !name.equals("package-info.java") && !name.equals("module-info.java");
+            }).filter(path -> {
+                String relative = root.relativize(path).toString();
+                File classFile = new File(classes, relative.substring(0, relative.length() - ".java".length()) + ".class");
+                return !classFile.isFile() || classFile.lastModified() < path.toFile().lastModified();
+            }).map(java.nio.file.Path::toFile).findFirst().orElse(null);
+            return staleSource != null ? staleSource : findRemovedSource(classes, sourceDirectory, directory);
+        } catch (IOException e) {
+            log.warn(e.getMessage());
+            return directory;
+        }
+    }
+
+    /**
+     * 只读取找不到同名源文件的 class 文件,如已删除的类或生成的代码,
+     * 其中接口类的源文件确实不存在时返回该 class 文件
+     */
+    private static File findRemovedSource(File classes, File sourceDirectory, File directory) throws IOException {
+        File classDirectory = new File(classes, sourceDirectory.toPath().relativize(directory.toPath()).toString());
+        if (!classDirectory.isDirectory()) return null;
+        try (Stream<java.nio.file.Path> stream = Files.walk(classDirectory.toPath())) {
+            return stream.filter(path -> {
+                String relative = classes.toPath().relativize(path).toString();
+                if (!relative.endsWith(".class")) return false;
+                String topLevel = relative.substring(0, relative.length() - ".class".length()).split("\\$")[0];
+                return !new File(sourceDirectory, topLevel + ".java").isFile();
+            }).filter(path -> {
+                ClassFile classFile = read(path.toFile());
+                if (classFile == null || framework(BytecodeAnnotation.of((AnnotationsAttribute) classFile.getAttribute(AnnotationsAttribute.visibleTag))) == null) {
+                    return false;
+                }
+                String className = classFile.getName();
+                String packagePath = className.contains(".") ? className.substring(0, className.lastIndexOf('.')).replace('.', '/') + "/" : "";
+                return classFile.getSourceFile() == null || !new File(sourceDirectory, packagePath + classFile.getSourceFile()).isFile();
+            }).map(java.nio.file.Path::toFile).findFirst().orElse(null);
+        }
+    }
+
+    public Swagger extract(Metrics.Phase phase) {
+        Swagger swagger = SwaggerUtils.partial();
+        List<String> classNames = ClassDirectoryTypeSolver.list(classes);
+        int controllers = 0;
+        ResolveTrace trace = ResolveSwaggerType.startTrace();
+        trace.setJavadocs(javadoc);
+        try {
+            for (String className : classNames) {
+                if (!className.startsWith(basePackage)) continue;
+                ClassFile classFile = read(new File(classes, className.replace('.', '/') + ".class"));
+                if (classFile != null && extract(classFile, swagger)) {
+                    controllers++;
+                }
+            }
+        } finally {
+            ResolveSwaggerType.stopTrace();
+        }
+        for (Map.Entry<String, Model> entry : resolveSwaggerType.getModelMap(trace).entrySet()) {
+            swagger.model(entry.getKey(), entry.getValue());
+        }
+        phase.count("classes", classNames.size());
+        phase.count("controllers", controllers);
+        phase.count("resolutions", trace.getResolutions());
+        phase.count("models", trace.getModelNames().size());
+        return swagger;
+    }
+
+    private static ClassFile read(File file) {
+        try (DataInputStream inputStream = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            return new ClassFile(inputStream);
+        } catch (IOException e) {
+            log.warn("Unable to read " + file + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * @return 类中是否有接口
+     */
+    private boolean extract(ClassFile classFile, Swagger swagger) {
+        Map<String, BytecodeAnnotation> annotations = BytecodeAnnotation.of((AnnotationsAttribute) classFile.getAttribute(AnnotationsAttribute.visibleTag));
+        Framework framework = framework(annotations);
+        if (framework == null) return false;
+
+        String className = classFile.getName();
+        String simpleName = className.substring(Math.max(className.lastIndexOf('.'), className.lastIndexOf('$')) + 1);
+        String sourceFile = classFile.getSourceFile();
+        int operations = 0;
+        for (Object object : classFile.getMethods()) {
+            MethodInfo method = (MethodInfo) object;
+            Map<String, BytecodeAnnotation> methodAnnotations = BytecodeAnnotation.of((AnnotationsAttribute) method.getAttribute(AnnotationsAttribute.visibleTag));
+            if (!isApi(framework, method, methodAnnotations)) continue;
+
+            Request request = new Request();
+            request.setClazzSimpleName(simpleName);
+            request.setMethodName(method.getName());
+            try {
+                parse(framework, classFile, method, annotations, methodAnnotations, request);
+            } catch (BadBytecode e) {
+                log.warn("Unable to read signature of " + className + "." + method.getName() + ": " + e.getMessage());
+                continue;
+            }
+            ApiMapping.addOperation(swagger, request, framework == Framework.JAXRS ? "get" : null);
+            operations++;
+        }
+        if (operations == 0) return false;
+
+        swagger.addTag(ApiMapping.tag(simpleName, javadoc.type(className, sourceFile)));
+        return true;
+    }
+
+    private static Framework framework(Map<String, BytecodeAnnotation> annotations) {
+        for (String name : annotations.keySet()) {
+            if (ApiMapping.CONTROLLERS.contains(name)) {
+                return Framework.REST;
+            }
+        }
+        if (annotations.containsKey("Path")) {
+            return Framework.JAXRS;
+        }
+        BytecodeAnnotation service = annotations.get("Service");
+        if (Boolean.getBoolean("docs.dubbo") && service != null && DUBBO_SERVICE.equals(service.getTypeName())) {
+            return Framework.DUBBO;
+        }
+        return null;
+    }
+
+    private boolean isApi(Framework framework, MethodInfo method, Map<String, BytecodeAnnotation> annotations) {
+        int accessFlags = method.getAccessFlags();
+        if (method.getName().startsWith("<")
+                || (accessFlags & (AccessFlag.STATIC | AccessFlag.SYNTHETIC | AccessFlag.BRIDGE)) != 0) {
+            return false;
+        }
+        switch (framework) {
+            case REST:
+                return !Collections.disjoint(annotations.keySet(), ApiMapping.MAPPINGS);
+            case JAXRS:
+                return annotations.containsKey("Path") || !Collections.disjoint(annotations.keySet(), ApiMapping.JAXRS_METHODS.keySet());
+            default:
+                return (accessFlags & AccessFlag.PUBLIC) != 0;
+        }
+    }
+
+    private void parse(Framework framework, ClassFile classFile, MethodInfo method, Map<String, BytecodeAnnotation> classAnnotations,
+                       Map<String, BytecodeAnnotation> annotations, Request request) throws BadBytecode {
+        SignatureAttribute signatureAttribute = (SignatureAttribute) method.getAttribute(SignatureAttribute.tag);
+        SignatureAttribute.MethodSignature signature = SignatureAttribute.toMethodSignature(signatureAttribute != null
+                ? signatureAttribute.getSignature() : method.getDescriptor());
+        SignatureAttribute.Type[] parameterTypes = signature.getParameterTypes();
+
+        javadoc.method(classFile.getName(), classFile.getSourceFile(), method.getName(), parameterTypes.length)
+                .ifPresent(c -> ApiMapping.parseMethodComment(c, request));
+        switch (framework) {
+            case REST:
+                ApiMapping.parseMapping(classAnnotations, annotations, request);
+                break;
+            case JAXRS:
+                ApiMapping.parseJaxRsMapping(classAnnotations, annotations, request);
+                break;
+            default:
+                request.setParentPath(request.getClazzSimpleName());
+                request.getConsumes().add("application/dubbo");
+                request.getMethods().add("post");
+                request.getPaths().add(method.getName());
+        }
+        parseMethodParameters(framework, classFile, method, parameterTypes, request);
+        parseReturnType(framework, signature.getReturnType(), request);
+    }
+
+    private void parseMethodParameters(Framework framework, ClassFile classFile, MethodInfo method,
+                                       SignatureAttribute.Type[] parameterTypes, Request request) {
+        String[] names = parameterNames(classFile, method, parameterTypes);
+        ParameterAnnotationsAttribute attribute = (ParameterAnnotationsAttribute) method.getAttribute(ParameterAnnotationsAttribute.visibleTag);
+        Annotation[][] parameterAnnotations = attribute == null ? new Annotation[0][] : attribute.getAnnotations();
+        boolean bodyFlag = false;
+        for (int i = 0; i < parameterTypes.length; i++) {
+            if (ApiMapping.isServletType(parameterTypes[i].toString())) {
+                continue;
+            }
+            String variableName = names[i];
+            Property property = resolve(parameterTypes[i], request.getClazzSimpleName());
+            Annotation[] annotations = i < parameterAnnotations.length ? parameterAnnotations[i] : new Annotation[0];
+            io.swagger.models.parameters.Parameter param = framework == Framework.DUBBO
+                    ? ApiMapping.dubboParameter(variableName, property, bodyFlag, resolveSwaggerType::convertToModel, request)
+                    : ApiMapping.parameter(framework == Framework.JAXRS, variableName, BytecodeAnnotation.of(annotations),
+                    property, resolveSwaggerType::convertToModel, request);
+            bodyFlag |= param instanceof BodyParameter;
+            request.getParameters().add(param);
+        }
+    }
+
+    private void parseReturnType(Framework framework, SignatureAttribute.Type type, Request request) {
+        if (framework == Framework.REST && type instanceof SignatureAttribute.ClassType) {
+            SignatureAttribute.ClassType classType = (SignatureAttribute.ClassType) type;
+            SignatureAttribute.TypeArgument[] arguments = classType.getTypeArguments();
+            String name = classType.getName();
+            if ((name.contains("ResponseEntity") || name.contains("Mono"))
+                    && arguments != null && arguments.length > 0 && arguments[0].getType() != null) {
+                type = arguments[0].getType();
+            }
+        }
+        if (type instanceof SignatureAttribute.BaseType && ((SignatureAttribute.BaseType) type).getDescriptor() == 'V') {
+            return;
+        }
+
+        ApiMapping.returnType(resolve(type, request.getClazzSimpleName()), request);
+    }
+
+    /**
+     * 按 MethodParameters、LocalVariableTable 的顺序读取参数名称,都没有时(如接口中的方法)从源码中读取
+     */
+    private String[] parameterNames(ClassFile classFile, MethodInfo method, SignatureAttribute.Type[] parameterTypes) {
+        String[] names = new String[parameterTypes.length];
+        AttributeInfo methodParameters = method.getAttribute("MethodParameters");
+        if (methodParameters != null) {
+            byte[] info = methodParameters.get();
+            int count = Math.min(info[0] & 0xff, names.length);
+            for (int i = 0; i < count; i++) {
+                int nameIndex = ((info[1 + i * 4] & 0xff) << 8) | (info[2 + i * 4] & 0xff);
+                if (nameIndex != 0) {
+                    names[i] = classFile.getConstPool().getUtf8Info(nameIndex);
+                }
+            }
+        }
+
+        CodeAttribute code = method.getCodeAttribute();
+        LocalVariableAttribute table = code == null ? null : (LocalVariableAttribute) code.getAttribute(LocalVariableAttribute.tag);
+        if (table != null) {
+            int slot = (method.getAccessFlags() & AccessFlag.STATIC) != 0 ? 0 : 1;
+            for (int i = 0; i < names.length; i++) {
+                for (int j = 0; j < table.tableLength() && names[i] == null; j++) {
+                    if (table.index(j) == slot && table.startPc(j) == 0) {
+                        names[i] = table.variableName(j);
+                    }
+                }
+                slot += isWide(parameterTypes[i]) ? 2 : 1;
+            }
+        }
+
+        List<String> sourceNames = null;
+        for (int i = 0; i < names.length; i++) {
+            if (names[i] != null) continue;
+            if (sourceNames == null) {
+                sourceNames = javadoc.parameterNames(classFile.getName(), classFile.getSourceFile(), method.getName(), names.length);
+            }
+            names[i] = i < sourceNames.size() ? sourceNames.get(i) : "arg" + i;
+        }
+        return names;
+    }
+
+    private boolean isWide(SignatureAttribute.Type type) {
+        if (!(type instanceof SignatureAttribute.BaseType)) return false;
+        char descriptor = ((SignatureAttribute.BaseType) type).getDescriptor();
+        return descriptor == 'J' || descriptor == 'D';
+    }
+
+    private Property resolve(SignatureAttribute.Type type, String controller) {
+        ResolvedType resolvedType;
+        try {
+            resolvedType = toResolvedType(type);
+        } catch (RuntimeException e) {
+            log.warn("Unable to resolve " + type + " of " + controller + ": " + e.getMessage());
+            return new ObjectProperty();
+        }
+        return resolveSwaggerType.resolve(resolvedType, controller);
+    }
+
+    /**
+     * 将 class 文件中的泛型签名转换为 javaparser 的类型,类型变量按 Object 处理
+     */
+    private ResolvedType toResolvedType(SignatureAttribute.Type type) {
+        if (type instanceof SignatureAttribute.BaseType) {
+            SignatureAttribute.BaseType baseType = (SignatureAttribute.BaseType) type;
+            if (baseType.getDescriptor() == 'V') {
+                return ResolvedVoidType.INSTANCE;
+            }
+            return ResolvedPrimitiveType.byName(baseType.getCtlass().getName());
+        }
+        if (type instanceof SignatureAttribute.ArrayType) {
+            SignatureAttribute.ArrayType arrayType = (SignatureAttribute.ArrayType) type;
+            ResolvedType resolvedType = toResolvedType(arrayType.getComponentType());
+            for (int i = 0; i < arrayType.getDimension(); i++) {
+                resolvedType = new ResolvedArrayType(resolvedType);
+            }
+            return resolvedType;
+        }
+        if (type instanceof SignatureAttribute.ClassType) {
+            SignatureAttribute.ClassType classType = (SignatureAttribute.ClassType) type;
+            List<ResolvedType> arguments = new ArrayList<>();
+            if (classType.getTypeArguments() != null) {
+                for (SignatureAttribute.TypeArgument argument : classType.getTypeArguments()) {
+                    if (argument.getType() == null) {
+                        arguments.add(ResolvedWildcard.UNBOUNDED);
+                    } else if (argument.getKind() == '+') {
+                        arguments.add(ResolvedWildcard.extendsBound(toResolvedType(argument.getType())));
+                    } else if (argument.getKind() == '-') {
+                        arguments.add(ResolvedWildcard.superBound(toResolvedType(argument.getType())));
+                    } else {
+                        arguments.add(toResolvedType(argument.getType()));
+                    }
+                }
+            }
+            return new ReferenceTypeImpl(typeSolver.solveType(qualifiedName(classType)), arguments, typeSolver);
+        }
+        return new ReferenceTypeImpl(typeSolver.solveType(Object.class.getName()), typeSolver);
+    }
+
+    private String qualifiedName(SignatureAttribute.ClassType classType) {
+        SignatureAttribute.ClassType declaringClass = classType.getDeclaringClass();
+        if (declaringClass == null) {
+            return classType.getName().replace('$', '.');
+        }
+        return qualifiedName(declaringClass) + "." + classType.getName();
+    }
+}
@@ -0,0 +1,104 @@
+package com.vcg.docs.bytecode;
+
+import com.github.javaparser.JavaParser;
+import com.github.javaparser.ParseResult;
+import com.github.javaparser.ParseStart;
+import com.github.javaparser.ast.CompilationUnit;
+import com.github.javaparser.ast.body.FieldDeclaration;
+import com.github.javaparser.ast.body.MethodDeclaration;
+import com.github.javaparser.ast.body.Parameter;
+import com.github.javaparser.ast.body.TypeDeclaration;
+import com.github.javaparser.javadoc.Javadoc;
+import com.vcg.docs.visitor.JavadocLookup;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.*;
+import java.util.stream.Collectors;
+
+import static com.github.javaparser.Providers.provider;
+
+/**
+ * 按类名从模块源码中读取注释,只在类中有接口或作为模型时才解析对应的源文件,不做符号解析
+ */
+@Slf4j
+class SourceJavadoc implements JavadocLookup {
+
+    private final File sourceDirectory;
+
+    private final Map<File, Optional<CompilationUnit>> units = new HashMap<>();
+
+    SourceJavadoc(File sourceDirectory) {
+        this.sourceDirectory = sourceDirectory;
+    }
+
+    /**
+     * @param className  class 文件中的类名,内部类以 $ 分隔
+     * @param sourceFile class 文件中记录的源文件名,可能为空
+     */
+    Optional<Javadoc> type(String className, String sourceFile) {
+        return find(className, sourceFile).flatMap(TypeDeclaration::getJavadoc);
+    }
+
+    @Override
+    public Optional<Javadoc> type(String className) {
+        return type(className, null);
+    }
+
+    @Override
+    public Optional<Javadoc> field(String className, String fieldName) {
+        return find(className, null).flatMap(t -> t.getFieldByName(fieldName)).flatMap(FieldDeclaration::getJavadoc);
+    }
+
+    Optional<Javadoc> method(String className, String sourceFile, String name, int parameters) {
+        return method0(className, sourceFile, name, parameters).flatMap(MethodDeclaration::getJavadoc);
+    }
+
+    /**
+     * 接口和抽象方法的 class 文件中没有参数名称时使用源码中的名称
+     */
+    List<String> parameterNames(String className, String sourceFile, String name, int parameters) {
+        return method0(className, sourceFile, name, parameters)
+                .map(m -> m.getParameters().stream().map(Parameter::getNameAsString).collect(Collectors.toList()))
+                .orElse(Collections.emptyList());
+    }
+
+    private Optional<MethodDeclaration> method0(String className, String sourceFile, String name, int parameters) {
+        return find(className, sourceFile).flatMap(t -> t.getMethodsByName(name).stream()
+                .filter(m -> m.getParameters().size() == parameters)
+                .findFirst());
+    }
+
+    private Optional<TypeDeclaration<?>> find(String className, String sourceFile) {
+        int index = className.lastIndexOf('.');
+        String packagePath = index < 0 ? "" : className.substring(0, index).replace('.', '/') + "/";
+        String[] names = className.substring(index + 1).split("\\$");
+        File file = new File(sourceDirectory, packagePath + (sourceFile != null ? sourceFile : names[0] + ".java"));
+
+        Optional<TypeDeclaration<?>> type = parse(file).flatMap(cu -> cu.getTypes().stream()
+                .filter(t -> t.getNameAsString().equals(names[0]))
+                .findFirst());
+        for (int i = 1; i < names.length && type.isPresent(); i++) {
+            String name = names[i];
+            type = type.get().getMembers().stream()
+                    .filter(m -> m instanceof TypeDeclaration && ((TypeDeclaration<?>) m).getNameAsString().equals(name))
+                    .<TypeDeclaration<?>>map(m -> (TypeDeclaration<?>) m)
+                    .findFirst();
+        }
+        return type;
+    }
+
+    private Optional<CompilationUnit> parse(File file) {
+        return units.computeIfAbsent(file, f -> {
+            if (!f.isFile()) return Optional.empty();
+            try {
+                ParseResult<CompilationUnit> parseResult = new JavaParser().parse(ParseStart.COMPILATION_UNIT, provider(f));
+                return parseResult.getResult();
+            } catch (IOException e) {
+                log.warn(e.getMessage());
+                return Optional.empty();
+            }
+        });
+    }
+}
@@ -0,0 +1,174 @@
+package com.vcg.docs.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.apache.commons.io.FileUtils;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * 按所有 pom.xml 的内容哈希记录每个模块 target/dependency 下的jar,
+ * pom 未变化时直接复用,缺失的jar从本地 maven 仓库补齐,不再执行 mvn 构建.
+ */
+@Slf4j
+public class DependencyCache {
+
+    private static final String POM_HASH = "pom.hash";
+
+    private final File projectDirectory;
+
+    private final File file;
+
+    private final String pomHash;
+
+    private final Properties properties = new Properties();
+
+    private DependencyCache(File projectDirectory, File file, String pomHash) {
+        this.projectDirectory = projectDirectory;
+        this.file = file;
+        this.pomHash = pomHash;
+    }
+
+    /**
+     * 与解析缓存分开开关,-Ddocs.dependencyCache=false 时每次都执行 maven 构建
+     */
+    public static boolean isEnabled() {
+        return Boolean.parseBoolean(System.getProperty("docs.dependencyCache", "true"));
+    }
+
+    public static DependencyCache load(String sourceDirectory) {
+        File projectDirectory = new File(sourceDirectory).getAbsoluteFile();
+        File file = new File(ParseCache.getCacheDirectory(), "dependency-" + DigestUtils.sha1Hex(projectDirectory.getAbsolutePath()) + ".properties");
+        DependencyCache cache = new DependencyCache(projectDirectory, file, hashPoms(projectDirectory));
+        if (isEnabled() && file.exists()) {
+            try (InputStream in = new FileInputStream(file)) {
+                cache.properties.load(in);
+            } catch (IOException e) {
+                log.warn("Ignoring dependency cache " + file + ": " + e.getMessage());
+            }
+        }
+        return cache;
+    }
+
+    /**
+     * pom 未变化且每个模块记录的jar都存在(或已从本地仓库补齐)时返回true
+     */
+    public boolean restore() {
+        if (!isEnabled() || pomHash == null || !pomHash.equals(properties.getProperty(POM_HASH))) {
+            return false;
+        }
+        File repository = localRepository();
+        for (String module : properties.stringPropertyNames()) {
+            if (POM_HASH.equals(module)) continue;
+            File dependency = new File(projectDirectory, module + "/target/dependency");
+            for (String jar : properties.getProperty(module).split(",")) {
+                if (jar.isEmpty() || new File(dependency, jar).exists()) continue;
+                File artifact = locate(repository, jar);
+                if (artifact == null) {
+                    log.info("Dependency " + jar + " of " + module + " is missing, rebuilding");
+                    return false;
+                }
+                try {
+                    FileUtils.copyFile(artifact, new File(dependency, jar));
+                } catch (IOException e) {
+                    log.warn(e.getMessage());
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 构建完成后记录每个模块 target/dependency 下的jar
+     */
+    public void save() {
+        if (!isEnabled() || pomHash == null) return;
+        properties.clear();
+        for (File pom : listPoms(projectDirectory)) {
+            File module = pom.getParentFile();
+            File[] jars = new File(module, "target/dependency").listFiles(pathname -> pathname.getName().endsWith(".jar"));
+            if (jars == null) continue;
+            String relative = projectDirectory.toPath().relativize(module.toPath()).toString().replace('\\', '/');
+            properties.setProperty(relative.isEmpty() ? "." : relative, Arrays.stream(jars)
+                    .map(File::getName)
+                    .sorted()
+                    .collect(Collectors.joining(",")));
+        }
+        properties.setProperty(POM_HASH, pomHash);
+        file.getParentFile().mkdirs();
+        try (OutputStream out = new FileOutputStream(file)) {
+            properties.store(out, projectDirectory.getAbsolutePath());
+        } catch (IOException e) {
+            log.warn("Unable to write dependency cache " + file + ": " + e.getMessage());
+        }
+    }
+
+    private static String hashPoms(File projectDirectory) {
+        List<File> poms = listPoms(projectDirectory);
+        if (poms.isEmpty()) return null;
+        StringBuilder sb = new StringBuilder();
+        for (File pom : poms) {
+            try {
+                sb.append(projectDirectory.toPath().relativize(pom.toPath()))
+                        .append(":")
+                        .append(DigestUtils.sha1Hex(Files.readAllBytes(pom.toPath())))
+                        .append(";");
+            } catch (IOException e) {
+                log.warn(e.getMessage());
+                return null;
+            }
+        }
+        return DigestUtils.sha1Hex(sb.toString());
+    }
+
+    private static List<File> listPoms(File projectDirectory) {
+        try (Stream<Path> stream = Files.walk(projectDirectory.toPath())) {
+            return stream.filter(p -> p.getFileName().toString().equals("pom.xml"))
+                    .filter(p -> !p.toString().contains(File.separator + "target" + File.separator))
+                    .sorted()
+                    .map(Path::toFile)
+                    .collect(Collectors.toList());
+        } catch (IOException e) {
+            log.warn(e.getMessage());
+            return new ArrayList<>();
+        }
+    }
+
+    private static File localRepository() {
+        String repository = System.getProperty("maven.repo.local");
+        if (repository != null) return new File(repository);
+        return new File(System.getProperty("user.home"), ".m2/repository");
+    }
+
+    /**
+     * 还原 -Dmdep.prependGroupId=true 生成的文件名 groupId-artifactId-version.jar 对应的本地仓库路径
+     */
+    private static File locate(File repository, String jar) {
+        for (int i = jar.indexOf('-'); i > 0; i = jar.indexOf('-', i + 1)) {
+            File group = new File(repository, jar.substring(0, i).replace('.', '/'));
+            String artifactFile = jar.substring(i + 1);
+            File[] artifacts = group.listFiles(f -> f.isDirectory() && artifactFile.startsWith(f.getName() + "-"));
+            if (artifacts == null) continue;
+            for (File artifact : artifacts) {
+                if (artifactFile.length() <= artifact.getName().length() + 1 + ".jar".length()) continue;
+                String version = artifactFile.substring(artifact.getName().length() + 1, artifactFile.length() - ".jar".length());
+                File candidate = new File(artifact, version + "/" + artifactFile);
+                if (candidate.exists()) {
+                    return candidate;
+                }
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,157 @@
+package com.vcg.docs.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.javaparser.resolution.declarations.ResolvedReferenceTypeDeclaration;
+import com.github.javaparser.symbolsolver.model.resolution.SymbolReference;
+import com.github.javaparser.symbolsolver.resolution.typesolvers.CombinedTypeSolver;
+import com.vcg.docs.solver.IndexedJarTypeSolver;
+import com.vcg.docs.solver.JarIndex;
+import com.vcg.docs.solver.JdkTypeSolver;
+import com.vcg.docs.visitor.ResolveSwaggerType;
+import io.swagger.models.Model;
+import io.swagger.util.Json;
+import lombok.Data;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.codec.digest.DigestUtils;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.*;
+
+/**
+ * 模型包,预先解析好的jar中类型的模型定义.
+ * 加载后解析到包中的类型时直接使用包中的模型,不再解析字段.
+ */
+@Slf4j
+@Data
+public class ModelPack {
+
+    public static final String VERSION = "2";
+
+    private static final ObjectMapper MAPPER = Json.mapper();
+
+    private String version = VERSION;
+
+    /**
+     * 生成模型包的jar文件名,通常包含版本号
+     */
+    private String source;
+
+    /**
+     * 生成模型包的jar的 sha1,只在模块依赖中有内容相同的jar时加载
+     */
+    private String sha1;
+
+    private List<Entry> entries = new ArrayList<>();
+
+    /**
+     * 按 docs.modelPacks 加载模型包,多个文件或目录以逗号分隔,目录下加载所有 .json 文件
+     */
+    public static List<ModelPack> load() {
+        List<ModelPack> packs = new ArrayList<>();
+        String paths = System.getProperty("docs.modelPacks");
+        if (paths == null || paths.trim().isEmpty()) return packs;
+        for (String path : paths.split(",")) {
+            File file = new File(path.trim());
+            File[] files = file.isDirectory() ? file.listFiles(f -> f.getName().endsWith(".json")) : new File[]{file};
+            if (files == null) continue;
+            Arrays.sort(files);
+            for (File packFile : files) {
+                ModelPack pack = read(packFile);
+                if (pack != null) {
+                    packs.add(pack);
+                }
+            }
+        }
+        return packs;
+    }
+
+    public static ModelPack read(File file) {
+        try {
+            ModelPack pack = MAPPER.readValue(file, ModelPack.class);
+            if (!VERSION.equals(pack.getVersion())) {
+                log.warn("Ignoring model pack " + file + " of version " + pack.getVersion() + ", expected " + VERSION);
+                return null;
+            }
+            log.info("Loaded " + pack.getEntries().size() + " models of " + pack.getSource() + " from " + file);
+            return pack;
+        } catch (IOException e) {
+            log.warn("Ignoring model pack " + file + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    public void write(File file) throws IOException {
+        file.getAbsoluteFile().getParentFile().mkdirs();
+        MAPPER.writerWithDefaultPrettyPrinter().writeValue(file, this);
+    }
+
+    /**
+     * 解析jar中所有非泛型的类,同目录下的其他jar作为依赖,如 mvn dependency:copy-dependencies 输出的目录
+     */
+    public static ModelPack build(File jar) throws IOException {
+        File[] jars = jar.getAbsoluteFile().getParentFile().listFiles(f -> f.getName().endsWith(".jar"));
+        List<File> classpath = new ArrayList<>();
+        classpath.add(jar);
+        if (jars != null) {
+            Arrays.sort(jars);
+            for (File file : jars) {
+                if (!file.getAbsoluteFile().equals(jar.getAbsoluteFile())) {
+                    classpath.add(file);
+                }
+            }
+        }
+
+        CombinedTypeSolver typeSolver = new CombinedTypeSolver();
+        typeSolver.add(JdkTypeSolver.create());
+        typeSolver.add(new IndexedJarTypeSolver(JarIndex.of(classpath)));
+
+        long start = System.currentTimeMillis();
+        ResolveSwaggerType resolveSwaggerType = new ResolveSwaggerType();
+        for (String className : JarIndex.classNames(jar)) {
+            String simpleName = className.substring(className.lastIndexOf('.') + 1);
+            if (simpleName.isEmpty() || Character.isDigit(simpleName.charAt(0))
+                    || "package-info".equals(simpleName) || "module-info".equals(simpleName)) {
+                continue;
+            }
+            SymbolReference<ResolvedReferenceTypeDeclaration> reference = typeSolver.tryToSolveType(className);
+            if (!reference.isSolved()) continue;
+            ResolvedReferenceTypeDeclaration typeDeclaration = reference.getCorrespondingDeclaration();
+            if (typeDeclaration.getTypeParameters().isEmpty()) {
+                resolveSwaggerType.resolve(typeDeclaration, typeSolver);
+            }
+        }
+
+        ModelPack pack = new ModelPack();
+        pack.setSource(jar.getName());
+        try (InputStream inputStream = new FileInputStream(jar)) {
+            pack.setSha1(DigestUtils.sha1Hex(inputStream));
+        }
+        pack.setEntries(resolveSwaggerType.exportModels(jar.getName()));
+        log.info("Resolved " + pack.getEntries().size() + " models of " + jar + " in " + (System.currentTimeMillis() - start) + "ms");
+        return pack;
+    }
+
+    @Data
+    public static class Entry {
+
+        /**
+         * 类型全名,如 com.demo.User,加载时加上匹配到的jar名称
+         */
+        private String key;
+
+        /**
+         * 模型名称
+         */
+        private String name;
+
+        private Model model;
+
+        /**
+         * 引用到的其他类型的全名,这些类型也在包中,引用其他jar中类型的类型不导出
+         */
+        private List<String> dependencies = new ArrayList<>();
+    }
+}
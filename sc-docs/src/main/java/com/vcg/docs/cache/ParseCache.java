@@ -0,0 +1,224 @@
+package com.vcg.docs.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vcg.docs.scan.ConstantTable;
+import com.vcg.docs.visitor.ResolveTrace;
+import io.swagger.models.Swagger;
+import io.swagger.util.Json;
+import lombok.Data;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.codec.digest.DigestUtils;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * 按源文件内容哈希缓存每个文件解析出的接口、标签和模型,
+ * 文件本身及其依赖的类型文件都未变化时直接复用,不再解析.
+ */
+@Slf4j
+public class ParseCache {
+
+    private static final String VERSION = "2";
+
+    private static final ObjectMapper MAPPER = Json.mapper();
+
+    private final File file;
+
+    private final Snapshot snapshot;
+
+    /**
+     * 项目中的常量,只有文件引用过的常量变化时才重新解析该文件
+     */
+    private final ConstantTable constants;
+
+    private volatile boolean dirty;
+
+    private ParseCache(File file, Snapshot snapshot, ConstantTable constants) {
+        this.file = file;
+        this.snapshot = snapshot;
+        this.constants = constants;
+    }
+
+    public static boolean isEnabled() {
+        return Boolean.parseBoolean(System.getProperty("docs.cache", "true"));
+    }
+
+    public static File getCacheDirectory() {
+        return new File(System.getProperty("docs.cache.dir", System.getProperty("user.home") + "/.sc-docs/cache"));
+    }
+
+    public static ParseCache load(String projectPath, String fingerprint) {
+        return load(projectPath, fingerprint, new ConstantTable());
+    }
+
+    public static ParseCache load(String projectPath, String fingerprint, ConstantTable constants) {
+        File file = new File(getCacheDirectory(), "parse-" + DigestUtils.sha1Hex(new File(projectPath).getAbsolutePath()) + ".json");
+        String key = VERSION + ":" + fingerprint;
+        if (isEnabled() && file.exists()) {
+            try {
+                Snapshot snapshot = MAPPER.readValue(file, Snapshot.class);
+                if (key.equals(snapshot.getFingerprint())) {
+                    snapshot.setEntries(new ConcurrentHashMap<>(snapshot.getEntries()));
+                    return new ParseCache(file, snapshot, constants);
+                }
+            } catch (Exception e) {
+                log.warn("Ignoring parse cache " + file + ": " + e.getMessage());
+            }
+        }
+        Snapshot snapshot = new Snapshot();
+        snapshot.setFingerprint(key);
+        return new ParseCache(file, snapshot, constants);
+    }
+
+    /**
+     * 计算源文件内容哈希
+     */
+    public static Map<String, String> hash(List<File> sourceDirectories) {
+        return hash(sourceDirectories, (path, content) -> {
+        });
+    }
+
+    /**
+     * 计算源文件内容哈希,同时把读取到的内容交给 consumer,避免再次读取文件
+     */
+    public static Map<String, String> hash(List<File> sourceDirectories, BiConsumer<Path, byte[]> consumer) {
+        Map<String, String> hashes = new ConcurrentHashMap<>();
+        for (File sourceDirectory : sourceDirectories) {
+            try (Stream<Path> stream = Files.walk(sourceDirectory.toPath())) {
+                stream.filter(p -> p.toString().endsWith(".java"))
+                        .collect(Collectors.toList())
+                        .parallelStream()
+                        .forEach(p -> {
+                            try {
+                                byte[] content = Files.readAllBytes(p);
+                                hashes.put(p.toAbsolutePath().toString(), DigestUtils.sha1Hex(content));
+                                consumer.accept(p, content);
+                            } catch (IOException e) {
+                                log.warn(e.getMessage());
+                            }
+                        });
+            } catch (IOException e) {
+                log.warn(e.getMessage());
+            }
+        }
+        return hashes;
+    }
+
+    public Swagger get(Path source, Map<String, String> hashes) {
+        if (!isEnabled()) return null;
+        String key = source.toAbsolutePath().toString();
+        Entry entry = snapshot.getEntries().get(key);
+        if (entry == null || !Objects.equals(entry.getHash(), hashes.get(key))) {
+            return null;
+        }
+        for (Map.Entry<String, String> dependency : entry.getDependencies().entrySet()) {
+            if (!Objects.equals(dependency.getValue(), hashes.get(dependency.getKey()))) {
+                return null;
+            }
+        }
+        if (!entry.getConstants().isEmpty() && !constants.digest(entry.getConstants()).equals(entry.getConstantsDigest())) {
+            return null;
+        }
+        return entry.getSwagger();
+    }
+
+    public void put(Path source, Map<String, String> hashes, List<File> sourceDirectories, ResolveTrace trace, Swagger swagger) {
+        String key = source.toAbsolutePath().toString();
+        String hash = hashes.get(key);
+        if (hash == null) return;
+
+        Set<String> dependencies = new TreeSet<>(trace.getSources());
+        for (String typeName : trace.getTypeNames()) {
+            String dependency = locate(typeName, sourceDirectories);
+            if (dependency != null) {
+                dependencies.add(dependency);
+            }
+        }
+        dependencies.remove(key);
+
+        Entry entry = new Entry();
+        entry.setHash(hash);
+        entry.setSwagger(swagger);
+        entry.getConstants().addAll(trace.getConstants());
+        entry.setConstantsDigest(constants.digest(trace.getConstants()));
+        for (String dependency : dependencies) {
+            String dependencyHash = hashes.get(dependency);
+            if (dependencyHash != null) {
+                entry.getDependencies().put(dependency, dependencyHash);
+            }
+        }
+        snapshot.getEntries().put(key, entry);
+        dirty = true;
+    }
+
+    /**
+     * 删除已不存在的源文件
+     */
+    public void retain(Collection<Path> sources) {
+        Set<String> keys = sources.stream()
+                .map(p -> p.toAbsolutePath().toString())
+                .collect(Collectors.toSet());
+        dirty |= snapshot.getEntries().keySet().retainAll(keys);
+    }
+
+    public void save() {
+        if (!isEnabled() || !dirty) return;
+        try {
+            file.getParentFile().mkdirs();
+            MAPPER.writeValue(file, snapshot);
+            dirty = false;
+        } catch (IOException e) {
+            log.warn("Unable to write parse cache " + file + ": " + e.getMessage());
+        }
+    }
+
+    private String locate(String typeName, List<File> sourceDirectories) {
+        String path = typeName.replace(".", "/");
+        while (true) {
+            for (File sourceDirectory : sourceDirectories) {
+                File candidate = new File(sourceDirectory, path + ".java");
+                if (candidate.exists()) {
+                    return candidate.toPath().toAbsolutePath().toString();
+                }
+            }
+            int index = path.lastIndexOf('/');
+            if (index < 0) return null;
+            path = path.substring(0, index);
+        }
+    }
+
+    @Data
+    public static class Snapshot {
+
+        private String fingerprint;
+
+        private Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    }
+
+    @Data
+    public static class Entry {
+
+        private String hash;
+
+        private Map<String, String> dependencies = new TreeMap<>();
+
+        /**
+         * 注解中查找过的常量名和查找结果的摘要
+         */
+        private Set<String> constants = new TreeSet<>();
+
+        private String constantsDigest;
+
+        private Swagger swagger;
+
+    }
+}
@@ -7,6 +7,8 @@ import io.swagger.models.Swagger;
 import io.swagger.parser.SwaggerParser;
 
 import java.io.File;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
 
 public class SwaggerCache {
@@ -15,8 +17,17 @@ public class SwaggerCache {
             .expireAfterWrite(60, TimeUnit.SECONDS)
             .build();
 
+    /**
+     * 监听模式下当前进程生成的文档,不过期,也不从 -serve 目录重新读取
+     */
+    private static final Map<String, Swagger> PINNED = new ConcurrentHashMap<>();
+
     public static Swagger get(String application) {
-        Swagger swagger = CACHE.getIfPresent(application);
+        Swagger swagger = PINNED.get(application);
+        if (swagger != null) {
+            return swagger;
+        }
+        swagger = CACHE.getIfPresent(application);
         if (swagger != null) {
             return swagger;
         }
@@ -32,4 +43,11 @@ public class SwaggerCache {
     public static void put(String application, Swagger swagger) {
         CACHE.put(application, swagger);
     }
+
+    /**
+     * 每次重新生成后替换,输出目录与 -serve 目录不同时同样生效
+     */
+    public static void pin(String application, Swagger swagger) {
+        PINNED.put(application, swagger);
+    }
 }
@@ -0,0 +1,19 @@
+package com.vcg.docs.mapping;
+
+import java.util.List;
+
+/**
+ * 源码、字节码和注解处理器中的注解,{@link ApiMapping} 只通过注解名称和属性值提取接口
+ */
+public interface ApiAnnotation {
+
+    /**
+     * 注解的简单名称,如 GetMapping
+     */
+    String getName();
+
+    /**
+     * 依次读取注解的属性,返回第一个存在的属性值,单个值的注解按 value 读取,没有时返回空列表
+     */
+    List<String> values(String... names);
+}
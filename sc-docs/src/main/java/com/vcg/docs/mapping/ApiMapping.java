@@ -0,0 +1,370 @@
+package com.vcg.docs.mapping;
+
+import com.github.javaparser.javadoc.Javadoc;
+import com.github.javaparser.javadoc.JavadocBlockTag;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.vcg.docs.domain.Request;
+import io.swagger.models.*;
+import io.swagger.models.parameters.*;
+import io.swagger.models.properties.*;
+import org.apache.commons.lang3.StringUtils;
+
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * Spring MVC 和 JAX-RS 接口的提取规则,源码提取器、字节码提取器和注解处理器共用,
+ * 调用方只负责读取注解、注释和解析类型
+ */
+public final class ApiMapping {
+
+    public static final Set<String> CONTROLLERS = ImmutableSet.of("Controller", "RestController", "FeignClient");
+
+    public static final Set<String> MAPPINGS = ImmutableSet.of("RequestMapping",
+            "GetMapping", "PutMapping", "DeleteMapping", "PostMapping", "PatchMapping", "FeignClient");
+
+    public static final Map<String, String> METHODS = ImmutableMap.of("GetMapping", "get",
+            "PostMapping", "post",
+            "DeleteMapping", "delete",
+            "PutMapping", "put",
+            "PatchMapping", "patch"
+    );
+
+    /**
+     * 带有 value/name、required 和 defaultValue 属性的参数注解
+     */
+    public static final Set<String> REQUEST_PARAMETERS = ImmutableSet.of("PathVariable", "RequestParam",
+            "RequestHeader", "CookieValue");
+
+    public static final Set<String> JAXRS_CONTROLLERS = ImmutableSet.of("Path");
+
+    public static final Map<String, String> JAXRS_METHODS = ImmutableMap.<String, String>builder()
+            .put("GET", "get")
+            .put("POST", "post")
+            .put("DELETE", "delete")
+            .put("PUT", "put")
+            .put("PATCH", "patch")
+            .put("OPTIONS", "options")
+            .put("HEAD", "head")
+            .build();
+
+    public static final Set<String> JAXRS_MAPPINGS = ImmutableSet.<String>builder()
+            .add("Path")
+            .addAll(JAXRS_METHODS.keySet())
+            .build();
+
+    private ApiMapping() {
+    }
+
+    /**
+     * 由框架注入的参数,不是请求参数
+     */
+    public static boolean isServletType(String typeName) {
+        return typeName.contains("HttpServletRequest") || typeName.contains("HttpServletResponse");
+    }
+
+    /**
+     * 接口类对应的标签,描述为类注释
+     */
+    public static Tag tag(String name, Optional<Javadoc> javadoc) {
+        Tag tag = new Tag()
+                .name(name);
+        javadoc.ifPresent(c -> {
+            String description = c.getDescription().toText();
+            tag.description(StringUtils.isBlank(description) ? null : description);
+        });
+        return tag;
+    }
+
+    public static void parseMethodComment(Javadoc javadoc, Request request) {
+        request.setSummary(javadoc.getDescription().toText());
+        for (JavadocBlockTag blockTag : javadoc.getBlockTags()) {
+            switch (blockTag.getTagName().toLowerCase()) {
+                case "throws":
+                    request.setMethodErrorDescription(blockTag.getContent().toText());
+                    break;
+                case "return":
+                    request.setReturnDescription(blockTag.getContent().toText());
+                    break;
+                case "apinote":
+                    request.setMethodNotes(blockTag.getContent().toText());
+                    break;
+                default:
+                    blockTag.getName().ifPresent(t -> request.getParamsDescription().put(t, blockTag.getContent().toText()));
+                    break;
+            }
+        }
+    }
+
+    /**
+     * Spring MVC 的类和方法上的映射注解,FeignClient 的 value 为服务名,只读取 path
+     *
+     * @param classAnnotations 注解简单名称 -> 注解
+     */
+    public static void parseMapping(Map<String, ? extends ApiAnnotation> classAnnotations,
+                                    Map<String, ? extends ApiAnnotation> annotations, Request request) {
+        for (ApiAnnotation annotation : classAnnotations.values()) {
+            String annotationName = annotation.getName();
+            if (!MAPPINGS.contains(annotationName)) continue;
+            List<String> values = "FeignClient".equals(annotationName)
+                    ? annotation.values("path") : annotation.values("value", "path");
+            if (!values.isEmpty()) {
+                request.setParentPath(values.get(0));
+            }
+        }
+
+        for (ApiAnnotation annotation : annotations.values()) {
+            String annotationName = annotation.getName();
+            if (!MAPPINGS.contains(annotationName)) continue;
+            request.getPaths().addAll(annotation.values("value", "path"));
+            request.getHeaders().addAll(annotation.values("headers"));
+            request.getProduces().addAll(annotation.values("produces"));
+            request.getConsumes().addAll(annotation.values("consumes"));
+            for (String value : annotation.values("method")) {
+                request.getMethods().add(value.toLowerCase());
+            }
+
+            if (annotationName.equals("RequestMapping") && request.getMethods().isEmpty()) {
+                request.getMethods().add("post");
+            } else {
+                String method = METHODS.get(annotationName);
+                if (method != null) {
+                    request.getMethods().add(method);
+                }
+            }
+        }
+    }
+
+    public static void parseJaxRsMapping(Map<String, ? extends ApiAnnotation> classAnnotations,
+                                         Map<String, ? extends ApiAnnotation> annotations, Request request) {
+        List<String> parentPaths = values(classAnnotations.get("Path"), "value");
+        if (!parentPaths.isEmpty()) {
+            request.setParentPath(parentPaths.get(0));
+        }
+        request.getPaths().addAll(values(annotations.get("Path"), "value"));
+        request.getProduces().addAll(values(annotations.get("Produces"), "value"));
+        request.getConsumes().addAll(values(annotations.get("Consumes"), "value"));
+        for (String annotationName : annotations.keySet()) {
+            String method = JAXRS_METHODS.get(annotationName);
+            if (method != null) {
+                request.getMethods().add(method);
+            }
+        }
+    }
+
+    /**
+     * 方法参数对应的请求参数,对象类型的参数不在请求体中时按字符串输出
+     *
+     * @param annotations 参数上的注解,简单名称 -> 注解
+     * @param toModel     请求体的模型,通常为解析器的 convertToModel
+     */
+    public static Parameter parameter(boolean jaxRs, String variableName, Map<String, ? extends ApiAnnotation> annotations,
+                                      Property property, Function<Property, Model> toModel, Request request) {
+        Property paramProperty = property instanceof ObjectProperty ? new StringProperty()
+                .description(property.getDescription()) : property;
+        Parameter param = jaxRs
+                ? jaxRsParameter(annotations, property, paramProperty, toModel, request)
+                : restParameter(annotations, property, paramProperty, toModel, request);
+
+        param.setDescription(property.getDescription() != null ? property.getDescription() : request.getParamsDescription().get(variableName));
+        if (param.getName() == null) {
+            param.setName(variableName);
+        }
+        return param;
+    }
+
+    /**
+     * 解析得到的属性是共用的实例,默认值和必填只设置在参数上
+     */
+    private static Parameter restParameter(Map<String, ? extends ApiAnnotation> annotations, Property property,
+                                           Property paramProperty, Function<Property, Model> toModel, Request request) {
+        Parameter param = new QueryParameter()
+                .property(paramProperty);
+        for (String annotationName : annotations.keySet()) {
+            switch (annotationName) {
+                case "PathVariable":
+                    param = new PathParameter()
+                            .property(paramProperty);
+                    break;
+                case "RequestBody":
+                    param = bodyParameter(toModel.apply(property));
+                    break;
+                case "RequestPart":
+                    param = new FormParameter()
+                            .property(paramProperty);
+                    request.getConsumes().add("multipart/form-data");
+                    break;
+                case "RequestHeader":
+                    param = new HeaderParameter()
+                            .property(paramProperty);
+                    break;
+                case "CookieValue":
+                    param = new CookieParameter()
+                            .property(paramProperty);
+            }
+        }
+
+        if (param instanceof AbstractSerializableParameter) {
+            for (ApiAnnotation annotation : annotations.values()) {
+                if (!REQUEST_PARAMETERS.contains(annotation.getName())) continue;
+                List<String> required = annotation.values("required");
+                boolean isRequire = required.isEmpty() || Boolean.parseBoolean(required.get(0));
+                List<String> defaultValues = annotation.values("defaultValue");
+                if (!defaultValues.isEmpty()) {
+                    ((AbstractSerializableParameter) param).setDefault(defaultValues.get(0));
+                    isRequire = false;
+                }
+                List<String> values = annotation.values("value", "name");
+                if (!values.isEmpty() && StringUtils.isNotBlank(values.get(0))) {
+                    param.setName(values.get(0));
+                }
+                param.setRequired(isRequire);
+            }
+        }
+        return param;
+    }
+
+    private static Parameter jaxRsParameter(Map<String, ? extends ApiAnnotation> annotations, Property property,
+                                            Property paramProperty, Function<Property, Model> toModel, Request request) {
+        Parameter param = new QueryParameter()
+                .property(paramProperty);
+        String name = null;
+        String defaultValue = null;
+        boolean required = false;
+        for (ApiAnnotation annotation : annotations.values()) {
+            String annotationName = annotation.getName();
+            switch (annotationName) {
+                case "PathParam":
+                    param = new PathParameter()
+                            .property(paramProperty);
+                    break;
+                case "BeanParam":
+                    param = bodyParameter(toModel.apply(property));
+                    break;
+                case "FormParam":
+                    param = new FormParameter()
+                            .property(paramProperty);
+                    request.getConsumes().add("multipart/form-data");
+                    break;
+                case "HeaderParam":
+                    param = new HeaderParameter()
+                            .property(paramProperty);
+                    break;
+                case "CookieParam":
+                    param = new CookieParameter()
+                            .property(paramProperty);
+                    break;
+                case "DefaultValue":
+                    defaultValue = annotation.values("value").stream().findFirst().orElse(defaultValue);
+                    break;
+                case "NotNull":
+                    required = true;
+                    break;
+            }
+            if (annotationName.endsWith("Param") && !"BeanParam".equals(annotationName)) {
+                name = annotation.values("value").stream().findFirst().orElse(name);
+            }
+        }
+        if (StringUtils.isNotBlank(name)) {
+            param.setName(name);
+        }
+        if (defaultValue != null && param instanceof AbstractSerializableParameter) {
+            ((AbstractSerializableParameter) param).setDefault(defaultValue);
+        }
+        if (required) {
+            param.setRequired(true);
+        }
+        return param;
+    }
+
+    /**
+     * Dubbo 接口的参数,第一个对象、Map 或对象数组类型的参数作为请求体
+     *
+     * @param hasBody 前面的参数中是否已有请求体
+     */
+    public static Parameter dubboParameter(String variableName, Property property, boolean hasBody,
+                                           Function<Property, Model> toModel, Request request) {
+        Parameter param = !hasBody && isBody(property) ? bodyParameter(toModel.apply(property))
+                : new QueryParameter().property(property instanceof ObjectProperty ? new StringProperty()
+                .description(property.getDescription()) : property);
+        param.setDescription(property.getDescription() != null ? property.getDescription() : request.getParamsDescription().get(variableName));
+        param.setName(variableName);
+        return param;
+    }
+
+    private static boolean isBody(Property property) {
+        if (property instanceof ArrayProperty) {
+            Property items = ((ArrayProperty) property).getItems();
+            return items instanceof ObjectProperty || items instanceof MapProperty
+                    || items instanceof RefProperty || items instanceof ArrayProperty;
+        }
+        return property instanceof ObjectProperty || property instanceof MapProperty || property instanceof RefProperty;
+    }
+
+    /**
+     * @param model 参数类型的模型,无法生成时为 null
+     */
+    public static BodyParameter bodyParameter(Model model) {
+        BodyParameter bodyParameter = new BodyParameter().schema(new ModelImpl().type("object"));
+        if (model != null) {
+            bodyParameter.schema(model);
+        }
+        return bodyParameter;
+    }
+
+    /**
+     * 返回值为模型时输出引用
+     */
+    public static void returnType(Property property, Request request) {
+        if (property.getName() != null) {
+            request.setReturnType(new RefProperty("#/definitions/" + property.getName()));
+        } else {
+            request.setReturnType(property);
+        }
+    }
+
+    /**
+     * @param defaultMethod 方法上没有请求方式时使用,为 null 时不生成接口
+     */
+    public static void addOperation(Swagger swagger, Request request, String defaultMethod) {
+        String parentMappingPath = request.getParentPath() == null ? "" : request.getParentPath();
+        Operation operation = new Operation()
+                .tag(request.getClazzSimpleName())
+                .consumes(request.getConsumes().isEmpty() ? null : request.getConsumes())
+                .produces(request.getProduces().isEmpty() ? null : request.getProduces())
+                .description(request.getMethodNotes())
+                .summary(request.getSummary())
+                .operationId(request.getMethodName())
+                .response(200, new Response()
+                        .description(request.getReturnDescription() == null ? "" : request.getReturnDescription())
+                        .schema(request.getReturnType())
+                );
+        operation.setParameters(request.getParameters());
+        if (request.getMethodErrorDescription() != null) {
+            operation.response(500, new Response().description("{\"message\":\"" + request.getMethodErrorDescription() + "\"}"));
+        }
+
+        //方法上如果只打入注解没有url,将使用类上的url
+        List<String> fullPaths = new ArrayList<>();
+        if (request.getPaths().isEmpty()) {
+            fullPaths.add(("/" + parentMappingPath).replaceAll("[/]+", "/"));
+        }
+        for (String methodPath : request.getPaths()) {
+            fullPaths.add(("/" + parentMappingPath + "/" + methodPath).replaceAll("[/]+", "/"));
+        }
+        for (String fullPath : fullPaths) {
+            Path path = swagger.getPaths().computeIfAbsent(fullPath, s -> new Path());
+            for (String method : request.getMethods()) {
+                path.set(method, operation);
+            }
+            if (request.getMethods().isEmpty() && defaultMethod != null) {
+                path.set(defaultMethod, operation);
+            }
+        }
+    }
+
+    private static List<String> values(ApiAnnotation annotation, String... names) {
+        return annotation == null ? Collections.emptyList() : annotation.values(names);
+    }
+}
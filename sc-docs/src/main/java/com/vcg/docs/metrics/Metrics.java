@@ -0,0 +1,164 @@
+package com.vcg.docs.metrics;
+
+import lombok.Getter;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * 记录生成过程中每个阶段(构建、扫描、解析、遍历、输出等)按模块和格式的耗时、CPU时间、内存分配和计数
+ */
+@Getter
+public class Metrics {
+
+    private static final ThreadMXBean THREAD_MX_BEAN = ManagementFactory.getThreadMXBean();
+
+    private final long startTime = System.currentTimeMillis();
+
+    private static final boolean ENABLED = Boolean.parseBoolean(System.getProperty("docs.metrics", "true"));
+
+    /**
+     * 关闭统计时返回的阶段,不记录任何数据
+     */
+    private static final Phase NOOP = new Phase(null, null) {
+        @Override
+        public void count(String key, long delta) {
+        }
+
+        @Override
+        public <T> T track(Supplier<T> supplier) {
+            return supplier.get();
+        }
+
+        @Override
+        public void close() {
+        }
+    };
+
+    private final List<Phase> phases = Collections.synchronizedList(new ArrayList<>());
+
+    public static boolean isEnabled() {
+        return ENABLED;
+    }
+
+    /**
+     * 开始一个阶段,配合 try-with-resources 使用
+     *
+     * @param module 模块名,与模块无关的阶段为 null
+     */
+    public Phase start(String name, String module) {
+        if (!ENABLED) {
+            return NOOP;
+        }
+        Phase phase = new Phase(name, module);
+        phases.add(phase);
+        return phase;
+    }
+
+    /**
+     * 监听模式下每次重新解析前清空,只保留最近一次的统计
+     */
+    public void reset() {
+        phases.clear();
+    }
+
+    public List<Phase> getPhases() {
+        synchronized (phases) {
+            return new ArrayList<>(phases);
+        }
+    }
+
+    public static class Phase implements AutoCloseable {
+
+        @Getter
+        private final String name;
+
+        @Getter
+        private final String module;
+
+        @Getter
+        private long wallMs;
+
+        /**
+         * 阶段结束时的堆内存占用
+         */
+        @Getter
+        private long heapUsedBytes;
+
+        private final AtomicLong cpuNanos = new AtomicLong();
+
+        private final AtomicLong allocatedBytes = new AtomicLong();
+
+        private final Map<String, AtomicLong> counts = Collections.synchronizedMap(new TreeMap<>());
+
+        private final Thread owner = Thread.currentThread();
+
+        private final long startNanos = System.nanoTime();
+
+        private final long startCpu = cpuTime();
+
+        private final long startAllocated = allocatedBytes();
+
+        Phase(String name, String module) {
+            this.name = name;
+            this.module = module;
+        }
+
+        public long getCpuMs() {
+            return cpuNanos.get() / 1000000;
+        }
+
+        public long getAllocatedBytes() {
+            return allocatedBytes.get();
+        }
+
+        public Map<String, AtomicLong> getCounts() {
+            return counts;
+        }
+
+        public void count(String key, long delta) {
+            counts.computeIfAbsent(key, k -> new AtomicLong()).addAndGet(delta);
+        }
+
+        /**
+         * 在其他线程中执行属于该阶段的工作时,累加该线程的CPU时间和内存分配
+         */
+        public <T> T track(Supplier<T> supplier) {
+            if (Thread.currentThread() == owner) {
+                return supplier.get();
+            }
+            long cpu = cpuTime();
+            long allocated = allocatedBytes();
+            try {
+                return supplier.get();
+            } finally {
+                cpuNanos.addAndGet(cpuTime() - cpu);
+                allocatedBytes.addAndGet(allocatedBytes() - allocated);
+            }
+        }
+
+        @Override
+        public void close() {
+            wallMs = (System.nanoTime() - startNanos) / 1000000;
+            heapUsedBytes = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+            if (Thread.currentThread() == owner) {
+                cpuNanos.addAndGet(cpuTime() - startCpu);
+                allocatedBytes.addAndGet(allocatedBytes() - startAllocated);
+            }
+        }
+    }
+
+    private static long cpuTime() {
+        return THREAD_MX_BEAN.isCurrentThreadCpuTimeSupported() ? THREAD_MX_BEAN.getCurrentThreadCpuTime() : 0;
+    }
+
+    private static long allocatedBytes() {
+        if (THREAD_MX_BEAN instanceof com.sun.management.ThreadMXBean) {
+            return ((com.sun.management.ThreadMXBean) THREAD_MX_BEAN).getThreadAllocatedBytes(Thread.currentThread().getId());
+        }
+        return 0;
+    }
+}
@@ -0,0 +1,118 @@
+package com.vcg.docs.metrics;
+
+import lombok.Getter;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * 按类型统计模型解析的次数、耗时、缓存命中、所在层数以及引用该类型的接口类,
+ * 输出解析最慢和解析次数最多的类型
+ */
+public class ResolveProfile {
+
+    private final Map<String, TypeProfile> types = new ConcurrentHashMap<>();
+
+    public static boolean isEnabled() {
+        return Boolean.parseBoolean(System.getProperty("docs.profile", "false"));
+    }
+
+    /**
+     * 新解析一个类型
+     *
+     * @param depth 距离接口参数或返回值的层数
+     */
+    public void resolved(String type, int depth) {
+        TypeProfile profile = get(type);
+        profile.resolves.incrementAndGet();
+        profile.maxDepth.accumulateAndGet(depth, Math::max);
+    }
+
+    public void hit(String type) {
+        get(type).hits.incrementAndGet();
+    }
+
+    /**
+     * 解析类型字段的耗时,包含立即解析的父类
+     */
+    public void time(String type, long nanos) {
+        get(type).nanos.addAndGet(nanos);
+    }
+
+    public void controller(String type, String controller) {
+        get(type).controllers.add(controller);
+    }
+
+    public Report report() {
+        int top = Integer.getInteger("docs.profile.top", 50);
+        List<TypeProfile> profiles = new ArrayList<>(types.values());
+        Report report = new Report();
+        report.types = profiles.size();
+        report.slowest = profiles.stream()
+                .sorted(Comparator.comparingLong((TypeProfile p) -> p.nanos.get()).reversed())
+                .limit(top)
+                .collect(Collectors.toList());
+        report.mostResolved = profiles.stream()
+                .sorted(Comparator.comparingLong((TypeProfile p) -> p.resolves.get() + p.hits.get()).reversed())
+                .limit(top)
+                .collect(Collectors.toList());
+        return report;
+    }
+
+    private TypeProfile get(String type) {
+        return types.computeIfAbsent(type, TypeProfile::new);
+    }
+
+    @Getter
+    public static class Report {
+
+        private int types;
+
+        private List<TypeProfile> slowest;
+
+        private List<TypeProfile> mostResolved;
+    }
+
+    public static class TypeProfile {
+
+        @Getter
+        private final String type;
+
+        private final AtomicLong resolves = new AtomicLong();
+
+        private final AtomicLong hits = new AtomicLong();
+
+        private final AtomicLong nanos = new AtomicLong();
+
+        private final AtomicInteger maxDepth = new AtomicInteger();
+
+        private final Set<String> controllers = ConcurrentHashMap.newKeySet();
+
+        TypeProfile(String type) {
+            this.type = type;
+        }
+
+        public long getResolves() {
+            return resolves.get();
+        }
+
+        public long getHits() {
+            return hits.get();
+        }
+
+        public long getTimeMs() {
+            return nanos.get() / 1000000;
+        }
+
+        public int getMaxDepth() {
+            return maxDepth.get();
+        }
+
+        public Set<String> getControllers() {
+            return new TreeSet<>(controllers);
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.vcg.docs.processor;
+
+import com.vcg.docs.mapping.ApiAnnotation;
+
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.VariableElement;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 编译器中的注解,常量已由编译器计算
+ */
+class ElementAnnotation implements ApiAnnotation {
+
+    private final AnnotationMirror annotation;
+
+    ElementAnnotation(AnnotationMirror annotation) {
+        this.annotation = annotation;
+    }
+
+    /**
+     * 注解简单名称 -> 注解
+     */
+    static Map<String, ElementAnnotation> of(Element element) {
+        Map<String, ElementAnnotation> annotations = new LinkedHashMap<>();
+        for (AnnotationMirror annotation : element.getAnnotationMirrors()) {
+            ElementAnnotation elementAnnotation = new ElementAnnotation(annotation);
+            annotations.put(elementAnnotation.getName(), elementAnnotation);
+        }
+        return annotations;
+    }
+
+    @Override
+    public String getName() {
+        return annotation.getAnnotationType().asElement().getSimpleName().toString();
+    }
+
+    @Override
+    public List<String> values(String... names) {
+        List<String> values = new ArrayList<>();
+        for (String name : names) {
+            for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry : annotation.getElementValues().entrySet()) {
+                if (!entry.getKey().getSimpleName().contentEquals(name)) continue;
+                Object value = entry.getValue().getValue();
+                if (value instanceof List) {
+                    for (Object item : (List<?>) value) {
+                        values.add(value(((AnnotationValue) item).getValue()));
+                    }
+                } else {
+                    values.add(value(value));
+                }
+                return values;
+            }
+        }
+        return values;
+    }
+
+    private String value(Object value) {
+        if (value instanceof VariableElement) {
+            return ((VariableElement) value).getSimpleName().toString();
+        }
+        return String.valueOf(value);
+    }
+}
@@ -0,0 +1,279 @@
+package com.vcg.docs.processor;
+
+import com.github.javaparser.JavaParser;
+import com.github.javaparser.javadoc.Javadoc;
+import com.vcg.docs.visitor.ResolveSwaggerType;
+import io.swagger.models.Model;
+import io.swagger.models.properties.*;
+
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.lang.model.element.*;
+import javax.lang.model.type.*;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+import java.util.*;
+
+/**
+ * 按编译器已解析的类型生成属性,规则与 {@link ResolveSwaggerType} 一致.
+ * 字段的泛型参数由编译器替换,不再需要符号解析.
+ */
+class ElementTypeResolver {
+
+    private static final String JSON_PROPERTY = "com.fasterxml.jackson.annotation.JsonProperty";
+
+    private static final String NOT_NULL = "javax.validation.constraints.NotNull";
+
+    private final Elements elements;
+
+    private final Types types;
+
+    private final ResolveSwaggerType resolveSwaggerType = new ResolveSwaggerType();
+
+    private final TypeMirror setType;
+
+    private final TypeMirror collectionType;
+
+    private final TypeMirror mapType;
+
+    /**
+     * 类型(包含泛型参数) -> 属性,对象类型只解析一次
+     */
+    private final Map<String, Property> resolved = new HashMap<>();
+
+    /**
+     * 模型名称 -> 属性
+     */
+    private final Map<String, Property> models = new TreeMap<>();
+
+    ElementTypeResolver(ProcessingEnvironment processingEnv) {
+        this.elements = processingEnv.getElementUtils();
+        this.types = processingEnv.getTypeUtils();
+        this.setType = erasure(Set.class.getName());
+        this.collectionType = erasure(Collection.class.getName());
+        this.mapType = erasure(Map.class.getName());
+    }
+
+    Property resolve(TypeMirror type) {
+        TypeKind kind = type.getKind();
+        if (kind.isPrimitive()) {
+            Property property = ResolveSwaggerType.resolveBaseType(kind.name().toLowerCase());
+            return property != null ? property : new ObjectProperty();
+        }
+        switch (kind) {
+            case ARRAY:
+                TypeMirror componentType = ((ArrayType) type).getComponentType();
+                if (componentType.getKind() == TypeKind.BYTE) {
+                    return ResolveSwaggerType.resolveBaseType("byte[]");
+                }
+                return array(resolve(componentType));
+            case WILDCARD:
+                TypeMirror bound = ((WildcardType) type).getExtendsBound();
+                return bound != null ? resolve(bound) : new ObjectProperty();
+            case DECLARED:
+                return resolveDeclared((DeclaredType) type);
+            default:
+                return new ObjectProperty();
+        }
+    }
+
+    Map<String, Model> getModelMap() {
+        Map<String, Model> modelMap = new LinkedHashMap<>();
+        for (Map.Entry<String, Property> entry : models.entrySet()) {
+            Model model = resolveSwaggerType.toModel(entry.getValue());
+            if (model != null) {
+                modelMap.put(entry.getKey(), model);
+            }
+        }
+        return modelMap;
+    }
+
+    Model convertToModel(Property property) {
+        return resolveSwaggerType.convertToModel(property);
+    }
+
+    Optional<Javadoc> javadoc(Element element) {
+        String comment = elements.getDocComment(element);
+        return comment == null ? Optional.empty() : Optional.of(JavaParser.parseJavadoc(comment));
+    }
+
+    private Property resolveDeclared(DeclaredType type) {
+        TypeElement element = (TypeElement) type.asElement();
+        String qualifiedName = element.getQualifiedName().toString();
+        Property property = ResolveSwaggerType.resolveBaseType(qualifiedName);
+        if (property != null) {
+            return property;
+        }
+
+        List<? extends TypeMirror> arguments = type.getTypeArguments();
+        TypeMirror erasure = types.erasure(type);
+        if (setType != null && types.isSubtype(erasure, setType)) {
+            Property value = arguments.isEmpty() ? new ObjectProperty() : resolve(arguments.get(0));
+            if (value instanceof ObjectProperty && value.getName() != null) {
+                return new ArrayProperty(new RefProperty("#/definitions/" + value.getName()));
+            }
+            return new ArrayProperty(value).uniqueItems();
+        }
+        if (collectionType != null && types.isSubtype(erasure, collectionType)) {
+            return array(arguments.isEmpty() ? new ObjectProperty() : resolve(arguments.get(0)));
+        }
+        if (mapType != null && types.isSubtype(erasure, mapType)) {
+            Property value = arguments.size() > 1 ? resolve(arguments.get(1)) : new ObjectProperty();
+            if (value instanceof ObjectProperty && value.getName() != null) {
+                return new MapProperty().additionalProperties(new RefProperty("#/definitions/" + value.getName()));
+            }
+            return new MapProperty().additionalProperties(value);
+        }
+
+        if (element.getKind() == ElementKind.ENUM) {
+            return copy(resolveEnum(element));
+        }
+        if (!isModel(element)) {
+            return new ObjectProperty();
+        }
+
+        String key = type.toString();
+        Property existing = resolved.get(key);
+        if (existing != null) {
+            return existing;
+        }
+        ObjectProperty objectProperty = new ObjectProperty().name(modelName(type));
+        resolved.put(key, objectProperty);
+        models.put(objectProperty.getName(), objectProperty);
+        javadoc(element).ifPresent(c -> objectProperty.description(c.toText()));
+        resolveFields(type, objectProperty);
+        return objectProperty;
+    }
+
+    private void resolveFields(DeclaredType type, ObjectProperty objectProperty) {
+        List<DeclaredType> supertypes = new ArrayList<>();
+        for (TypeMirror supertype : types.directSupertypes(type)) {
+            if (supertype.getKind() == TypeKind.DECLARED) {
+                supertypes.add((DeclaredType) supertype);
+            }
+        }
+        ResolveSwaggerType.inherit(objectProperty, supertypes, supertype -> {
+            TypeElement superElement = (TypeElement) supertype.asElement();
+            return superElement.getKind() == ElementKind.CLASS && isModel(superElement);
+        }, supertype -> {
+            Property property = resolveDeclared(supertype);
+            return property instanceof ObjectProperty && ((ObjectProperty) property).getProperties() != null
+                    ? ((ObjectProperty) property).getProperties() : Collections.emptyMap();
+        });
+
+        TypeElement element = (TypeElement) type.asElement();
+        for (VariableElement field : ElementFilter.fieldsIn(element.getEnclosedElements())) {
+            if (field.getModifiers().contains(Modifier.STATIC)) continue;
+            Property property = resolve(types.asMemberOf(type, field));
+            ResolveSwaggerType.describeField(property, () -> javadoc(field)
+                    .map(c -> c.getDescription().toText())
+                    .orElse(null), () -> isRequired(field));
+            objectProperty.property(fieldName(field), property);
+        }
+    }
+
+    private Property resolveEnum(TypeElement element) {
+        String name = element.getSimpleName().toString();
+        Property existing = models.get(name);
+        if (existing != null) {
+            return existing;
+        }
+        List<String> enums = new ArrayList<>();
+        StringBuilder sb = new StringBuilder();
+        for (Element enclosed : element.getEnclosedElements()) {
+            if (enclosed.getKind() != ElementKind.ENUM_CONSTANT) continue;
+            String fieldName = enclosed.getSimpleName().toString();
+            javadoc(enclosed).ifPresent(c -> sb.append(fieldName)
+                    .append(":")
+                    .append(c.getDescription().toText())
+                    .append("\t"));
+            enums.add(fieldName);
+        }
+        Property enumProperty = new StringProperty()._enum(enums).description(sb.length() == 0 ? null : sb.toString());
+        models.put(name, enumProperty);
+        return enumProperty;
+    }
+
+    /**
+     * 模型名称,泛型参数为模型时追加参数名称,如 Page«User»
+     */
+    private String modelName(DeclaredType type) {
+        String name = type.asElement().getSimpleName().toString();
+        List<String> typeNames = new ArrayList<>();
+        for (TypeMirror argument : type.getTypeArguments()) {
+            if (argument.getKind() == TypeKind.DECLARED && isModel((TypeElement) ((DeclaredType) argument).asElement())) {
+                typeNames.add(modelName((DeclaredType) argument));
+            }
+        }
+        if (!typeNames.isEmpty()) {
+            name = name + "«" + String.join(",", typeNames) + "»";
+        }
+        return name;
+    }
+
+    /**
+     * jdk 中的类型和基础类型不生成模型
+     */
+    private boolean isModel(TypeElement element) {
+        String qualifiedName = element.getQualifiedName().toString();
+        return (element.getKind() == ElementKind.CLASS || element.getKind() == ElementKind.INTERFACE)
+                && !qualifiedName.startsWith("java.") && !qualifiedName.startsWith("javax.")
+                && ResolveSwaggerType.resolveBaseType(qualifiedName) == null;
+    }
+
+    private String fieldName(VariableElement field) {
+        Object value = annotationValue(field, JSON_PROPERTY, "value");
+        if (value instanceof String && !((String) value).trim().isEmpty()) {
+            return (String) value;
+        }
+        return field.getSimpleName().toString();
+    }
+
+    private boolean isRequired(VariableElement field) {
+        return Boolean.TRUE.equals(annotationValue(field, JSON_PROPERTY, "required")) || annotation(field, NOT_NULL) != null;
+    }
+
+    private AnnotationMirror annotation(Element element, String annotationType) {
+        for (AnnotationMirror annotation : element.getAnnotationMirrors()) {
+            if (((TypeElement) annotation.getAnnotationType().asElement()).getQualifiedName().contentEquals(annotationType)) {
+                return annotation;
+            }
+        }
+        return null;
+    }
+
+    private Object annotationValue(Element element, String annotationType, String name) {
+        AnnotationMirror annotation = annotation(element, annotationType);
+        if (annotation == null) return null;
+        for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry : annotation.getElementValues().entrySet()) {
+            if (entry.getKey().getSimpleName().contentEquals(name)) {
+                return entry.getValue().getValue();
+            }
+        }
+        return null;
+    }
+
+    private Property array(Property items) {
+        if (items instanceof ObjectProperty && items.getName() != null) {
+            return new ArrayProperty(new RefProperty("#/definitions/" + items.getName()));
+        }
+        return new ArrayProperty(items);
+    }
+
+    /**
+     * 枚举会被调用方修改描述,每次返回副本
+     */
+    private Property copy(Property property) {
+        if (property instanceof StringProperty && ((StringProperty) property).getEnum() != null) {
+            return new StringProperty()
+                    ._enum(new ArrayList<>(((StringProperty) property).getEnum()))
+                    .description(property.getDescription());
+        }
+        return property;
+    }
+
+    private TypeMirror erasure(String name) {
+        TypeElement element = elements.getTypeElement(name);
+        return element == null ? null : types.erasure(element.asType());
+    }
+}
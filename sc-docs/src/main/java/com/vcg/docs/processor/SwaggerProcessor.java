@@ -0,0 +1,244 @@
+package com.vcg.docs.processor;
+
+import com.vcg.docs.domain.Request;
+import com.vcg.docs.mapping.ApiMapping;
+import com.vcg.docs.utils.SwaggerUtils;
+import io.swagger.models.*;
+import io.swagger.models.properties.Property;
+import io.swagger.util.Json;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.annotation.processing.RoundEnvironment;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.*;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Writer;
+import java.util.*;
+
+/**
+ * 编译时生成文档的注解处理器,按 {@link ApiMapping} 的规则提取接口,类型使用编译器已解析的结果,
+ * 编译结束时写入 class 输出目录(如 target/classes/swagger.json).
+ * 处理器不自动注册,需要在 maven-compiler-plugin 的 annotationProcessors 中指定.
+ */
+public class SwaggerProcessor extends AbstractProcessor {
+
+    private ElementTypeResolver typeResolver;
+
+    private Swagger swagger;
+
+    private final Set<String> processed = new HashSet<>();
+
+    /**
+     * 本次编译中生成了接口的类,类全名 -> 标签名称
+     */
+    private final Map<String, String> controllers = new TreeMap<>();
+
+    @Override
+    public synchronized void init(ProcessingEnvironment processingEnv) {
+        super.init(processingEnv);
+        Map<String, String> options = processingEnv.getOptions();
+        this.typeResolver = new ElementTypeResolver(processingEnv);
+        this.swagger = new Swagger()
+                .info(new Info()
+                        .title(options.getOrDefault("docs.title", "Api Documentation"))
+                        .version(options.getOrDefault("docs.version", "1.0")))
+                .basePath(options.getOrDefault("docs.basePath", "/"))
+                .paths(new TreeMap<>());
+    }
+
+    @Override
+    public Set<String> getSupportedAnnotationTypes() {
+        return new HashSet<>(Arrays.asList("org.springframework.web.bind.annotation.RestController",
+                "org.springframework.stereotype.Controller",
+                "org.springframework.cloud.openfeign.FeignClient",
+                "org.springframework.cloud.netflix.feign.FeignClient",
+                "javax.ws.rs.Path"));
+    }
+
+    @Override
+    public Set<String> getSupportedOptions() {
+        return new HashSet<>(Arrays.asList("docs.output", "docs.title", "docs.version", "docs.basePath"));
+    }
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        for (TypeElement annotation : annotations) {
+            for (TypeElement type : ElementFilter.typesIn(roundEnv.getElementsAnnotatedWith(annotation))) {
+                if (processed.add(type.getQualifiedName().toString())) {
+                    visitClass(type);
+                }
+            }
+        }
+        if (roundEnv.processingOver()) {
+            write();
+        }
+        return false;
+    }
+
+    /**
+     * 增量编译(IDE 或 maven 增量构建)时只处理修改过的类,按上次生成时记录的接口类合并:
+     * 本次重新编译或已删除的类的接口被替换或去掉,其余的接口保留.没有接口时删除文档.
+     */
+    private void write() {
+        String output = processingEnv.getOptions().getOrDefault("docs.output", "swagger.json");
+        String indexName = output + ".classes";
+        Properties index = new Properties();
+        Swagger previous = null;
+        try {
+            try (InputStream in = processingEnv.getFiler().getResource(StandardLocation.CLASS_OUTPUT, "", indexName).openInputStream()) {
+                index.load(in);
+            }
+            try (InputStream in = processingEnv.getFiler().getResource(StandardLocation.CLASS_OUTPUT, "", output).openInputStream()) {
+                previous = Json.mapper().readValue(in, Swagger.class);
+            }
+        } catch (IOException e) {
+            // 第一次生成或全量构建已清空输出目录
+        }
+        for (Map.Entry<String, Model> entry : typeResolver.getModelMap().entrySet()) {
+            swagger.model(entry.getKey(), entry.getValue());
+        }
+        if (previous != null) {
+            merge(previous, index);
+        }
+        if (swagger.getTags() != null) {
+            swagger.getTags().sort(Comparator.comparing(Tag::getName));
+        }
+
+        try {
+            if (swagger.getPaths().isEmpty()) {
+                processingEnv.getFiler().getResource(StandardLocation.CLASS_OUTPUT, "", output).delete();
+                processingEnv.getFiler().getResource(StandardLocation.CLASS_OUTPUT, "", indexName).delete();
+                return;
+            }
+            FileObject resource = processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "", output);
+            try (Writer writer = resource.openWriter()) {
+                Json.mapper().writerWithDefaultPrettyPrinter().writeValue(writer, swagger);
+            }
+            Properties classes = new Properties();
+            classes.putAll(controllers);
+            try (Writer writer = processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "", indexName).openWriter()) {
+                classes.store(writer, null);
+            }
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.NOTE, "Api docs written to " + resource.toUri());
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.WARNING, "Unable to write api docs " + output + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * 保留上次生成的文档中本次没有重新编译且仍然存在的类的接口,标签名称即类的简单名称.
+     * 上次的模型只在本次没有生成同名模型时保留,合并后去掉接口不再引用的模型,
+     * 如只被已删除的类或重新编译后不再使用的类型引用的模型
+     */
+    private void merge(Swagger previous, Properties index) {
+        Set<String> removedTags = new HashSet<>();
+        for (String className : index.stringPropertyNames()) {
+            String tag = index.getProperty(className);
+            if (processed.contains(className) || processingEnv.getElementUtils().getTypeElement(className) == null) {
+                removedTags.add(tag);
+            } else {
+                controllers.putIfAbsent(className, tag);
+            }
+        }
+        if (previous.getPaths() != null) {
+            for (Map.Entry<String, Path> entry : previous.getPaths().entrySet()) {
+                for (Map.Entry<HttpMethod, Operation> operation : entry.getValue().getOperationMap().entrySet()) {
+                    List<String> tags = operation.getValue().getTags();
+                    if (tags != null && !Collections.disjoint(tags, removedTags)) continue;
+                    Path path = swagger.getPaths().computeIfAbsent(entry.getKey(), k -> new Path());
+                    String method = operation.getKey().name().toLowerCase();
+                    if (path.getOperationMap().get(operation.getKey()) == null) {
+                        path.set(method, operation.getValue());
+                    }
+                }
+            }
+        }
+        if (previous.getTags() != null) {
+            for (Tag tag : previous.getTags()) {
+                if (!removedTags.contains(tag.getName()) && swagger.getTag(tag.getName()) == null) {
+                    swagger.addTag(tag);
+                }
+            }
+        }
+        if (previous.getDefinitions() != null) {
+            for (Map.Entry<String, Model> entry : previous.getDefinitions().entrySet()) {
+                if (swagger.getDefinitions() == null || !swagger.getDefinitions().containsKey(entry.getKey())) {
+                    swagger.model(entry.getKey(), entry.getValue());
+                }
+            }
+        }
+        SwaggerUtils.removeUnreferencedModels(swagger);
+    }
+
+    private void visitClass(TypeElement type) {
+        Map<String, ElementAnnotation> annotations = ElementAnnotation.of(type);
+        boolean jaxRs = Collections.disjoint(annotations.keySet(), ApiMapping.CONTROLLERS);
+        String simpleName = type.getSimpleName().toString();
+        int operations = 0;
+        for (ExecutableElement method : ElementFilter.methodsIn(type.getEnclosedElements())) {
+            if (method.getModifiers().contains(Modifier.STATIC)) continue;
+            Map<String, ElementAnnotation> methodAnnotations = ElementAnnotation.of(method);
+            boolean api = jaxRs
+                    ? methodAnnotations.containsKey("Path") || !Collections.disjoint(methodAnnotations.keySet(), ApiMapping.JAXRS_METHODS.keySet())
+                    : !Collections.disjoint(methodAnnotations.keySet(), ApiMapping.MAPPINGS);
+            if (!api) continue;
+
+            Request request = new Request();
+            request.setClazzSimpleName(simpleName);
+            request.setMethodName(method.getSimpleName().toString());
+            typeResolver.javadoc(method).ifPresent(c -> ApiMapping.parseMethodComment(c, request));
+            if (jaxRs) {
+                ApiMapping.parseJaxRsMapping(annotations, methodAnnotations, request);
+            } else {
+                ApiMapping.parseMapping(annotations, methodAnnotations, request);
+            }
+            parseMethodParameters(jaxRs, method, request);
+            parseReturnType(jaxRs, method.getReturnType(), request);
+            ApiMapping.addOperation(swagger, request, jaxRs ? "get" : null);
+            operations++;
+        }
+        if (operations == 0) return;
+        controllers.put(type.getQualifiedName().toString(), simpleName);
+        swagger.addTag(ApiMapping.tag(simpleName, typeResolver.javadoc(type)));
+    }
+
+    private void parseMethodParameters(boolean jaxRs, ExecutableElement method, Request request) {
+        for (VariableElement parameter : method.getParameters()) {
+            if (ApiMapping.isServletType(parameter.asType().toString())) {
+                continue;
+            }
+            Property property = typeResolver.resolve(parameter.asType());
+            request.getParameters().add(ApiMapping.parameter(jaxRs, parameter.getSimpleName().toString(),
+                    ElementAnnotation.of(parameter), property, typeResolver::convertToModel, request));
+        }
+    }
+
+    private void parseReturnType(boolean jaxRs, TypeMirror type, Request request) {
+        if (!jaxRs && type.getKind() == TypeKind.DECLARED) {
+            DeclaredType declaredType = (DeclaredType) type;
+            String name = declaredType.asElement().getSimpleName().toString();
+            if ((name.contains("ResponseEntity") || name.contains("Mono")) && !declaredType.getTypeArguments().isEmpty()) {
+                type = declaredType.getTypeArguments().get(0);
+            }
+        }
+        if (type.getKind() == TypeKind.VOID) {
+            return;
+        }
+
+        ApiMapping.returnType(typeResolver.resolve(type), request);
+    }
+}
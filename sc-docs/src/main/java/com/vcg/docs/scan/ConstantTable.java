@@ -0,0 +1,357 @@
+package com.vcg.docs.scan;
+
+import com.github.javaparser.JavaParser;
+import com.github.javaparser.ParseProblemException;
+import com.github.javaparser.ast.body.ClassOrInterfaceDeclaration;
+import com.github.javaparser.ast.expr.BinaryExpr;
+import com.github.javaparser.ast.expr.Expression;
+import org.apache.commons.codec.digest.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 项目源码中 static final String 常量的值,在计算文件哈希时按源码文本收集,不做语法解析,
+ * 供提取器解析注解中引用的常量,如 {@code @RequestMapping(ApiPaths.USERS)}.
+ * 只收集类型中直接声明的字段,注释和方法中的局部变量不会收集.
+ * 常量之间的字符串拼接在 {@link #build()} 时一次计算,之后按 包名.类名.常量名,类名.常量名 或 常量名 直接查找.
+ */
+public class ConstantTable {
+
+    private static final Pattern PACKAGE_PATTERN = Pattern.compile("\\bpackage\\s+([\\w.]+)\\s*;");
+
+    private static final Pattern TYPE_PATTERN = Pattern.compile("\\b(class|interface|enum)\\s+(\\w+)");
+
+    /**
+     * 在去掉注释和字符串内容的文本中查找,修饰符,常量名,以及到分号为止的表达式
+     */
+    private static final Pattern CONSTANT_PATTERN = Pattern.compile(
+            "((?:\\b(?:public|protected|private|static|final)\\s+)*)\\bString\\s+(\\w+)\\s*=([^;]+);");
+
+    /**
+     * 包名.类名.常量名 -> 常量表达式,内部类的类名为 外部类.内部类
+     */
+    private final Map<String, Constant> expressions = new ConcurrentHashMap<>();
+
+    /**
+     * 不带包名的 类名.常量名(包括外部类前缀)和常量名 -> 包名.类名.常量名,重名的不加入
+     */
+    private final Map<String, String> aliases = new HashMap<>();
+
+    /**
+     * 包名.类名.常量名,类名.常量名,常量名 -> 常量值
+     */
+    private final Map<String, String> values = new HashMap<>();
+
+    /**
+     * 读取一个源文件中的常量,可以并发调用
+     */
+    public void add(Path source, byte[] content) {
+        String text = new String(content, StandardCharsets.UTF_8);
+        if (!text.contains("String")) return;
+        String masked = mask(text);
+        Matcher packageMatcher = PACKAGE_PATTERN.matcher(masked);
+        String packageName = packageMatcher.find() ? packageMatcher.group(1) : "";
+
+        // 每层大括号对应的类型,不是类型(方法、初始化块、数组等)时为 Type.NONE
+        Deque<Type> scopes = new ArrayDeque<>();
+        int position = 0;
+        int boundary = 0;
+        Matcher matcher = CONSTANT_PATTERN.matcher(masked);
+        while (matcher.find()) {
+            for (; position < matcher.start(); position++) {
+                char c = masked.charAt(position);
+                if (c == '{') {
+                    scopes.push(type(masked.substring(boundary, position), scopes));
+                    boundary = position + 1;
+                } else if (c == '}') {
+                    scopes.poll();
+                    boundary = position + 1;
+                } else if (c == ';') {
+                    boundary = position + 1;
+                }
+            }
+            Type type = scopes.peek();
+            if (type == null || type == Type.NONE) continue;
+            String modifiers = matcher.group(1);
+            // 接口中的字段默认为 static final
+            if (!type.isInterface && !(modifiers.contains("static") && modifiers.contains("final"))) continue;
+            try {
+                Expression expression = JavaParser.parseExpression(text.substring(matcher.start(3), matcher.end(3)).trim());
+                Constant constant = new Constant(packageName, type.names, matcher.group(2), expression);
+                expressions.put(constant.qualifiedName(), constant);
+            } catch (ParseProblemException e) {
+                // 不是常量表达式
+            }
+        }
+    }
+
+    /**
+     * 计算所有常量的值,在所有文件 {@link #add} 之后调用一次
+     */
+    public ConstantTable build() {
+        Set<String> duplicates = new HashSet<>();
+        for (Constant constant : expressions.values()) {
+            for (String alias : constant.aliases()) {
+                if (aliases.put(alias, constant.qualifiedName()) != null) {
+                    duplicates.add(alias);
+                }
+            }
+        }
+        aliases.keySet().removeAll(duplicates);
+
+        Map<String, String> resolved = new HashMap<>();
+        Set<String> visiting = new HashSet<>();
+        for (String key : expressions.keySet()) {
+            evaluate(key, resolved, visiting);
+        }
+        values.putAll(resolved);
+        for (Map.Entry<String, String> entry : aliases.entrySet()) {
+            String value = resolved.get(entry.getValue());
+            if (value != null) {
+                values.put(entry.getKey(), value);
+            }
+        }
+        return this;
+    }
+
+    public boolean isEmpty() {
+        return values.isEmpty();
+    }
+
+    public int size() {
+        return expressions.size();
+    }
+
+    /**
+     * @param name 常量名,类名.常量名 或 包名.类名.常量名
+     */
+    public String get(String name) {
+        return values.get(name);
+    }
+
+    /**
+     * 注解中的字符串字面值,常量引用和它们的拼接,无法解析时返回 null.
+     * 带类名的引用只在类名是项目中声明该常量的类型时解析,如依赖中的 MediaType.APPLICATION_JSON_VALUE 返回 null
+     */
+    public String resolve(Expression expression) {
+        return resolve(expression, null);
+    }
+
+    /**
+     * @param names 查找过的常量名,包括没有找到的,常量增加、删除或修改后引用它的文件需要重新解析
+     */
+    public String resolve(Expression expression, Collection<String> names) {
+        String owner = expression.getAncestorOfType(ClassOrInterfaceDeclaration.class)
+                .map(ClassOrInterfaceDeclaration::getNameAsString)
+                .orElse(null);
+        Object value = evaluate(expression, owner, name -> {
+            if (names != null) {
+                names.add(name);
+            }
+            return values.get(name);
+        });
+        return value == null ? null : String.valueOf(value);
+    }
+
+    /**
+     * 按名称查找到的常量值,与解析时记录的结果比较,判断引用常量的文件是否需要重新解析
+     */
+    public String digest(Collection<String> names) {
+        StringBuilder sb = new StringBuilder();
+        for (String name : new TreeSet<>(names)) {
+            sb.append(name).append("=").append(values.get(name)).append(";");
+        }
+        return DigestUtils.sha1Hex(sb.toString());
+    }
+
+    private String evaluate(String key, Map<String, String> resolved, Set<String> visiting) {
+        if (resolved.containsKey(key)) {
+            return resolved.get(key);
+        }
+        Constant constant = expressions.get(key);
+        // 循环引用
+        if (constant == null || !visiting.add(key)) {
+            return null;
+        }
+        Object value = evaluate(constant.expression, constant.qualifiedTypeName(), name -> {
+            String reference = expressions.containsKey(name) ? name : aliases.get(name);
+            return reference == null ? null : evaluate(reference, resolved, visiting);
+        });
+        visiting.remove(key);
+        if (value == null) {
+            return null;
+        }
+        resolved.put(key, String.valueOf(value));
+        return resolved.get(key);
+    }
+
+    /**
+     * 按 java 的规则计算,字符串与其他值相加为拼接,两个数字或字符相加为数值相加,
+     * 如 1 + 2 + "a" 为 "3a", "a" + 1 + 2 为 "a12"
+     *
+     * @param owner 表达式所在的类型,常量名先按该类型中的常量查找
+     * @return String, Character 或 Long,无法计算时返回 null
+     */
+    private Object evaluate(Expression expression, String owner, Function<String, String> lookup) {
+        if (expression.isStringLiteralExpr()) {
+            return expression.asStringLiteralExpr().asString();
+        }
+        if (expression.isCharLiteralExpr()) {
+            return expression.asCharLiteralExpr().asChar();
+        }
+        if (expression.isIntegerLiteralExpr() || expression.isLongLiteralExpr()) {
+            try {
+                return Long.decode(expression.asLiteralStringValueExpr().getValue().replaceAll("[_lL]", ""));
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+        if (expression.isEnclosedExpr()) {
+            return evaluate(expression.asEnclosedExpr().getInner(), owner, lookup);
+        }
+        if (expression.isBinaryExpr()) {
+            BinaryExpr binaryExpr = expression.asBinaryExpr();
+            Object left = evaluate(binaryExpr.getLeft(), owner, lookup);
+            Object right = left == null ? null : evaluate(binaryExpr.getRight(), owner, lookup);
+            return right == null ? null : evaluate(binaryExpr.getOperator(), left, right);
+        }
+        if (expression.isNameExpr()) {
+            // 当前类型中的常量,其次为静态导入或父类型中的常量
+            String name = expression.asNameExpr().getNameAsString();
+            String value = owner == null ? null : lookup.apply(owner + "." + name);
+            return value != null ? value : lookup.apply(name);
+        }
+        if (expression.isFieldAccessExpr()) {
+            return lookup.apply(expression.toString());
+        }
+        return null;
+    }
+
+    private static Object evaluate(BinaryExpr.Operator operator, Object left, Object right) {
+        if (operator == BinaryExpr.Operator.PLUS && (left instanceof String || right instanceof String)) {
+            return String.valueOf(left) + right;
+        }
+        if (left instanceof String || right instanceof String) {
+            return null;
+        }
+        long a = left instanceof Character ? (Character) left : (Long) left;
+        long b = right instanceof Character ? (Character) right : (Long) right;
+        switch (operator) {
+            case PLUS:
+                return a + b;
+            case MINUS:
+                return a - b;
+            case MULTIPLY:
+                return a * b;
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * 大括号前的声明是类型时返回该类型,类名包含外部类,否则返回 Type.NONE
+     */
+    private static Type type(String header, Deque<Type> scopes) {
+        Matcher matcher = TYPE_PATTERN.matcher(header);
+        Type type = Type.NONE;
+        while (matcher.find()) {
+            Type outer = scopes.peek();
+            List<String> names = new ArrayList<>(outer == null ? Collections.emptyList() : outer.names);
+            names.add(matcher.group(2));
+            type = new Type(names, "interface".equals(matcher.group(1)));
+        }
+        return type;
+    }
+
+    /**
+     * 把注释和字符串、字符字面值的内容替换为空格,保持每个字符的位置不变
+     */
+    private static String mask(String text) {
+        char[] chars = text.toCharArray();
+        int i = 0;
+        while (i < chars.length) {
+            char c = chars[i];
+            if (c == '/' && i + 1 < chars.length && chars[i + 1] == '/') {
+                while (i < chars.length && chars[i] != '\n') chars[i++] = ' ';
+            } else if (c == '/' && i + 1 < chars.length && chars[i + 1] == '*') {
+                int end = text.indexOf("*/", i + 2);
+                end = end < 0 ? chars.length : end + 2;
+                for (; i < end; i++) {
+                    if (chars[i] != '\n') chars[i] = ' ';
+                }
+            } else if (c == '"' || c == '\'') {
+                i++;
+                while (i < chars.length && chars[i] != c && chars[i] != '\n') {
+                    if (chars[i] == '\\' && i + 1 < chars.length) chars[i++] = ' ';
+                    chars[i++] = ' ';
+                }
+                i++;
+            } else {
+                i++;
+            }
+        }
+        return new String(chars);
+    }
+
+    private static class Type {
+
+        private static final Type NONE = new Type(Collections.emptyList(), false);
+
+        private final List<String> names;
+
+        private final boolean isInterface;
+
+        private Type(List<String> names, boolean isInterface) {
+            this.names = names;
+            this.isInterface = isInterface;
+        }
+    }
+
+    private static class Constant {
+
+        private final String packageName;
+
+        /**
+         * 外部类到内部类的类名
+         */
+        private final List<String> typeNames;
+
+        private final String name;
+
+        private final Expression expression;
+
+        private Constant(String packageName, List<String> typeNames, String name, Expression expression) {
+            this.packageName = packageName;
+            this.typeNames = typeNames;
+            this.name = name;
+            this.expression = expression;
+        }
+
+        private String qualifiedTypeName() {
+            String typeName = String.join(".", typeNames);
+            return packageName.isEmpty() ? typeName : packageName + "." + typeName;
+        }
+
+        private String qualifiedName() {
+            return qualifiedTypeName() + "." + name;
+        }
+
+        /**
+         * 如 ApiPaths.Users.LIST, Users.LIST 和 LIST
+         */
+        private List<String> aliases() {
+            List<String> aliases = new ArrayList<>();
+            for (int i = 0; i < typeNames.size(); i++) {
+                aliases.add(String.join(".", typeNames.subList(i, typeNames.size())) + "." + name);
+            }
+            aliases.add(name);
+            return aliases;
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.vcg.docs.scan;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * 不做语法解析,只按注解名和继承的类型名在源码文本中查找可能包含接口的文件,
+ * 其余文件由类型解析器在需要时再解析.
+ */
+@Slf4j
+public class SourceScanner {
+
+    private static final Pattern ANNOTATION_PATTERN = Pattern.compile("@\\s*([\\w$.]+)");
+
+    private static final Pattern SUPER_TYPE_PATTERN = Pattern.compile("\\b(?:extends|implements)\\s+([\\w$.<>,?\\s]+)");
+
+    private static final Pattern NAME_PATTERN = Pattern.compile("[\\w$.]+");
+
+    private final Set<String> annotations;
+
+    private final Set<String> types;
+
+    public SourceScanner(Set<String> annotations) {
+        this(annotations, Collections.emptySet());
+    }
+
+    public SourceScanner(Set<String> annotations, Set<String> types) {
+        this.annotations = new HashSet<>(annotations);
+        this.types = new HashSet<>(types);
+    }
+
+    public static boolean isEnabled() {
+        return Boolean.parseBoolean(System.getProperty("docs.scan", "true"));
+    }
+
+    /**
+     * @return 按原顺序返回带有任一注解的文件
+     */
+    public List<Path> scan(List<Path> sources) {
+        if (!isEnabled()) return sources;
+        Set<Path> candidates = sources.parallelStream()
+                .filter(this::isCandidate)
+                .collect(Collectors.toSet());
+        return sources.stream()
+                .filter(candidates::contains)
+                .collect(Collectors.toList());
+    }
+
+    public boolean isCandidate(Path source) {
+        String content;
+        try {
+            // 注解名只包含ascii字符,按 ISO_8859_1 解码不受源文件编码影响
+            content = new String(Files.readAllBytes(source), StandardCharsets.ISO_8859_1);
+        } catch (IOException e) {
+            log.warn(e.getMessage());
+            return true;
+        }
+        Matcher matcher = ANNOTATION_PATTERN.matcher(content);
+        while (matcher.find()) {
+            String name = matcher.group(1);
+            if (annotations.contains(name.substring(name.lastIndexOf('.') + 1))) {
+                return true;
+            }
+        }
+        if (types.isEmpty()) return false;
+        matcher = SUPER_TYPE_PATTERN.matcher(content);
+        while (matcher.find()) {
+            Matcher nameMatcher = NAME_PATTERN.matcher(matcher.group(1));
+            while (nameMatcher.find()) {
+                String name = nameMatcher.group();
+                if (types.contains(name.substring(name.lastIndexOf('.') + 1))) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,158 @@
+package com.vcg.docs.solver;
+
+import com.github.javaparser.resolution.UnsolvedSymbolException;
+import com.github.javaparser.resolution.declarations.ResolvedReferenceTypeDeclaration;
+import com.github.javaparser.symbolsolver.javassistmodel.JavassistFactory;
+import com.github.javaparser.symbolsolver.model.resolution.SymbolReference;
+import com.github.javaparser.symbolsolver.model.resolution.TypeSolver;
+import javassist.ClassPool;
+import javassist.CtClass;
+import javassist.LoaderClassPath;
+import javassist.NotFoundException;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * 解析编译输出目录(如 target/classes)中类型的解析器,查找到类时才读取字节码
+ */
+@Slf4j
+public class ClassDirectoryTypeSolver implements TypeSolver {
+
+    /**
+     * 类名(内部类以 . 分隔) -> javassist 使用的类名(内部类以 $ 分隔)
+     */
+    private final Map<String, String> classNames;
+
+    /**
+     * 目录下最新的 class 文件的修改时间,与类名在同一次遍历中得到
+     */
+    private final long lastModified;
+
+    private final ClassPool classPool = new ClassPool(false);
+
+    /**
+     * 读取字段类型时使用的依赖jar的类加载器,LoaderClassPath 只持有弱引用
+     */
+    private final List<ClassLoader> dependencyLoaders = new ArrayList<>();
+
+    private TypeSolver parent;
+
+    public ClassDirectoryTypeSolver(File directory) {
+        Map<String, String> classNames = new HashMap<>();
+        long[] lastModified = {0};
+        Path root = directory.toPath();
+        try (Stream<Path> stream = Files.find(root, Integer.MAX_VALUE, (path, attributes) -> {
+            lastModified[0] = Math.max(lastModified[0], attributes.lastModifiedTime().toMillis());
+            return attributes.isRegularFile();
+        })) {
+            stream.map(path -> binaryName(root, path))
+                    .filter(Objects::nonNull)
+                    .forEach(binaryName -> classNames.put(binaryName.replace('$', '.'), binaryName));
+        } catch (IOException e) {
+            log.warn("Unable to list classes of " + directory + ": " + e.getMessage());
+        }
+        this.classNames = classNames;
+        this.lastModified = lastModified[0];
+        appendClassPath(directory);
+    }
+
+    /**
+     * 并发解析时每个线程使用独立的 ClassPool,类名直接使用已有的,不再遍历目录
+     */
+    public ClassDirectoryTypeSolver(File directory, ClassDirectoryTypeSolver solver) {
+        this.classNames = solver.classNames;
+        this.lastModified = solver.lastModified;
+        appendClassPath(directory);
+    }
+
+    /**
+     * 目录下所有 class 文件的类名,内部类以 $ 分隔
+     */
+    public static List<String> list(File directory) {
+        Path root = directory.toPath();
+        try (Stream<Path> stream = Files.walk(root)) {
+            return stream.map(path -> binaryName(root, path))
+                    .filter(Objects::nonNull)
+                    .sorted()
+                    .collect(Collectors.toList());
+        } catch (IOException e) {
+            log.warn("Unable to list classes of " + directory + ": " + e.getMessage());
+            return Collections.emptyList();
+        }
+    }
+
+    private static String binaryName(Path root, Path path) {
+        String name = root.relativize(path).toString().replace(File.separatorChar, '/');
+        if (!name.endsWith(".class") || name.endsWith("module-info.class") || name.endsWith("package-info.class")) {
+            return null;
+        }
+        return name.substring(0, name.length() - ".class".length()).replace('/', '.');
+    }
+
+    private void appendClassPath(File directory) {
+        try {
+            this.classPool.appendClassPath(directory.getAbsolutePath());
+        } catch (NotFoundException e) {
+            throw new IllegalArgumentException("Unable to read classes from " + directory, e);
+        }
+        JdkTypeSolver.appendJdkClassPath(classPool);
+    }
+
+    /**
+     * 字节码中非泛型字段的类型在所在类的 ClassPool 中查找,依赖jar中的类型也需要能找到
+     */
+    public void appendDependencies(JarIndex dependencies) {
+        if (dependencies == null || dependencies.isEmpty()) return;
+        ClassLoader classLoader = dependencies.newClassLoader();
+        dependencyLoaders.add(classLoader);
+        classPool.appendClassPath(new LoaderClassPath(classLoader));
+    }
+
+    public long getLastModified() {
+        return lastModified;
+    }
+
+    public ClassPool getClassPool() {
+        return classPool;
+    }
+
+    @Override
+    public TypeSolver getParent() {
+        return parent;
+    }
+
+    @Override
+    public void setParent(TypeSolver parent) {
+        this.parent = parent;
+    }
+
+    @Override
+    public SymbolReference<ResolvedReferenceTypeDeclaration> tryToSolveType(String name) {
+        String binaryName = classNames.get(name);
+        if (binaryName == null) {
+            return SymbolReference.unsolved(ResolvedReferenceTypeDeclaration.class);
+        }
+        try {
+            CtClass ctClass = classPool.get(binaryName);
+            return SymbolReference.solved(JavassistFactory.toTypeDeclaration(ctClass, getRoot()));
+        } catch (NotFoundException e) {
+            return SymbolReference.unsolved(ResolvedReferenceTypeDeclaration.class);
+        }
+    }
+
+    @Override
+    public ResolvedReferenceTypeDeclaration solveType(String name) throws UnsolvedSymbolException {
+        SymbolReference<ResolvedReferenceTypeDeclaration> ref = tryToSolveType(name);
+        if (ref.isSolved()) {
+            return ref.getCorrespondingDeclaration();
+        }
+        throw new UnsolvedSymbolException(name);
+    }
+}
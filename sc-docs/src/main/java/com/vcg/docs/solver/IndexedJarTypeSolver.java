@@ -0,0 +1,68 @@
+package com.vcg.docs.solver;
+
+import com.github.javaparser.resolution.UnsolvedSymbolException;
+import com.github.javaparser.resolution.declarations.ResolvedReferenceTypeDeclaration;
+import com.github.javaparser.symbolsolver.javassistmodel.JavassistFactory;
+import com.github.javaparser.symbolsolver.model.resolution.SymbolReference;
+import com.github.javaparser.symbolsolver.model.resolution.TypeSolver;
+import javassist.ClassPool;
+import javassist.CtClass;
+import javassist.LoaderClassPath;
+import javassist.NotFoundException;
+
+/**
+ * 基于 {@link JarIndex} 的类型解析器,查找到类时才从jar中读取字节码.
+ * 索引可以在多个解析器之间共用,javassist 的 ClassPool 每个解析器独立,不跨线程共享.
+ */
+public class IndexedJarTypeSolver implements TypeSolver {
+
+    private final JarIndex index;
+
+    private final ClassPool classPool = new ClassPool(false);
+
+    /**
+     * LoaderClassPath 只持有类加载器的弱引用,由解析器持有,避免被回收后找不到类
+     */
+    private final ClassLoader classLoader;
+
+    private TypeSolver parent;
+
+    public IndexedJarTypeSolver(JarIndex index) {
+        this.index = index;
+        this.classLoader = index.newClassLoader();
+        this.classPool.appendClassPath(new LoaderClassPath(classLoader));
+    }
+
+    @Override
+    public TypeSolver getParent() {
+        return parent;
+    }
+
+    @Override
+    public void setParent(TypeSolver parent) {
+        this.parent = parent;
+    }
+
+    @Override
+    public SymbolReference<ResolvedReferenceTypeDeclaration> tryToSolveType(String name) {
+        JarIndex.Entry entry = index.get(name);
+        if (entry == null) {
+            return SymbolReference.unsolved(ResolvedReferenceTypeDeclaration.class);
+        }
+        try {
+            CtClass ctClass = classPool.get(entry.getBinaryName());
+            return SymbolReference.solved(JavassistFactory.toTypeDeclaration(ctClass, getRoot()));
+        } catch (NotFoundException e) {
+            return SymbolReference.unsolved(ResolvedReferenceTypeDeclaration.class);
+        }
+    }
+
+    @Override
+    public ResolvedReferenceTypeDeclaration solveType(String name) throws UnsolvedSymbolException {
+        SymbolReference<ResolvedReferenceTypeDeclaration> ref = tryToSolveType(name);
+        if (ref.isSolved()) {
+            return ref.getCorrespondingDeclaration();
+        }
+        throw new UnsolvedSymbolException(name);
+    }
+}
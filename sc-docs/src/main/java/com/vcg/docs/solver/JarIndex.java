@@ -0,0 +1,172 @@
+package com.vcg.docs.solver;
+
+import com.vcg.docs.cache.ParseCache;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.codec.digest.DigestUtils;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.*;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+
+/**
+ * 一组jar的类名索引,类名 -> jar 中的 class 条目.
+ * 每个jar的条目列表按路径、大小和修改时间缓存到 ~/.sc-docs/cache/jar-index,下次运行不再扫描jar.
+ */
+@Slf4j
+public class JarIndex {
+
+    private final Map<String, Entry> entries = new HashMap<>();
+
+    private final Map<String, Entry> resources = new HashMap<>();
+
+    private JarIndex() {
+    }
+
+    public static JarIndex of(File dependency) {
+        File[] jars = dependency.listFiles(pathname -> pathname.getName().endsWith(".jar"));
+        if (jars == null) return new JarIndex();
+        Arrays.sort(jars);
+        return of(Arrays.asList(jars));
+    }
+
+    public static JarIndex of(List<File> jars) {
+        JarIndex index = new JarIndex();
+        for (File jar : jars) {
+            for (String name : list(jar)) {
+                Entry entry = new Entry(jar, name);
+                String binaryName = name.substring(0, name.length() - ".class".length()).replace('/', '.');
+                index.entries.putIfAbsent(binaryName.replace('$', '.'), entry);
+                index.resources.putIfAbsent(name, entry);
+            }
+        }
+        return index;
+    }
+
+    public boolean isEmpty() {
+        return entries.isEmpty();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * @param name 类的全限定名,内部类以 . 分隔
+     */
+    public Entry get(String name) {
+        return entries.get(name);
+    }
+
+    /**
+     * @param resource class 文件路径,如 java/lang/Object.class
+     */
+    public URL findResource(String resource) {
+        Entry entry = resources.get(resource);
+        return entry == null ? null : entry.toURL();
+    }
+
+    /**
+     * 按索引定位 class 文件的类加载器,供 javassist 读取字节码,调用方需要持有返回的加载器
+     */
+    public ClassLoader newClassLoader() {
+        return new IndexClassLoader(this);
+    }
+
+    /**
+     * @return jar 中所有类的全限定名,内部类以 . 分隔
+     */
+    public static List<String> classNames(File jar) {
+        List<String> classNames = new ArrayList<>();
+        for (String name : list(jar)) {
+            classNames.add(name.substring(0, name.length() - ".class".length()).replace('/', '.').replace('$', '.'));
+        }
+        return classNames;
+    }
+
+    static List<String> list(File jar) {
+        File file = new File(ParseCache.getCacheDirectory(), "jar-index/"
+                + DigestUtils.sha1Hex(jar.getAbsolutePath() + ":" + jar.length() + ":" + jar.lastModified()) + ".txt");
+        if (ParseCache.isEnabled() && file.exists()) {
+            try {
+                return Files.readAllLines(file.toPath(), StandardCharsets.UTF_8);
+            } catch (IOException e) {
+                log.warn("Ignoring jar index " + file + ": " + e.getMessage());
+            }
+        }
+
+        List<String> names = new ArrayList<>();
+        try (JarFile jarFile = new JarFile(jar)) {
+            Enumeration<JarEntry> jarEntries = jarFile.entries();
+            while (jarEntries.hasMoreElements()) {
+                String name = jarEntries.nextElement().getName();
+                if (name.endsWith(".class") && !name.startsWith("META-INF/") && !name.endsWith("module-info.class")) {
+                    names.add(name);
+                }
+            }
+        } catch (IOException e) {
+            log.warn("Unable to index " + jar + ": " + e.getMessage());
+            return names;
+        }
+
+        if (ParseCache.isEnabled()) {
+            try {
+                file.getParentFile().mkdirs();
+                Files.write(file.toPath(), names, StandardCharsets.UTF_8);
+            } catch (IOException e) {
+                log.warn("Unable to write jar index " + file + ": " + e.getMessage());
+            }
+        }
+        return names;
+    }
+
+    /**
+     * 父加载器为启动类加载器,jdk 中的类仍可找到,其余 class 文件按索引定位
+     */
+    private static class IndexClassLoader extends ClassLoader {
+
+        private final JarIndex index;
+
+        IndexClassLoader(JarIndex index) {
+            super(null);
+            this.index = index;
+        }
+
+        @Override
+        protected URL findResource(String name) {
+            return index.findResource(name);
+        }
+    }
+
+    public static class Entry {
+
+        private final File jar;
+
+        private final String name;
+
+        Entry(File jar, String name) {
+            this.jar = jar;
+            this.name = name;
+        }
+
+        /**
+         * javassist 使用的类名,内部类以 $ 分隔
+         */
+        public String getBinaryName() {
+            return name.substring(0, name.length() - ".class".length()).replace('/', '.');
+        }
+
+        public URL toURL() {
+            try {
+                return new URL("jar:" + jar.toURI() + "!/" + name);
+            } catch (MalformedURLException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+}
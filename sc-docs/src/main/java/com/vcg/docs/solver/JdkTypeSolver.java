@@ -0,0 +1,198 @@
+package com.vcg.docs.solver;
+
+import com.github.javaparser.resolution.UnsolvedSymbolException;
+import com.github.javaparser.resolution.declarations.ResolvedReferenceTypeDeclaration;
+import com.github.javaparser.symbolsolver.javassistmodel.JavassistFactory;
+import com.github.javaparser.symbolsolver.model.resolution.SymbolReference;
+import com.github.javaparser.symbolsolver.model.resolution.TypeSolver;
+import com.github.javaparser.symbolsolver.reflectionmodel.ReflectionFactory;
+import com.github.javaparser.symbolsolver.resolution.typesolvers.ReflectionTypeSolver;
+import com.vcg.docs.cache.ParseCache;
+import javassist.ClassPool;
+import javassist.CtClass;
+import javassist.LoaderClassPath;
+import javassist.NotFoundException;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.codec.digest.DigestUtils;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * 只解析jdk中 java.* 和 javax.* 类型的解析器,不经过 sc-docs 自身的 classpath.
+ * jdk中的类名索引按 java.home 和版本缓存到 ~/.sc-docs/cache/jdk-index,找到类时才读取字节码.
+ */
+@Slf4j
+public class JdkTypeSolver implements TypeSolver {
+
+    private final ClassPool classPool = new ClassPool(false);
+
+    private final Map<String, SymbolReference<ResolvedReferenceTypeDeclaration>> solved = new ConcurrentHashMap<>();
+
+    private TypeSolver parent;
+
+    public JdkTypeSolver() {
+        appendJdkClassPath(classPool);
+    }
+
+    /**
+     * 只读取jdk自身的 class 文件,不经过系统类加载器,避免 sc-docs 和应用 classpath 中的同名类.
+     * 读取字节码中字段类型的 ClassPool 同样需要找到jdk中的类
+     */
+    public static void appendJdkClassPath(ClassPool classPool) {
+        File rtJar = new File(System.getProperty("java.home"), "lib/rt.jar");
+        if (rtJar.exists()) {
+            try {
+                classPool.appendClassPath(rtJar.getAbsolutePath());
+            } catch (NotFoundException e) {
+                log.warn("Unable to read " + rtJar + ": " + e.getMessage());
+            }
+        } else {
+            // jdk9 及以上系统类加载器的父加载器为平台类加载器,只加载jdk模块中的类
+            classPool.appendClassPath(new LoaderClassPath(ClassLoader.getSystemClassLoader().getParent()));
+        }
+    }
+
+    /**
+     * -Ddocs.jdkIndex=false 时使用 javaparser 基于 sc-docs 自身 classpath 的反射解析器
+     */
+    public static TypeSolver create() {
+        if (Boolean.parseBoolean(System.getProperty("docs.jdkIndex", "true"))) {
+            return new JdkTypeSolver();
+        }
+        return new ReflectionTypeSolver(false);
+    }
+
+    /**
+     * @param name 类的全限定名,内部类以 . 分隔
+     */
+    public static boolean contains(String name) {
+        return Index.CLASS_NAMES.containsKey(name);
+    }
+
+    @Override
+    public TypeSolver getParent() {
+        return parent;
+    }
+
+    @Override
+    public void setParent(TypeSolver parent) {
+        this.parent = parent;
+    }
+
+    @Override
+    public SymbolReference<ResolvedReferenceTypeDeclaration> tryToSolveType(String name) {
+        String binaryName = Index.CLASS_NAMES.get(name);
+        if (binaryName == null) {
+            return SymbolReference.unsolved(ResolvedReferenceTypeDeclaration.class);
+        }
+        return solved.computeIfAbsent(name, n -> {
+            // javassist 中 Object 的父类仍解析为 Object,javaparser 查找父类时会无限递归
+            if (Object.class.getName().equals(n)) {
+                return SymbolReference.solved(ReflectionFactory.typeDeclarationFor(Object.class, getRoot()));
+            }
+            try {
+                CtClass ctClass = classPool.get(binaryName);
+                return SymbolReference.solved(JavassistFactory.toTypeDeclaration(ctClass, getRoot()));
+            } catch (NotFoundException e) {
+                return SymbolReference.unsolved(ResolvedReferenceTypeDeclaration.class);
+            }
+        });
+    }
+
+    @Override
+    public ResolvedReferenceTypeDeclaration solveType(String name) throws UnsolvedSymbolException {
+        SymbolReference<ResolvedReferenceTypeDeclaration> ref = tryToSolveType(name);
+        if (ref.isSolved()) {
+            return ref.getCorrespondingDeclaration();
+        }
+        throw new UnsolvedSymbolException(name);
+    }
+
+    private static class Index {
+
+        /**
+         * 类名(内部类以 . 分隔) -> javassist 使用的类名(内部类以 $ 分隔)
+         */
+        private static final Map<String, String> CLASS_NAMES = load();
+
+        private static Map<String, String> load() {
+            long start = System.currentTimeMillis();
+            Map<String, String> classNames = new HashMap<>();
+            for (String name : list()) {
+                String binaryName = name.substring(0, name.length() - ".class".length()).replace('/', '.');
+                classNames.put(binaryName.replace('$', '.'), binaryName);
+            }
+            log.info("Indexed " + classNames.size() + " jdk classes in " + (System.currentTimeMillis() - start) + "ms");
+            return classNames;
+        }
+
+        private static List<String> list() {
+            String javaHome = System.getProperty("java.home");
+            File file = new File(ParseCache.getCacheDirectory(), "jdk-index/"
+                    + DigestUtils.sha1Hex(javaHome + ":" + System.getProperty("java.version")) + ".txt");
+            if (ParseCache.isEnabled() && file.exists()) {
+                try {
+                    return Files.readAllLines(file.toPath(), StandardCharsets.UTF_8);
+                } catch (IOException e) {
+                    log.warn("Ignoring jdk index " + file + ": " + e.getMessage());
+                }
+            }
+
+            File rtJar = new File(javaHome, "lib/rt.jar");
+            List<String> names = rtJar.exists() ? listJar(rtJar) : listModules();
+            if (ParseCache.isEnabled() && !names.isEmpty()) {
+                try {
+                    file.getParentFile().mkdirs();
+                    Files.write(file.toPath(), names, StandardCharsets.UTF_8);
+                } catch (IOException e) {
+                    log.warn("Unable to write jdk index " + file + ": " + e.getMessage());
+                }
+            }
+            return names;
+        }
+
+        private static List<String> listJar(File rtJar) {
+            return JarIndex.list(rtJar).stream()
+                    .filter(JdkTypeSolver.Index::isPublicPackage)
+                    .collect(Collectors.toList());
+        }
+
+        /**
+         * jdk9 及以上版本从 jrt 文件系统中列出 java.* 模块的 class 文件
+         */
+        private static List<String> listModules() {
+            try {
+                FileSystem fileSystem = FileSystems.getFileSystem(URI.create("jrt:/"));
+                Path modules = fileSystem.getPath("/modules");
+                List<String> names = new ArrayList<>();
+                try (DirectoryStream<Path> moduleDirectories = Files.newDirectoryStream(modules, "java.*")) {
+                    for (Path module : moduleDirectories) {
+                        try (Stream<Path> stream = Files.walk(module)) {
+                            stream.map(path -> module.relativize(path).toString())
+                                    .filter(name -> name.endsWith(".class") && isPublicPackage(name))
+                                    .forEach(names::add);
+                        }
+                    }
+                }
+                Collections.sort(names);
+                return names;
+            } catch (IOException | RuntimeException e) {
+                log.warn("Unable to index jdk classes: " + e.getMessage());
+                return Collections.emptyList();
+            }
+        }
+
+        private static boolean isPublicPackage(String name) {
+            return (name.startsWith("java/") || name.startsWith("javax/"))
+                    && !name.endsWith("module-info.class") && !name.endsWith("package-info.class");
+        }
+    }
+}
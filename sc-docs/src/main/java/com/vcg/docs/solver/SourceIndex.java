@@ -0,0 +1,62 @@
+package com.vcg.docs.solver;
+
+import java.io.File;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.*;
+
+/**
+ * 源码目录中的类名索引,类名 -> 源文件,由计算文件哈希时得到的文件列表建立,不再单独遍历目录.
+ * 建立后不再修改,多个线程的类型解析器共用.
+ */
+public class SourceIndex {
+
+    /**
+     * 类名(按文件名得到的顶层类) -> 源文件,多个源码目录中同名时使用第一个
+     */
+    private final Map<String, Path> files = new HashMap<>();
+
+    /**
+     * 包名 -> 包中的源文件,用于查找与文件名不同的非 public 类
+     */
+    private final Map<String, List<Path>> packages = new HashMap<>();
+
+    private SourceIndex() {
+    }
+
+    /**
+     * @param sources 源文件的绝对路径
+     */
+    public static SourceIndex of(List<File> sourceDirectories, Collection<String> sources) {
+        SourceIndex index = new SourceIndex();
+        List<String> sorted = new ArrayList<>(sources);
+        Collections.sort(sorted);
+        for (File sourceDirectory : sourceDirectories) {
+            String root = sourceDirectory.getAbsolutePath() + File.separator;
+            for (String source : sorted) {
+                if (!source.startsWith(root) || !source.endsWith(".java")) continue;
+                String relative = source.substring(root.length(), source.length() - ".java".length());
+                String className = relative.replace(File.separatorChar, '.');
+                int dot = className.lastIndexOf('.');
+                String packageName = dot < 0 ? "" : className.substring(0, dot);
+                Path path = Paths.get(source);
+                if (index.files.putIfAbsent(className, path) == null) {
+                    index.packages.computeIfAbsent(packageName, p -> new ArrayList<>()).add(path);
+                }
+            }
+        }
+        return index;
+    }
+
+    public Path get(String className) {
+        return files.get(className);
+    }
+
+    public List<Path> getPackage(String packageName) {
+        return packages.getOrDefault(packageName, Collections.emptyList());
+    }
+
+    public int size() {
+        return files.size();
+    }
+}
@@ -0,0 +1,108 @@
+package com.vcg.docs.solver;
+
+import com.github.javaparser.JavaParser;
+import com.github.javaparser.ParseResult;
+import com.github.javaparser.ParseStart;
+import com.github.javaparser.Providers;
+import com.github.javaparser.ast.CompilationUnit;
+import com.github.javaparser.ast.body.TypeDeclaration;
+import com.github.javaparser.resolution.UnsolvedSymbolException;
+import com.github.javaparser.resolution.declarations.ResolvedReferenceTypeDeclaration;
+import com.github.javaparser.symbolsolver.javaparser.Navigator;
+import com.github.javaparser.symbolsolver.javaparsermodel.JavaParserFacade;
+import com.github.javaparser.symbolsolver.model.resolution.SymbolReference;
+import com.github.javaparser.symbolsolver.model.resolution.TypeSolver;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.*;
+
+/**
+ * 按 {@link SourceIndex} 查找源码中类型的解析器,只解析用到的文件,不遍历目录.
+ * 解析得到的语法树放在创建时传入的 map 中,同一个线程的多个解析器共用,每个文件在一个线程中只解析一次;
+ * 类型声明和 javaparser 的解析缓存仍属于各自的解析器,不同模块的依赖互不影响.
+ */
+@Slf4j
+public class SourceTypeSolver implements TypeSolver {
+
+    private final SourceIndex index;
+
+    private final Map<Path, Optional<CompilationUnit>> parsed;
+
+    private final Map<String, SymbolReference<ResolvedReferenceTypeDeclaration>> solved = new HashMap<>();
+
+    private final JavaParser javaParser = new JavaParser();
+
+    private TypeSolver parent;
+
+    /**
+     * @param parsed 当前线程已解析的源文件,只在创建解析器的线程中使用
+     */
+    public SourceTypeSolver(SourceIndex index, Map<Path, Optional<CompilationUnit>> parsed) {
+        this.index = index;
+        this.parsed = parsed;
+    }
+
+    @Override
+    public TypeSolver getParent() {
+        return parent;
+    }
+
+    @Override
+    public void setParent(TypeSolver parent) {
+        this.parent = parent;
+    }
+
+    @Override
+    public SymbolReference<ResolvedReferenceTypeDeclaration> tryToSolveType(String name) {
+        SymbolReference<ResolvedReferenceTypeDeclaration> reference = solved.get(name);
+        if (reference == null) {
+            reference = solve(name);
+            solved.put(name, reference);
+        }
+        return reference;
+    }
+
+    @Override
+    public ResolvedReferenceTypeDeclaration solveType(String name) throws UnsolvedSymbolException {
+        SymbolReference<ResolvedReferenceTypeDeclaration> ref = tryToSolveType(name);
+        if (ref.isSolved()) {
+            return ref.getCorrespondingDeclaration();
+        }
+        throw new UnsolvedSymbolException(name);
+    }
+
+    /**
+     * 与 JavaParserTypeSolver 相同,依次把较短的前缀作为文件名,其余部分为内部类;
+     * 没有该文件时在所在包的其他文件中查找
+     */
+    private SymbolReference<ResolvedReferenceTypeDeclaration> solve(String name) {
+        String[] parts = name.split("\\.");
+        for (int i = parts.length; i > 0; i--) {
+            String typeName = String.join(".", Arrays.copyOfRange(parts, i - 1, parts.length));
+            Path file = index.get(String.join(".", Arrays.copyOfRange(parts, 0, i)));
+            List<Path> candidates = file != null ? Collections.singletonList(file)
+                    : index.getPackage(String.join(".", Arrays.copyOfRange(parts, 0, i - 1)));
+            for (Path candidate : candidates) {
+                Optional<TypeDeclaration<?>> type = parse(candidate).flatMap(cu -> Navigator.findType(cu, typeName));
+                if (type.isPresent()) {
+                    return SymbolReference.solved(JavaParserFacade.get(this).getTypeDeclaration(type.get()));
+                }
+            }
+        }
+        return SymbolReference.unsolved(ResolvedReferenceTypeDeclaration.class);
+    }
+
+    private Optional<CompilationUnit> parse(Path file) {
+        return parsed.computeIfAbsent(file, f -> {
+            try {
+                ParseResult<CompilationUnit> result = javaParser.parse(ParseStart.COMPILATION_UNIT, Providers.provider(f));
+                return result.getResult().filter(cu -> result.isSuccessful()).map(cu -> cu.setStorage(f));
+            } catch (IOException e) {
+                log.warn("Unable to parse " + f + ": " + e.getMessage());
+                return Optional.empty();
+            }
+        });
+    }
+}
@@ -0,0 +1,84 @@
+package com.vcg.docs.solver;
+
+import com.github.javaparser.ast.CompilationUnit;
+import com.github.javaparser.ast.Node;
+import com.github.javaparser.resolution.declarations.ResolvedReferenceTypeDeclaration;
+import com.github.javaparser.symbolsolver.javaparsermodel.declarations.JavaParserClassDeclaration;
+import com.github.javaparser.symbolsolver.javaparsermodel.declarations.JavaParserEnumDeclaration;
+import com.github.javaparser.symbolsolver.javaparsermodel.declarations.JavaParserInterfaceDeclaration;
+import com.github.javaparser.symbolsolver.javassistmodel.JavassistClassDeclaration;
+import com.github.javaparser.symbolsolver.javassistmodel.JavassistEnumDeclaration;
+import com.github.javaparser.symbolsolver.javassistmodel.JavassistInterfaceDeclaration;
+import javassist.CtClass;
+import javassist.NotFoundException;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.File;
+import java.lang.reflect.Field;
+import java.net.URISyntaxException;
+import java.net.URL;
+
+/**
+ * 类型所在的jar或目录,用于区分不同模块中同名类型的不同版本.
+ * jar 只取文件名,各模块 target/dependency 中同一个jar的副本视为同一来源.
+ */
+@Slf4j
+public class TypeOrigin {
+
+    private TypeOrigin() {
+    }
+
+    /**
+     * @return 源码中的类型为源码目录,字节码中的类型为jar文件名或 class 目录,jdk 中的类型为 null
+     */
+    public static String of(ResolvedReferenceTypeDeclaration typeDeclaration) {
+        if (typeDeclaration instanceof JavaParserClassDeclaration) {
+            return sourceRoot(((JavaParserClassDeclaration) typeDeclaration).getWrappedNode());
+        }
+        if (typeDeclaration instanceof JavaParserInterfaceDeclaration) {
+            return sourceRoot(((JavaParserInterfaceDeclaration) typeDeclaration).getWrappedNode());
+        }
+        if (typeDeclaration instanceof JavaParserEnumDeclaration) {
+            return sourceRoot(((JavaParserEnumDeclaration) typeDeclaration).getWrappedNode());
+        }
+        if (typeDeclaration instanceof JavassistClassDeclaration
+                || typeDeclaration instanceof JavassistInterfaceDeclaration
+                || typeDeclaration instanceof JavassistEnumDeclaration) {
+            return classFile(typeDeclaration);
+        }
+        return null;
+    }
+
+    private static String sourceRoot(Node node) {
+        return node.findCompilationUnit()
+                .flatMap(CompilationUnit::getStorage)
+                .map(storage -> storage.getSourceRoot().toAbsolutePath().toString())
+                .orElse(null);
+    }
+
+    /**
+     * javaparser 没有公开 javassist 声明中的 CtClass,与读取字段注解时一样通过反射获取
+     */
+    private static String classFile(ResolvedReferenceTypeDeclaration typeDeclaration) {
+        if (JdkTypeSolver.contains(typeDeclaration.getQualifiedName())) {
+            return null;
+        }
+        try {
+            Field field = typeDeclaration.getClass().getDeclaredField("ctClass");
+            field.setAccessible(true);
+            CtClass ctClass = (CtClass) field.get(typeDeclaration);
+            URL url = ctClass.getURL();
+            String location = url.toString();
+            if ("jar".equals(url.getProtocol())) {
+                String jar = location.substring("jar:".length(), location.indexOf("!/"));
+                return jar.substring(jar.lastIndexOf('/') + 1);
+            }
+            String resource = ctClass.getName().replace('.', '/') + ".class";
+            String path = new File(url.toURI()).getAbsolutePath().replace(File.separatorChar, '/');
+            return path.endsWith(resource) ? path.substring(0, path.length() - resource.length() - 1) : path;
+        } catch (NotFoundException | ReflectiveOperationException | URISyntaxException | RuntimeException e) {
+            log.debug("Unable to locate " + typeDeclaration.getQualifiedName() + ": " + e.getMessage());
+            return null;
+        }
+    }
+}
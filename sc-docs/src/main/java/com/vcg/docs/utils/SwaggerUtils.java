@@ -0,0 +1,65 @@
+package com.vcg.docs.utils;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import io.swagger.models.*;
+import io.swagger.util.Json;
+
+import java.util.*;
+
+public class SwaggerUtils {
+
+    public static Swagger partial() {
+        return new Swagger().paths(new TreeMap<>());
+    }
+
+    /**
+     * 将单个文件解析出的接口、标签和模型合并到模块文档中
+     */
+    public static void merge(Swagger target, Swagger partial) {
+        if (target.getPaths() == null) {
+            target.paths(new TreeMap<>());
+        }
+
+        if (partial.getPaths() != null) {
+            for (Map.Entry<String, Path> entry : partial.getPaths().entrySet()) {
+                Path path = target.getPaths().computeIfAbsent(entry.getKey(), s -> new Path());
+                for (Map.Entry<HttpMethod, Operation> operation : entry.getValue().getOperationMap().entrySet()) {
+                    path.set(operation.getKey().name().toLowerCase(), operation.getValue());
+                }
+            }
+        }
+
+        if (partial.getTags() != null) {
+            for (Tag tag : partial.getTags()) {
+                target.addTag(tag);
+            }
+        }
+
+        if (partial.getDefinitions() != null) {
+            for (Map.Entry<String, Model> entry : partial.getDefinitions().entrySet()) {
+                target.model(entry.getKey(), entry.getValue());
+            }
+        }
+    }
+
+    /**
+     * 去掉接口不再引用的模型,按接口中的引用逐层查找模型属性中的引用
+     */
+    public static void removeUnreferencedModels(Swagger swagger) {
+        Map<String, Model> definitions = swagger.getDefinitions();
+        if (definitions == null) return;
+        Set<String> referenced = new HashSet<>();
+        Deque<JsonNode> pending = new ArrayDeque<>();
+        pending.add(Json.mapper().valueToTree(swagger.getPaths()));
+        while (!pending.isEmpty()) {
+            for (String ref : pending.poll().findValuesAsText("$ref")) {
+                String name = ref.substring(ref.lastIndexOf('/') + 1);
+                Model model = definitions.get(name);
+                if (model != null && referenced.add(name)) {
+                    pending.add(Json.mapper().valueToTree(model));
+                }
+            }
+        }
+        definitions.keySet().retainAll(referenced);
+    }
+}
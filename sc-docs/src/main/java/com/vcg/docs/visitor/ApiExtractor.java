@@ -0,0 +1,40 @@
+package com.vcg.docs.visitor;
+
+import com.github.javaparser.ast.body.ClassOrInterfaceDeclaration;
+import com.github.javaparser.ast.body.MethodDeclaration;
+import io.swagger.models.Swagger;
+
+import java.util.Collections;
+import java.util.Set;
+
+/**
+ * 从类和方法上提取接口信息,由 {@link CompositeVisitorAdapter} 在一次遍历中按注解和父类型分发,
+ * 新的框架通过 {@link ApiExtractorProvider} 注册
+ */
+public interface ApiExtractor {
+
+    /**
+     * 类上带有其中任一注解时交给当前提取器处理
+     */
+    Set<String> getClassAnnotations();
+
+    /**
+     * 方法上带有其中任一注解时交给当前提取器处理,为空时处理类中的所有方法
+     */
+    Set<String> getMethodAnnotations();
+
+    /**
+     * 类继承或实现其中任一类型(简单名称)时交给当前提取器处理,如 gRPC 生成的 XxxImplBase
+     */
+    default Set<String> getClassTypes() {
+        return Collections.emptySet();
+    }
+
+    /**
+     * @return 是否处理该类中的方法
+     */
+    boolean visitClass(ClassOrInterfaceDeclaration n, Swagger swagger);
+
+    void visitMethod(MethodDeclaration n, Swagger swagger);
+
+}
@@ -0,0 +1,36 @@
+package com.vcg.docs.visitor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.ServiceLoader;
+
+/**
+ * 通过 {@link ServiceLoader} 注册的提取器,在 META-INF/services/com.vcg.docs.visitor.ApiExtractorProvider 中声明实现类,
+ * 放入 classpath 后与内置提取器在同一次遍历中执行
+ */
+public interface ApiExtractorProvider {
+
+    /**
+     * 每个模块调用一次,返回空列表表示不启用
+     *
+     * @param resolveSwaggerType 所有模块和提取器共用的类型解析器
+     */
+    List<ApiExtractor> create(ResolveSwaggerType resolveSwaggerType);
+
+    static List<ApiExtractor> load(ResolveSwaggerType resolveSwaggerType) {
+        return load(resolveSwaggerType, true);
+    }
+
+    /**
+     * @param builtIn 是否包含 {@link DefaultExtractorProvider},字节码模式下内置提取器的规则由字节码提取器执行
+     */
+    static List<ApiExtractor> load(ResolveSwaggerType resolveSwaggerType, boolean builtIn) {
+        List<ApiExtractor> extractors = new ArrayList<>();
+        for (ApiExtractorProvider provider : ServiceLoader.load(ApiExtractorProvider.class)) {
+            if (builtIn || !(provider instanceof DefaultExtractorProvider)) {
+                extractors.addAll(provider.create(resolveSwaggerType));
+            }
+        }
+        return extractors;
+    }
+}
@@ -0,0 +1,127 @@
+package com.vcg.docs.visitor;
+
+import com.github.javaparser.ast.CompilationUnit;
+import com.github.javaparser.ast.NodeList;
+import com.github.javaparser.ast.body.BodyDeclaration;
+import com.github.javaparser.ast.body.ClassOrInterfaceDeclaration;
+import com.github.javaparser.ast.body.MethodDeclaration;
+import com.github.javaparser.ast.body.TypeDeclaration;
+import com.github.javaparser.ast.expr.AnnotationExpr;
+import com.github.javaparser.ast.type.ClassOrInterfaceType;
+import com.github.javaparser.ast.visitor.VoidVisitorAdapter;
+import io.swagger.models.Swagger;
+
+import java.util.*;
+
+/**
+ * 每个 CompilationUnit 只遍历一次,按预先建立的注解索引把类和方法分发给对应的提取器
+ */
+public class CompositeVisitorAdapter extends VoidVisitorAdapter<Swagger> {
+
+    private final List<ApiExtractor> extractors;
+
+    private final Map<String, BitSet> classIndex = new HashMap<>();
+
+    private final Map<String, BitSet> typeIndex = new HashMap<>();
+
+    private final Map<String, BitSet> methodIndex = new HashMap<>();
+
+    private final BitSet allMethods = new BitSet();
+
+    public CompositeVisitorAdapter(List<ApiExtractor> extractors) {
+        this.extractors = new ArrayList<>(extractors);
+        for (int i = 0; i < this.extractors.size(); i++) {
+            ApiExtractor extractor = this.extractors.get(i);
+            for (String annotation : extractor.getClassAnnotations()) {
+                classIndex.computeIfAbsent(annotation, k -> new BitSet()).set(i);
+            }
+            for (String type : extractor.getClassTypes()) {
+                typeIndex.computeIfAbsent(type, k -> new BitSet()).set(i);
+            }
+            if (extractor.getMethodAnnotations().isEmpty()) {
+                allMethods.set(i);
+            }
+            for (String annotation : extractor.getMethodAnnotations()) {
+                methodIndex.computeIfAbsent(annotation, k -> new BitSet()).set(i);
+            }
+        }
+    }
+
+    public List<ApiExtractor> getExtractors() {
+        return extractors;
+    }
+
+    /**
+     * 所有提取器关心的类注解
+     */
+    public Set<String> getClassAnnotations() {
+        return Collections.unmodifiableSet(classIndex.keySet());
+    }
+
+    /**
+     * 所有提取器关心的父类型
+     */
+    public Set<String> getClassTypes() {
+        return Collections.unmodifiableSet(typeIndex.keySet());
+    }
+
+    @Override
+    public void visit(CompilationUnit n, Swagger swagger) {
+        for (TypeDeclaration<?> type : n.getTypes()) {
+            if (type.isClassOrInterfaceDeclaration()) {
+                visit(type.asClassOrInterfaceDeclaration(), swagger);
+            }
+        }
+    }
+
+    @Override
+    public void visit(ClassOrInterfaceDeclaration n, Swagger swagger) {
+        BitSet accepted = match(n.getAnnotations(), classIndex);
+        if (!typeIndex.isEmpty()) {
+            accepted.or(matchTypes(n.getExtendedTypes()));
+            accepted.or(matchTypes(n.getImplementedTypes()));
+        }
+        for (int i = accepted.nextSetBit(0); i >= 0; i = accepted.nextSetBit(i + 1)) {
+            if (!extractors.get(i).visitClass(n, swagger)) {
+                accepted.clear(i);
+            }
+        }
+
+        for (BodyDeclaration<?> member : n.getMembers()) {
+            if (member.isMethodDeclaration()) {
+                if (accepted.isEmpty()) continue;
+                MethodDeclaration method = member.asMethodDeclaration();
+                BitSet matched = match(method.getAnnotations(), methodIndex);
+                matched.or(allMethods);
+                matched.and(accepted);
+                for (int i = matched.nextSetBit(0); i >= 0; i = matched.nextSetBit(i + 1)) {
+                    extractors.get(i).visitMethod(method, swagger);
+                }
+            } else if (member.isClassOrInterfaceDeclaration()) {
+                visit(member.asClassOrInterfaceDeclaration(), swagger);
+            }
+        }
+    }
+
+    private BitSet match(NodeList<AnnotationExpr> annotations, Map<String, BitSet> index) {
+        BitSet matched = new BitSet();
+        for (AnnotationExpr annotation : annotations) {
+            BitSet bitSet = index.get(annotation.getNameAsString());
+            if (bitSet != null) {
+                matched.or(bitSet);
+            }
+        }
+        return matched;
+    }
+
+    private BitSet matchTypes(NodeList<ClassOrInterfaceType> types) {
+        BitSet matched = new BitSet();
+        for (ClassOrInterfaceType type : types) {
+            BitSet bitSet = typeIndex.get(type.getNameAsString());
+            if (bitSet != null) {
+                matched.or(bitSet);
+            }
+        }
+        return matched;
+    }
+}
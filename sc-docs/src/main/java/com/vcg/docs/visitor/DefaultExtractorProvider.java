@@ -0,0 +1,21 @@
+package com.vcg.docs.visitor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 内置的 JAX-RS, Spring MVC 和 Dubbo 提取器,Dubbo 需要 -Ddocs.dubbo=true 开启
+ */
+public class DefaultExtractorProvider implements ApiExtractorProvider {
+
+    @Override
+    public List<ApiExtractor> create(ResolveSwaggerType resolveSwaggerType) {
+        List<ApiExtractor> extractors = new ArrayList<>();
+        extractors.add(new JavaxRsVisitorAdapter(resolveSwaggerType));
+        extractors.add(new RestVisitorAdapter(resolveSwaggerType));
+        if (Boolean.getBoolean("docs.dubbo")) {
+            extractors.add(new DubboVisitorAdapter(resolveSwaggerType));
+        }
+        return extractors;
+    }
+}
@@ -0,0 +1,129 @@
+package com.vcg.docs.visitor;
+
+import com.github.javaparser.ast.NodeList;
+import com.github.javaparser.ast.body.ClassOrInterfaceDeclaration;
+import com.github.javaparser.ast.body.MethodDeclaration;
+import com.github.javaparser.ast.body.Parameter;
+import com.github.javaparser.ast.expr.AnnotationExpr;
+import com.github.javaparser.ast.type.ClassOrInterfaceType;
+import com.github.javaparser.ast.type.Type;
+import com.github.javaparser.ast.visitor.VoidVisitorAdapter;
+import com.vcg.docs.domain.Request;
+import com.vcg.docs.mapping.ApiMapping;
+import io.swagger.models.Model;
+import io.swagger.models.Swagger;
+import io.swagger.models.parameters.BodyParameter;
+import io.swagger.models.properties.Property;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+
+@Slf4j
+public class DubboVisitorAdapter extends VoidVisitorAdapter<Swagger> implements ApiExtractor {
+
+    private final ResolveSwaggerType resolveSwaggerType;
+
+    private final Set<String> services = Collections.singleton("Service");
+
+    public DubboVisitorAdapter() {
+        this(new ResolveSwaggerType());
+    }
+
+    /**
+     * @param resolveSwaggerType 多个提取器共用的类型解析结果
+     */
+    public DubboVisitorAdapter(ResolveSwaggerType resolveSwaggerType) {
+        this.resolveSwaggerType = resolveSwaggerType;
+    }
+
+    @Override
+    public void visit(MethodDeclaration n, Swagger swagger) {
+        visitMethod(n, swagger);
+        super.visit(n, swagger);
+    }
+
+    @Override
+    public void visitMethod(MethodDeclaration n, Swagger swagger) {
+        Request request = new Request();
+        ClassOrInterfaceDeclaration classOrInterfaceDeclaration = (ClassOrInterfaceDeclaration) n.getParentNode().get();
+        parse(classOrInterfaceDeclaration, n, request);
+        ApiMapping.addOperation(swagger, request, null);
+    }
+
+
+    @Override
+    public void visit(ClassOrInterfaceDeclaration n, Swagger swagger) {
+        if (visitClass(n, swagger)) {
+            super.visit(n, swagger);
+        }
+    }
+
+    @Override
+    public boolean visitClass(ClassOrInterfaceDeclaration n, Swagger swagger) {
+        for (AnnotationExpr annotation : n.getAnnotations()) {
+            if (!services.contains(annotation.getNameAsString())) continue;
+            String id = annotation.resolve().getId();
+            if ("com.alibaba.dubbo.config.annotation.Service".equals(id)) {
+                swagger.tag(ApiMapping.tag(n.getNameAsString(), n.getJavadoc()));
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public Set<String> getClassAnnotations() {
+        return services;
+    }
+
+    @Override
+    public Set<String> getMethodAnnotations() {
+        return Collections.emptySet();
+    }
+
+    private void parse(ClassOrInterfaceDeclaration classOrInterfaceDeclaration, MethodDeclaration n, Request request) {
+        request.setClazzSimpleName(classOrInterfaceDeclaration.getNameAsString());
+        request.setParentPath(request.getClazzSimpleName());
+        request.setMethodName(n.getNameAsString());
+        n.getJavadoc().ifPresent(c -> ApiMapping.parseMethodComment(c, request));
+        parseMethodParameters(n, request);
+        parseReturnType(n, request);
+    }
+
+    private void parseMethodParameters(MethodDeclaration n, Request request) {
+        request.getConsumes().add("application/dubbo");
+        request.getMethods().add("post");
+        request.getPaths().add(n.getNameAsString());
+        boolean bodyFlag = false;
+        for (Parameter parameter : n.getParameters()) {
+            Property property = resolveSwaggerType.resolve(parameter.getType());
+            io.swagger.models.parameters.Parameter param = ApiMapping.dubboParameter(parameter.getNameAsString(), property,
+                    bodyFlag, resolveSwaggerType::convertToModel, request);
+            bodyFlag |= param instanceof BodyParameter;
+            request.getParameters().add(param);
+        }
+
+    }
+
+    private void parseReturnType(MethodDeclaration n, Request request) {
+        Type type = n.getType();
+        if (type.isVoidType()) {
+            return;
+        }
+
+        ApiMapping.returnType(resolveSwaggerType.resolve(type), request);
+    }
+
+    public String resolveImplementedName(ClassOrInterfaceDeclaration n) {
+        NodeList<ClassOrInterfaceType> implementedTypes = n.getImplementedTypes();
+        if (n.getImplementedTypes().isEmpty()) return null;
+        return implementedTypes.get(0).resolve().getQualifiedName();
+    }
+
+    public Map<String, Model> getModelMap() {
+        return resolveSwaggerType.getModelMap();
+    }
+
+}
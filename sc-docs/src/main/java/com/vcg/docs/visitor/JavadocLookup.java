@@ -0,0 +1,18 @@
+package com.vcg.docs.visitor;
+
+import com.github.javaparser.javadoc.Javadoc;
+
+import java.util.Optional;
+
+/**
+ * 没有源码声明的类型的注释,如字节码模式下模块自身的类,由 {@link ResolveTrace#setJavadocs} 指定
+ */
+public interface JavadocLookup {
+
+    /**
+     * @param className 类全名,内部类以 $ 分隔
+     */
+    Optional<Javadoc> type(String className);
+
+    Optional<Javadoc> field(String className, String fieldName);
+}
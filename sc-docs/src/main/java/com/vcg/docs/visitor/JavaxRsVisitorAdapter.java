@@ -0,0 +1,122 @@
+package com.vcg.docs.visitor;
+
+import com.github.javaparser.ast.body.ClassOrInterfaceDeclaration;
+import com.github.javaparser.ast.body.MethodDeclaration;
+import com.github.javaparser.ast.body.Parameter;
+import com.github.javaparser.ast.expr.AnnotationExpr;
+import com.github.javaparser.ast.type.Type;
+import com.github.javaparser.ast.visitor.VoidVisitorAdapter;
+import com.vcg.docs.domain.Request;
+import com.vcg.docs.mapping.ApiMapping;
+import io.swagger.models.Model;
+import io.swagger.models.Swagger;
+import io.swagger.models.properties.Property;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+@Slf4j
+public class JavaxRsVisitorAdapter extends VoidVisitorAdapter<Swagger> implements ApiExtractor {
+
+    private final ResolveSwaggerType resolveSwaggerType;
+
+    public JavaxRsVisitorAdapter() {
+        this(new ResolveSwaggerType());
+    }
+
+    /**
+     * @param resolveSwaggerType 多个提取器共用的类型解析结果
+     */
+    public JavaxRsVisitorAdapter(ResolveSwaggerType resolveSwaggerType) {
+        this.resolveSwaggerType = resolveSwaggerType;
+    }
+
+    @Override
+    public void visit(MethodDeclaration n, Swagger swagger) {
+        List<AnnotationExpr> annotationExprs = n.getAnnotations()
+                .stream()
+                .filter(a -> ApiMapping.JAXRS_MAPPINGS.contains(a.getNameAsString()))
+                .collect(Collectors.toList());
+
+        if (annotationExprs.isEmpty()) return;
+
+        visitMethod(n, swagger);
+        super.visit(n, swagger);
+    }
+
+    @Override
+    public void visitMethod(MethodDeclaration n, Swagger swagger) {
+        Request request = new Request();
+        parse((ClassOrInterfaceDeclaration) n.getParentNode().get(), n, request);
+        ApiMapping.addOperation(swagger, request, "get");
+    }
+
+
+    @Override
+    public void visit(ClassOrInterfaceDeclaration n, Swagger swagger) {
+        List<AnnotationExpr> annotationExprs = n.getAnnotations()
+                .stream()
+                .filter(a -> ApiMapping.JAXRS_CONTROLLERS.contains(a.getNameAsString()))
+                .collect(Collectors.toList());
+
+        if (annotationExprs.isEmpty()) return;
+        visitClass(n, swagger);
+        super.visit(n, swagger);
+
+    }
+
+    @Override
+    public boolean visitClass(ClassOrInterfaceDeclaration n, Swagger swagger) {
+        swagger.addTag(ApiMapping.tag(n.getNameAsString(), n.getJavadoc()));
+        return true;
+    }
+
+    @Override
+    public Set<String> getClassAnnotations() {
+        return ApiMapping.JAXRS_CONTROLLERS;
+    }
+
+    @Override
+    public Set<String> getMethodAnnotations() {
+        return ApiMapping.JAXRS_MAPPINGS;
+    }
+
+    private void parse(ClassOrInterfaceDeclaration classOrInterfaceDeclaration, MethodDeclaration n, Request request) {
+        request.setClazzSimpleName(classOrInterfaceDeclaration.getNameAsString());
+        request.setMethodName(n.getNameAsString());
+        n.getJavadoc().ifPresent(c -> ApiMapping.parseMethodComment(c, request));
+        ApiMapping.parseJaxRsMapping(SourceAnnotation.of(classOrInterfaceDeclaration.getAnnotations(), resolveSwaggerType),
+                SourceAnnotation.of(n.getAnnotations(), resolveSwaggerType), request);
+        parseMethodParameters(n, request);
+        parseReturnType(n, request);
+    }
+
+    private void parseMethodParameters(MethodDeclaration n, Request request) {
+        for (Parameter parameter : n.getParameters()) {
+            if (ApiMapping.isServletType(parameter.getType().toString())) {
+                continue;
+            }
+            Property property = resolveSwaggerType.resolve(parameter.getType());
+            request.getParameters().add(ApiMapping.parameter(true, parameter.getNameAsString(),
+                    SourceAnnotation.of(parameter.getAnnotations(), resolveSwaggerType), property,
+                    resolveSwaggerType::convertToModel, request));
+        }
+    }
+
+    private void parseReturnType(MethodDeclaration n, Request request) {
+        Type type = n.getType();
+        if (type.isVoidType()) {
+            return;
+        }
+
+        ApiMapping.returnType(resolveSwaggerType.resolve(type), request);
+    }
+
+    public Map<String, Model> getModelMap() {
+        return resolveSwaggerType.getModelMap();
+    }
+
+}
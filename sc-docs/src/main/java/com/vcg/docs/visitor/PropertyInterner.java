@@ -0,0 +1,167 @@
+package com.vcg.docs.visitor;
+
+import io.swagger.models.properties.*;
+import io.swagger.util.Json;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 模型字段去重,结构相同的字段属性和描述文本共用一个实例.
+ * 如 Page«User» 和 Page«Order» 中的分页字段只保留一份.
+ * 只处理不包含对象类型的属性,对象类型的相等比较会遍历整个模型.
+ * 按放入时的字段值去重,包括 json 中不输出的 name 和 required,共用的实例不能再修改,需要修改时使用 {@link #copy(Property)}.
+ * 只处理所有字段都能列出的属性类型,其他类型原样返回.
+ */
+public class PropertyInterner {
+
+    private static final boolean ENABLED = Boolean.parseBoolean(System.getProperty("docs.intern", "true"));
+
+    /**
+     * 字段都在 {@link #key} 中列出的属性类型
+     */
+    private static final Set<Class<?>> LEAVES = new HashSet<>(Arrays.asList(StringProperty.class,
+            IntegerProperty.class, LongProperty.class, FloatProperty.class, DoubleProperty.class, BooleanProperty.class,
+            ByteArrayProperty.class, FileProperty.class, RefProperty.class, ArrayProperty.class, MapProperty.class));
+
+    /**
+     * 属性的字段值 -> 共用的实例
+     */
+    private final Map<String, Property> properties = new ConcurrentHashMap<>();
+
+    private final Map<String, String> strings = new ConcurrentHashMap<>();
+
+    private final AtomicLong hits = new AtomicLong();
+
+    private final AtomicLong misses = new AtomicLong();
+
+    public static boolean isEnabled() {
+        return ENABLED;
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    public int size() {
+        return properties.size();
+    }
+
+    /**
+     * 返回共用的实例,调用方之后不能再修改该属性
+     */
+    public Property intern(Property property) {
+        if (!isEnabled() || !isLeaf(property)) {
+            return property;
+        }
+        property.setDescription(intern(property.getDescription()));
+        String key = key(property, new StringBuilder()).toString();
+        Property interned = properties.putIfAbsent(key, property);
+        if (interned == null) {
+            misses.incrementAndGet();
+            return property;
+        }
+        hits.incrementAndGet();
+        return interned;
+    }
+
+    public String intern(String value) {
+        if (value == null || !isEnabled()) {
+            return value;
+        }
+        String interned = strings.putIfAbsent(value, value);
+        return interned == null ? value : interned;
+    }
+
+    /**
+     * 修改共用的属性前复制一份,如翻译描述,json 中不输出的 name 和 required 单独复制
+     */
+    public static Property copy(Property property) {
+        if (property == null) {
+            return null;
+        }
+        Property copy = Json.mapper().convertValue(Json.mapper().valueToTree(property), Property.class);
+        copy.setName(property.getName());
+        copy.setRequired(property.getRequired());
+        return copy;
+    }
+
+    private boolean isLeaf(Property property) {
+        if (property == null || !LEAVES.contains(property.getClass())) {
+            return false;
+        }
+        if (property instanceof ArrayProperty) {
+            return isLeaf(((ArrayProperty) property).getItems());
+        }
+        if (property instanceof MapProperty) {
+            return isLeaf(((MapProperty) property).getAdditionalProperties());
+        }
+        return true;
+    }
+
+    /**
+     * 按字段拼接的去重 key,描述文本已经去重,只比较内容
+     */
+    private static StringBuilder key(Property property, StringBuilder sb) {
+        if (property == null) {
+            return sb.append("null");
+        }
+        sb.append(property.getClass().getSimpleName())
+                .append('|').append(property.getType())
+                .append('|').append(property.getFormat())
+                .append('|').append(property.getName())
+                .append('|').append(property.getRequired())
+                .append('|').append(property.getReadOnly())
+                .append('|').append(property.getAllowEmptyValue())
+                .append('|').append(property.getAccess())
+                .append('|').append(property.getPosition())
+                .append('|').append(property.getTitle())
+                .append('|').append(property.getExample())
+                .append('|').append(property.getXml())
+                .append('|').append(property.getVendorExtensions() == null ? null : new TreeMap<>(property.getVendorExtensions()))
+                .append('|').append(property.getDescription());
+        if (property instanceof StringProperty) {
+            StringProperty stringProperty = (StringProperty) property;
+            sb.append('|').append(stringProperty.getEnum())
+                    .append('|').append(stringProperty.getDefault())
+                    .append('|').append(stringProperty.getPattern())
+                    .append('|').append(stringProperty.getMinLength())
+                    .append('|').append(stringProperty.getMaxLength());
+        } else if (property instanceof AbstractNumericProperty) {
+            AbstractNumericProperty numericProperty = (AbstractNumericProperty) property;
+            sb.append('|').append(numericProperty.getMinimum())
+                    .append('|').append(numericProperty.getMaximum())
+                    .append('|').append(numericProperty.getExclusiveMinimum())
+                    .append('|').append(numericProperty.getExclusiveMaximum());
+            if (property instanceof IntegerProperty) {
+                sb.append('|').append(((IntegerProperty) property).getDefault());
+            } else if (property instanceof LongProperty) {
+                sb.append('|').append(((LongProperty) property).getDefault());
+            } else if (property instanceof FloatProperty) {
+                sb.append('|').append(((FloatProperty) property).getDefault());
+            } else if (property instanceof DoubleProperty) {
+                sb.append('|').append(((DoubleProperty) property).getDefault());
+            }
+        } else if (property instanceof BooleanProperty) {
+            sb.append('|').append(((BooleanProperty) property).getDefault());
+        } else if (property instanceof RefProperty) {
+            sb.append('|').append(((RefProperty) property).get$ref());
+        } else if (property instanceof ArrayProperty) {
+            ArrayProperty arrayProperty = (ArrayProperty) property;
+            sb.append('|').append(arrayProperty.getUniqueItems())
+                    .append('|').append(arrayProperty.getMinItems())
+                    .append('|').append(arrayProperty.getMaxItems())
+                    .append("|[");
+            key(arrayProperty.getItems(), sb).append(']');
+        } else if (property instanceof MapProperty) {
+            sb.append("|{");
+            key(((MapProperty) property).getAdditionalProperties(), sb).append('}');
+        }
+        return sb;
+    }
+}
@@ -0,0 +1,1375 @@
+package com.vcg.docs.visitor;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.github.javaparser.ast.CompilationUnit;
+import com.github.javaparser.ast.ImportDeclaration;
+import com.github.javaparser.ast.Node;
+import com.github.javaparser.ast.NodeList;
+import com.github.javaparser.ast.body.ClassOrInterfaceDeclaration;
+import com.github.javaparser.ast.body.EnumConstantDeclaration;
+import com.github.javaparser.ast.body.EnumDeclaration;
+import com.github.javaparser.ast.body.FieldDeclaration;
+import com.github.javaparser.ast.expr.*;
+import com.github.javaparser.ast.type.Type;
+import com.github.javaparser.javadoc.Javadoc;
+import com.github.javaparser.resolution.UnsolvedSymbolException;
+import com.github.javaparser.resolution.declarations.ResolvedEnumConstantDeclaration;
+import com.github.javaparser.resolution.declarations.ResolvedFieldDeclaration;
+import com.github.javaparser.resolution.declarations.ResolvedReferenceTypeDeclaration;
+import com.github.javaparser.resolution.declarations.ResolvedTypeParameterDeclaration;
+import com.github.javaparser.resolution.types.ResolvedReferenceType;
+import com.github.javaparser.resolution.types.ResolvedType;
+import com.github.javaparser.resolution.types.ResolvedTypeVariable;
+import com.github.javaparser.symbolsolver.javaparsermodel.declarations.JavaParserClassDeclaration;
+import com.github.javaparser.symbolsolver.javaparsermodel.declarations.JavaParserEnumDeclaration;
+import com.github.javaparser.symbolsolver.javaparsermodel.declarations.JavaParserFieldDeclaration;
+import com.github.javaparser.symbolsolver.javaparsermodel.declarations.JavaParserInterfaceDeclaration;
+import com.github.javaparser.symbolsolver.javassistmodel.JavassistClassDeclaration;
+import com.github.javaparser.symbolsolver.javassistmodel.JavassistEnumDeclaration;
+import com.github.javaparser.symbolsolver.javassistmodel.JavassistFieldDeclaration;
+import com.github.javaparser.symbolsolver.javassistmodel.JavassistInterfaceDeclaration;
+import com.github.javaparser.symbolsolver.model.resolution.TypeSolver;
+import com.github.javaparser.symbolsolver.model.typesystem.ReferenceTypeImpl;
+import com.github.javaparser.symbolsolver.reflectionmodel.ReflectionFieldDeclaration;
+import com.github.javaparser.symbolsolver.reflectionmodel.ReflectionClassDeclaration;
+import com.github.javaparser.symbolsolver.reflectionmodel.ReflectionInterfaceDeclaration;
+import com.github.javaparser.utils.Pair;
+import com.vcg.docs.cache.ModelPack;
+import com.vcg.docs.metrics.ResolveProfile;
+import com.vcg.docs.scan.ConstantTable;
+import com.vcg.docs.solver.JdkTypeSolver;
+import com.vcg.docs.solver.TypeOrigin;
+import io.swagger.models.ArrayModel;
+import io.swagger.models.Model;
+import io.swagger.models.ModelImpl;
+import io.swagger.models.RefModel;
+import io.swagger.models.properties.*;
+import javassist.CtField;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+
+import javax.validation.constraints.NotNull;
+import java.io.IOException;
+import java.io.Reader;
+import java.lang.reflect.Field;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+@Slf4j
+public class ResolveSwaggerType {
+
+    private Map<String, Property> propertyMap = new ConcurrentHashMap<>();
+
+    /**
+     * 已解析完成的类型,key 见 {@link #registryKey(ResolvedReferenceType)}
+     */
+    private final Map<String, Resolved> resolvedMap = new ConcurrentHashMap<>();
+
+    /**
+     * 类型 -> 该类型及其父类的全部属性,子类直接合并,不再逐个解析父类
+     */
+    private final Map<String, Map<String, Property>> inheritedMap = new ConcurrentHashMap<>();
+
+    /**
+     * 当前线程一次 {@link #resolve(Type)} 中新遇到的类型
+     */
+    private final ThreadLocal<Session> sessions = new ThreadLocal<>();
+
+    /**
+     * 从接口参数或返回值开始,超过该层数的新类型不再展开
+     */
+    private static final int MAX_DEPTH = Integer.getInteger("docs.maxDepth", 64);
+
+    /**
+     * 单个类型解析字段的时间上限,超过后剩余字段不再解析
+     */
+    private static final long TYPE_BUDGET_MS = Long.getLong("docs.typeBudgetMs", 10000L);
+
+    private final PropertyInterner interner = new PropertyInterner();
+
+    /**
+     * 开启 docs.profile 时按类型统计解析耗时
+     */
+    private ResolveProfile profile;
+
+    private final SourceFallback fallback = new SourceFallback(BASE_TYPES);
+
+    private ConstantTable constants = new ConstantTable();
+
+    /**
+     * 无法解析的类型,key 为类型名称和所在文件的包名、导入,再次遇到时不再解析
+     */
+    private final Map<String, Unresolved> unresolvedMap = new ConcurrentHashMap<>();
+
+    /**
+     * 源文件 -> 包名和导入,每个文件只拼接一次
+     */
+    private final Map<java.nio.file.Path, String> importKeys = new ConcurrentHashMap<>();
+
+    private final AtomicLong hits = new AtomicLong();
+
+    private final AtomicLong misses = new AtomicLong();
+
+    private static final ThreadLocal<ResolveTrace> TRACE = new ThreadLocal<>();
+
+    public static ResolveTrace startTrace() {
+        ResolveTrace trace = new ResolveTrace();
+        TRACE.set(trace);
+        return trace;
+    }
+
+    public static void stopTrace() {
+        TRACE.remove();
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    public PropertyInterner getInterner() {
+        return interner;
+    }
+
+    public void setProfile(ResolveProfile profile) {
+        this.profile = profile;
+    }
+
+    /**
+     * 源码中所有文件,类型无法解析时按文件名查找源码生成模型
+     */
+    public void setSources(Collection<String> sources) {
+        fallback.setSources(sources);
+    }
+
+    /**
+     * 项目中的字符串常量,供提取器解析注解中引用的常量
+     */
+    public void setConstants(ConstantTable constants) {
+        this.constants = constants;
+    }
+
+    public ConstantTable getConstants() {
+        return constants;
+    }
+
+    /**
+     * 解析注解中引用的常量,查找过的常量名记录到当前文件
+     */
+    public String resolveConstant(Expression expression) {
+        ResolveTrace trace = TRACE.get();
+        return constants.resolve(expression, trace == null ? null : trace.getConstants());
+    }
+
+    public Property resolve(Type type) {
+        ResolveTrace trace = TRACE.get();
+        if (trace != null) {
+            trace.resolved();
+        }
+        String key = unresolvedMap.isEmpty() ? null : unresolvedKey(type);
+        Unresolved unresolved = key == null ? null : unresolvedMap.get(key);
+        if (unresolved != null) {
+            if (profile != null) {
+                profile.hit(key);
+                profile(unresolved, controller(type));
+            }
+            return unresolved.replay();
+        }
+
+        Session session = new Session();
+        sessions.set(session);
+        try {
+            Property property = resolve(type.resolve());
+            drain(session);
+            publish(session);
+            replay(session, trace);
+            if (profile != null) {
+                profile(session, controller(type));
+            }
+            return property;
+        } catch (Exception e) {
+            unresolved = new Unresolved(type);
+            String position = type.findCompilationUnit()
+                    .flatMap(CompilationUnit::getStorage)
+                    .map(storage -> storage.getFileName() + type.getBegin().map(p -> ":" + p.line).orElse(""))
+                    .orElse("");
+            log.warn("Unable to resolve " + type + " " + position + ", using fields from source: " + e);
+            unresolvedMap.putIfAbsent(key != null ? key : unresolvedKey(type), unresolved);
+            if (profile != null) {
+                profile(unresolved, controller(type));
+            }
+            return unresolved.replay();
+        } finally {
+            sessions.remove();
+        }
+    }
+
+    /**
+     * 解析字节码中方法签名上的类型,无法解析时输出为 object
+     *
+     * @param controller 所在接口类的简单名称
+     */
+    public Property resolve(ResolvedType resolvedType, String controller) {
+        ResolveTrace trace = TRACE.get();
+        if (trace != null) {
+            trace.resolved();
+        }
+        Session session = new Session();
+        sessions.set(session);
+        try {
+            Property property = resolve(resolvedType);
+            drain(session);
+            publish(session);
+            replay(session, trace);
+            if (profile != null) {
+                profile(session, controller);
+            }
+            return property;
+        } catch (Exception e) {
+            log.warn("Unable to resolve " + resolvedType.describe() + " of " + controller + ": " + e);
+            return new ObjectProperty();
+        } finally {
+            sessions.remove();
+        }
+    }
+
+    /**
+     * 与 {@link #replay(Session, ResolveTrace)} 一样按引用关系记录接口类,
+     * 命中缓存的类型引用到的类型同样记录
+     */
+    private void profile(Session session, String controller) {
+        Set<String> visited = new HashSet<>();
+        Deque<String> keys = new ArrayDeque<>(session.roots);
+        while (!keys.isEmpty()) {
+            String key = keys.poll();
+            if (!visited.add(key)) continue;
+            profile.controller(key, controller);
+            Resolved resolved = lookup(session, key);
+            if (resolved != null) {
+                keys.addAll(resolved.dependencies);
+            }
+        }
+    }
+
+    /**
+     * 无法解析的类型按源码中用到的模型名称记录
+     */
+    private void profile(Unresolved unresolved, String controller) {
+        for (SourceFallback.Model model : unresolved.models.values()) {
+            profile.controller(model.getName(), controller);
+        }
+    }
+
+    private static String controller(Type type) {
+        return type.getAncestorOfType(ClassOrInterfaceDeclaration.class)
+                .map(ClassOrInterfaceDeclaration::getNameAsString)
+                .orElse("");
+    }
+
+    /**
+     * 解析jar中的类型,用于生成模型包
+     */
+    public Property resolve(ResolvedReferenceTypeDeclaration typeDeclaration, TypeSolver typeSolver) {
+        Session session = new Session();
+        sessions.set(session);
+        try {
+            Property property = resolve(new ReferenceTypeImpl(typeDeclaration, typeSolver));
+            drain(session);
+            publish(session);
+            return property;
+        } catch (Exception e) {
+            log.warn("Unable to resolve " + typeDeclaration.getQualifiedName() + ": " + e);
+        } finally {
+            sessions.remove();
+        }
+        return new ObjectProperty();
+    }
+
+    /**
+     * 已完整解析的类型及其模型,引用到的类型同样完整解析,可以单独保存
+     *
+     * @param origin 只导出该jar中且引用到的类型也都在该jar中的类型,key 中不再包含jar名称
+     */
+    public List<ModelPack.Entry> exportModels(String origin) {
+        String suffix = "@" + origin;
+        Set<String> excluded = new HashSet<>();
+        for (Resolved resolved : resolvedMap.values()) {
+            if (resolved.truncated || !resolved.key.endsWith(suffix)) {
+                excluded.add(resolved.key);
+            }
+        }
+        boolean changed = true;
+        while (changed) {
+            changed = false;
+            for (Resolved resolved : resolvedMap.values()) {
+                if (!excluded.contains(resolved.key) && resolved.dependencies.stream()
+                        .anyMatch(dependency -> excluded.contains(dependency) || !resolvedMap.containsKey(dependency))) {
+                    excluded.add(resolved.key);
+                    changed = true;
+                }
+            }
+        }
+
+        List<ModelPack.Entry> entries = new ArrayList<>();
+        for (Resolved resolved : new TreeMap<>(resolvedMap).values()) {
+            if (excluded.contains(resolved.key)) continue;
+            for (Map.Entry<String, Property> model : resolved.trace.getModels().entrySet()) {
+                if (model.getValue() == resolved.property) {
+                    ModelPack.Entry entry = new ModelPack.Entry();
+                    entry.setKey(StringUtils.removeEnd(resolved.key, suffix));
+                    entry.setName(model.getKey());
+                    entry.setModel(toModel(resolved.property));
+                    for (String dependency : resolved.dependencies) {
+                        entry.getDependencies().add(StringUtils.removeEnd(dependency, suffix));
+                    }
+                    entries.add(entry);
+                    break;
+                }
+            }
+        }
+        return entries;
+    }
+
+    /**
+     * 加载模型包,包中的类型不再解析
+     *
+     * @param origin 与模型包内容相同的jar的文件名,与解析到的类型的 key 一致
+     */
+    public void load(ModelPack pack, String origin) {
+        String suffix = "@" + origin;
+        for (ModelPack.Entry entry : pack.getEntries()) {
+            Property property = toProperty(entry.getName(), entry.getModel());
+            if (property == null) continue;
+            String key = entry.getKey() + suffix;
+            Resolved resolved = new Resolved(key, null, 0, property);
+            resolved.filled = true;
+            resolved.trace.getModels().put(entry.getName(), property);
+            for (String dependency : entry.getDependencies()) {
+                resolved.dependencies.add(dependency + suffix);
+            }
+            if (resolvedMap.putIfAbsent(key, resolved) == null && property instanceof ObjectProperty) {
+                inheritedMap.putIfAbsent(key, Collections.unmodifiableMap(
+                        new LinkedHashMap<>(((ObjectProperty) property).getProperties())));
+            }
+        }
+    }
+
+    private Property toProperty(String name, Model model) {
+        if (!(model instanceof ModelImpl)) return null;
+        ModelImpl modelImpl = (ModelImpl) model;
+        if (modelImpl.getEnum() != null) {
+            return new StringProperty()._enum(new ArrayList<>(modelImpl.getEnum()));
+        }
+        ObjectProperty objectProperty = new ObjectProperty().name(name);
+        objectProperty.setProperties(modelImpl.getProperties() == null
+                ? new LinkedHashMap<>() : new LinkedHashMap<>(modelImpl.getProperties()));
+        objectProperty.description(modelImpl.getDescription());
+        return objectProperty;
+    }
+
+    /**
+     * 同一个类型名称在不同包或不同导入下可能是不同的类型
+     */
+    private String unresolvedKey(Type type) {
+        String context = type.findCompilationUnit()
+                .map(cu -> cu.getStorage()
+                        .map(storage -> importKeys.computeIfAbsent(storage.getPath(), path -> importKey(cu)))
+                        .orElseGet(() -> importKey(cu)))
+                .orElse("");
+        return type.asString() + "@" + context;
+    }
+
+    private static String importKey(CompilationUnit cu) {
+        StringBuilder sb = new StringBuilder(cu.getPackageDeclaration().map(p -> p.getNameAsString()).orElse(""));
+        for (ImportDeclaration importDeclaration : cu.getImports()) {
+            sb.append(";").append(importDeclaration.getNameAsString());
+            if (importDeclaration.isStatic()) sb.append(":static");
+            if (importDeclaration.isAsterisk()) sb.append(".*");
+        }
+        return sb.toString();
+    }
+
+    private Property resolve(ResolvedType resolvedType) {
+        Property property = resolveBaseType(baseTypeName(resolvedType));
+        if (property != null) {
+            return property;
+        }
+
+
+        if (resolvedType.isReferenceType()) {
+            return resolveRefProperty(resolvedType.asReferenceType());
+        }
+
+
+        if (resolvedType.isArray()) {
+            Property resolve = resolve(resolvedType.asArrayType().getComponentType());
+            if (resolve instanceof ObjectProperty && resolve.getName() != null) {
+                return new ArrayProperty(new RefProperty("#/definitions/" + resolve.getName()));
+            }
+            return new ArrayProperty(resolve);
+        }
+
+
+        return new ObjectProperty();
+    }
+
+    private String baseTypeName(ResolvedType resolvedType) {
+        if (resolvedType instanceof ReferenceTypeImpl) {
+            return ((ReferenceTypeImpl) resolvedType).getId();
+        }
+        return resolvedType.describe();
+    }
+
+    /**
+     * 模型和枚举只登记并放入待解析队列,字段在 {@link #drain(Session)} 中逐个解析,
+     * 引用到已登记的类型时直接返回同一个对象,输出时为 $ref,调用栈深度与类型层数无关
+     */
+    private Property resolveRefProperty(ResolvedReferenceType resolvedReferenceType) {
+        ResolvedReferenceTypeDeclaration typeDeclaration = resolvedReferenceType.getTypeDeclaration();
+        if (!isModel(typeDeclaration) && !isEnum(typeDeclaration)) {
+            return resolveInline(resolvedReferenceType);
+        }
+
+        Session session = sessions.get();
+        Resolved current = session.filling.peek();
+        String key = registryKey(resolvedReferenceType);
+        Resolved resolved = lookup(session, key);
+        if (resolved != null) {
+            hit(key);
+        } else {
+            int depth = current == null ? 0 : current.depth + 1;
+            if (depth > MAX_DEPTH) {
+                log.debug("Skipping " + key + ", deeper than " + MAX_DEPTH);
+                if (current != null) {
+                    current.truncated = true;
+                }
+                return new ObjectProperty();
+            }
+            miss(key, depth);
+            if (isEnum(typeDeclaration)) {
+                resolved = new Resolved(key, null, depth, null);
+                session.resolved.put(key, resolved);
+                session.filling.push(resolved);
+                try {
+                    resolved.property = resolveEnum(typeDeclaration);
+                } finally {
+                    session.filling.pop();
+                }
+                resolved.filled = true;
+            } else {
+                resolved = new Resolved(key, resolvedReferenceType, depth, new ObjectProperty().name(modelName(resolvedReferenceType)));
+                session.resolved.put(key, resolved);
+                session.worklist.add(resolved);
+            }
+        }
+
+        addDependency(session, key);
+        return copy(resolved.property);
+    }
+
+    /**
+     * 类型全名加上类型及泛型参数所在的jar或源码目录,如 com.demo.Page<com.demo.User>@demo-api-1.0.jar,
+     * 不同模块依赖同名类型的不同版本时分开登记
+     */
+    static String registryKey(ResolvedReferenceType resolvedReferenceType) {
+        Set<String> origins = new LinkedHashSet<>();
+        addOrigins(resolvedReferenceType, origins, 0);
+        String key = resolvedReferenceType.describe();
+        return origins.isEmpty() ? key : key + "@" + String.join(",", origins);
+    }
+
+    private static void addOrigins(ResolvedReferenceType resolvedReferenceType, Set<String> origins, int depth) {
+        String origin = TypeOrigin.of(resolvedReferenceType.getTypeDeclaration());
+        if (origin != null) {
+            origins.add(origin);
+        }
+        if (depth >= MAX_DEPTH) return;
+        for (ResolvedType typeParameter : resolvedReferenceType.typeParametersValues()) {
+            if (typeParameter.isReferenceType()) {
+                addOrigins(typeParameter.asReferenceType(), origins, depth + 1);
+            }
+        }
+    }
+
+    private void hit(String key) {
+        hits.incrementAndGet();
+        Optional.ofNullable(TRACE.get()).ifPresent(ResolveTrace::hit);
+        if (profile != null) {
+            profile.hit(key);
+        }
+    }
+
+    private void miss(String key, int depth) {
+        misses.incrementAndGet();
+        Optional.ofNullable(TRACE.get()).ifPresent(ResolveTrace::miss);
+        if (profile != null) {
+            profile.resolved(key, depth);
+        }
+    }
+
+    private void addDependency(Session session, String key) {
+        Resolved current = session.filling.peek();
+        if (current == null) {
+            session.roots.add(key);
+        } else {
+            current.dependencies.add(key);
+        }
+    }
+
+    private Resolved lookup(Session session, String key) {
+        Resolved resolved = session.resolved.get(key);
+        return resolved != null ? resolved : resolvedMap.get(key);
+    }
+
+    private boolean isModel(ResolvedReferenceTypeDeclaration typeDeclaration) {
+        return typeDeclaration instanceof JavaParserClassDeclaration
+                || (typeDeclaration instanceof JavassistClassDeclaration || typeDeclaration instanceof JavassistInterfaceDeclaration)
+                && !isJdk(typeDeclaration);
+    }
+
+    /**
+     * jdk 中的类型不生成模型
+     */
+    private boolean isJdk(ResolvedReferenceTypeDeclaration typeDeclaration) {
+        return typeDeclaration instanceof ReflectionClassDeclaration
+                || typeDeclaration instanceof ReflectionInterfaceDeclaration
+                || JdkTypeSolver.contains(typeDeclaration.getQualifiedName());
+    }
+
+    private boolean isEnum(ResolvedReferenceTypeDeclaration typeDeclaration) {
+        return typeDeclaration instanceof JavaParserEnumDeclaration
+                || typeDeclaration instanceof JavassistEnumDeclaration;
+    }
+
+    /**
+     * 模型名称,泛型参数为模型时追加参数名称,如 Page«User»
+     */
+    private String modelName(ResolvedReferenceType resolvedReferenceType) {
+        String name = resolvedReferenceType.getTypeDeclaration().getName();
+        List<String> typeNames = new ArrayList<>();
+        for (ResolvedType resolvedType : resolveTypeParameter(resolvedReferenceType).values()) {
+            if (resolvedType.isReferenceType()
+                    && resolveBaseType(baseTypeName(resolvedType)) == null
+                    && isModel(resolvedType.asReferenceType().getTypeDeclaration())) {
+                typeNames.add(modelName(resolvedType.asReferenceType()));
+            }
+        }
+        if (!typeNames.isEmpty()) {
+            name = name + "«" + String.join(",", typeNames) + "»";
+        }
+        return name;
+    }
+
+    /**
+     * 依次解析队列中的类型,解析字段时遇到的新类型加入队尾
+     */
+    private void drain(Session session) {
+        Resolved resolved;
+        while ((resolved = session.worklist.poll()) != null) {
+            fill(session, resolved);
+        }
+    }
+
+    private void fill(Session session, Resolved resolved) {
+        if (resolved.filled) return;
+        resolved.filled = true;
+        resolved.started = System.currentTimeMillis();
+        long start = System.nanoTime();
+        ResolvedReferenceType resolvedReferenceType = resolved.type;
+        ObjectProperty objectProperty = (ObjectProperty) resolved.property;
+        // 父类在解析子类时立即展开,不计入子类的内联层数
+        Set<String> inline = session.inline;
+        int inlineDepth = session.inlineDepth;
+        session.inline = new HashSet<>();
+        session.inlineDepth = 0;
+        session.filling.push(resolved);
+        try {
+            resolveFields(resolvedReferenceType, objectProperty, resolved);
+
+            ResolvedReferenceTypeDeclaration typeDeclaration = resolvedReferenceType.getTypeDeclaration();
+            traceSource(typeDeclaration);
+            if (typeDeclaration instanceof JavaParserClassDeclaration) {
+                ClassOrInterfaceDeclaration wrappedNode = ((JavaParserClassDeclaration) typeDeclaration).getWrappedNode();
+                wrappedNode.getJavadocComment().ifPresent(c -> objectProperty.description(interner.intern(c.parse().toText())));
+            } else {
+                lookupJavadoc(typeDeclaration, null).ifPresent(c -> objectProperty.description(interner.intern(c.toText())));
+            }
+
+            for (ResolvedType resolvedType : resolveTypeParameter(resolvedReferenceType).values()) {
+                resolve(resolvedType);
+            }
+            putProperty(objectProperty.getName(), objectProperty);
+        } finally {
+            session.filling.pop();
+            session.inline = inline;
+            session.inlineDepth = inlineDepth;
+            resolved.type = null;
+            if (profile != null) {
+                profile.time(resolved.key, System.nanoTime() - start);
+            }
+        }
+    }
+
+    /**
+     * 解析完成的类型放入共用的缓存.超过层数或时间限制的类型同样放入,标记为 truncated,
+     * 引用它的类型也标记为 truncated,之后的接口直接使用,每个类型在一次解析中最多耗尽一次时间限制.
+     * 标记为 truncated 的类型不导出到模型包
+     */
+    private void publish(Session session) {
+        Set<String> truncated = new HashSet<>();
+        for (Resolved resolved : session.resolved.values()) {
+            if (resolved.truncated) {
+                truncated.add(resolved.key);
+            }
+        }
+        boolean changed = !truncated.isEmpty();
+        while (changed) {
+            changed = false;
+            for (Resolved resolved : session.resolved.values()) {
+                if (!resolved.truncated && !Collections.disjoint(resolved.dependencies, truncated)) {
+                    resolved.truncated = true;
+                    truncated.add(resolved.key);
+                    changed = true;
+                }
+            }
+        }
+        for (Resolved resolved : session.resolved.values()) {
+            if (resolved.filled) {
+                resolvedMap.putIfAbsent(resolved.key, resolved);
+                if (resolved.property instanceof ObjectProperty && ((ObjectProperty) resolved.property).getProperties() != null) {
+                    inheritedMap.putIfAbsent(resolved.key, Collections.unmodifiableMap(
+                            new LinkedHashMap<>(((ObjectProperty) resolved.property).getProperties())));
+                }
+            }
+        }
+    }
+
+    /**
+     * 按引用关系把用到的类型记录到当前文件,每个类型只记录一次
+     */
+    private void replay(Session session, ResolveTrace trace) {
+        if (trace == null) return;
+        Deque<String> keys = new ArrayDeque<>(session.roots);
+        while (!keys.isEmpty()) {
+            String key = keys.poll();
+            if (!trace.replay(key)) continue;
+            Resolved resolved = lookup(session, key);
+            if (resolved == null) continue;
+            trace.addAll(resolved.trace);
+            keys.addAll(resolved.dependencies);
+        }
+    }
+
+    /**
+     * 集合、接口等没有模型名称的类型直接展开,同一条路径上再次出现或超过层数时不再展开
+     */
+    private Property resolveInline(ResolvedReferenceType resolvedReferenceType) {
+        Session session = sessions.get();
+        String key = resolvedReferenceType.describe();
+        if (session.inlineDepth >= MAX_DEPTH || !session.inline.add(key)) {
+            return new ObjectProperty();
+        }
+        session.inlineDepth++;
+        try {
+            return resolveInline(resolvedReferenceType, new ObjectProperty());
+        } finally {
+            session.inlineDepth--;
+            session.inline.remove(key);
+        }
+    }
+
+    private void resolveFields(ResolvedReferenceType resolvedReferenceType, ObjectProperty objectProperty, Resolved resolved) {
+        Set<ResolvedFieldDeclaration> declaredFields = resolvedReferenceType.getDeclaredFields();
+        inherit(objectProperty, resolvedReferenceType.getAllClassesAncestors(), ancestor -> {
+            String qualifiedName = ancestor.getQualifiedName();
+            return !qualifiedName.contains("java.lang")
+                    && !qualifiedName.contains("java.util")
+                    && !"java.lang.Object".equals(qualifiedName);
+        }, this::inheritedProperties);
+
+
+        for (ResolvedFieldDeclaration declaredField : declaredFields) {
+            if (resolved != null && System.currentTimeMillis() - resolved.started > TYPE_BUDGET_MS) {
+                log.warn("Resolving " + resolved.key + " took more than " + TYPE_BUDGET_MS + "ms, remaining fields are skipped");
+                resolved.truncated = true;
+                break;
+            }
+            ResolvedType resolvedType = declaredField.getType();
+            String name = declaredField.getName();
+            if (!declaredField.isStatic() && declaredField instanceof JavaParserFieldDeclaration) {
+                JavaParserFieldDeclaration field = (JavaParserFieldDeclaration) declaredField;
+                FieldDeclaration wrappedNode = field.getWrappedNode();
+                String qualifiedName = resolvedReferenceType.getQualifiedName();
+                String describe = resolvedType.describe();
+                Property property;
+                if (qualifiedName.equalsIgnoreCase(describe)) {
+                    property = new RefProperty("#/definitions/" + qualifiedName.substring(qualifiedName.lastIndexOf(".") + 1));
+                } else {
+                    property = resolve(resolvedType);
+                }
+                describeField(property, () -> wrappedNode.getJavadocComment()
+                        .map(c -> c.parse().getDescription().toText())
+                        .orElse(null), () -> fieldIsRequired(wrappedNode));
+
+                name = getFiledname(wrappedNode, name);
+                objectProperty.property(name, property);
+                Property typeParameterProperty = resolveParameterProperty(property, resolvedReferenceType, resolvedType);
+                if (typeParameterProperty != null) {
+                    objectProperty.property(name, typeParameterProperty);
+                }
+
+                objectProperty.property(name, interner.intern(objectProperty.getProperties().get(name)));
+
+            } else if (!declaredField.isStatic() && (declaredField instanceof JavassistFieldDeclaration || declaredField instanceof ReflectionFieldDeclaration)) {
+                Property property = resolve(resolvedType);
+                boolean required = false;
+
+                if (declaredField instanceof JavassistFieldDeclaration) {
+                    JavassistFieldDeclaration javassistFieldDeclaration = (JavassistFieldDeclaration) declaredField;
+                    try {
+                        Field field = javassistFieldDeclaration.getClass().getDeclaredField("ctField");
+                        field.setAccessible(true);
+                        CtField ctField = (CtField) field.get(javassistFieldDeclaration);
+                        JsonProperty jsonProperty = (JsonProperty) ctField.getAnnotation(JsonProperty.class);
+                        if (jsonProperty != null && StringUtils.isNotBlank(jsonProperty.value())) {
+                            name = jsonProperty.value();
+                        }
+                        required = (jsonProperty != null && jsonProperty.required()) || ctField.hasAnnotation(NotNull.class);
+
+                    } catch (Exception e) {
+                        log.warn(e.getMessage(), e);
+                    }
+                }
+
+                String fieldName = declaredField.getName();
+                boolean fieldRequired = required;
+                describeField(property, () -> lookupJavadoc(resolvedReferenceType.getTypeDeclaration(), fieldName)
+                        .map(c -> c.getDescription().toText())
+                        .orElse(null), () -> fieldRequired);
+
+                objectProperty.property(name, property);
+
+                Property typeParameterProperty = resolveParameterProperty(property, resolvedReferenceType, resolvedType);
+                if (typeParameterProperty != null) {
+                    objectProperty.property(name, typeParameterProperty);
+                }
+                objectProperty.property(name, interner.intern(objectProperty.getProperties().get(name)));
+            }
+        }
+    }
+
+    /**
+     * 没有源码声明的类型从当前解析指定的 {@link JavadocLookup} 中读取注释
+     *
+     * @param fieldName 为 null 时读取类的注释
+     */
+    private Optional<Javadoc> lookupJavadoc(ResolvedReferenceTypeDeclaration typeDeclaration, String fieldName) {
+        ResolveTrace trace = TRACE.get();
+        JavadocLookup javadocs = trace == null ? null : trace.getJavadocs();
+        if (javadocs == null) return Optional.empty();
+        String packageName = typeDeclaration.getPackageName();
+        String className = (packageName.isEmpty() ? "" : packageName + ".") + typeDeclaration.getClassName().replace('.', '$');
+        return fieldName == null ? javadocs.type(className) : javadocs.field(className, fieldName);
+    }
+
+    /**
+     * 父类的全部属性(包含更上层父类),已缓存时不再解析父类
+     */
+    private Map<String, Property> inheritedProperties(ResolvedReferenceType ancestor) {
+        Session session = sessions.get();
+        String key = registryKey(ancestor);
+        Map<String, Property> properties = inheritedMap.get(key);
+        if (properties != null) {
+            hit(key);
+            addDependency(session, key);
+            return properties;
+        }
+
+        Property property = resolve(ancestor);
+        Resolved resolved = lookup(session, key);
+        if (resolved != null && !resolved.filled) {
+            fill(session, resolved);
+        }
+        if (property instanceof ObjectProperty && ((ObjectProperty) property).getProperties() != null) {
+            return ((ObjectProperty) property).getProperties();
+        }
+        return Collections.emptyMap();
+    }
+
+    private Property resolveInline(ResolvedReferenceType resolvedReferenceType, ObjectProperty objectProperty) {
+        ResolvedReferenceTypeDeclaration typeDeclaration = resolvedReferenceType.getTypeDeclaration();
+        if (isJdk(typeDeclaration)) {
+            Property property = resolveCollection(resolvedReferenceType);
+            if (property != null) {
+                return property;
+            }
+        }
+
+        if (!typeDeclaration.isEnum()) {
+            resolveFields(resolvedReferenceType, objectProperty, null);
+        }
+        traceSource(typeDeclaration);
+        return objectProperty;
+    }
+
+    /**
+     * jdk 中的集合和 Map,按类型本身及其父类型的名称判断,不加载 class
+     */
+    private Property resolveCollection(ResolvedReferenceType resolvedReferenceType) {
+        List<Pair<ResolvedTypeParameterDeclaration, ResolvedType>> typeParametersMap = resolvedReferenceType.getTypeParametersMap();
+        try {
+            Set<String> typeNames = new HashSet<>();
+            typeNames.add(resolvedReferenceType.getQualifiedName());
+            for (ResolvedReferenceType ancestor : resolvedReferenceType.getAllAncestors()) {
+                typeNames.add(ancestor.getQualifiedName());
+            }
+            if (typeNames.contains("java.util.Set")) {
+                if (!typeParametersMap.isEmpty()) {
+                    Property value = resolve(typeParametersMap.get(0).b);
+                    if (value instanceof ObjectProperty && value.getName() != null) {
+                        return new ArrayProperty(new RefProperty("#/definitions/" + value.getName()));
+                    }
+                    return new ArrayProperty(value).uniqueItems();
+                }
+                return new ArrayProperty(new ObjectProperty()).uniqueItems();
+            } else if (typeNames.contains("java.util.Collection")) {
+                if (!typeParametersMap.isEmpty()) {
+                    Property value = resolve(typeParametersMap.get(0).b);
+                    if (value instanceof ObjectProperty && value.getName() != null) {
+                        return new ArrayProperty(new RefProperty("#/definitions/" + value.getName()));
+                    }
+                    return new ArrayProperty(value);
+                }
+                return new ArrayProperty(new ObjectProperty());
+            } else if (typeNames.contains("java.util.Map")) {
+                if (typeParametersMap.size() > 1) {
+                    Property value = resolve(typeParametersMap.get(1).b);
+                    if (value instanceof ObjectProperty && value.getName() != null) {
+                        return new MapProperty().additionalProperties(new RefProperty("#/definitions/" + value.getName()));
+                    }
+                    return new MapProperty().additionalProperties(value);
+                }
+                return new MapProperty().additionalProperties(new ObjectProperty());
+            }
+        } catch (UnsolvedSymbolException e) {
+            log.debug("Unable to resolve ancestors of " + resolvedReferenceType.describe() + ": " + e.getMessage());
+        }
+        return null;
+    }
+
+    private Property resolveEnum(ResolvedReferenceTypeDeclaration typeDeclaration) {
+        if (typeDeclaration instanceof JavaParserEnumDeclaration) {
+            JavaParserEnumDeclaration javaParserEnumDeclaration = (JavaParserEnumDeclaration) typeDeclaration;
+            String name = javaParserEnumDeclaration.getName();
+            EnumDeclaration wrappedNode = javaParserEnumDeclaration.getWrappedNode();
+            List<String> enums = new ArrayList<>();
+            StringBuffer sb = new StringBuffer();
+            for (EnumConstantDeclaration entry : wrappedNode.getEntries()) {
+                String fieldName = entry.getName().asString();
+                entry.getJavadocComment().ifPresent(c -> sb.append(fieldName)
+                        .append(":")
+                        .append(c.parse().getDescription().toText())
+                        .append("\t")
+                );
+                enums.add(fieldName);
+            }
+            Property enumProperty = new StringProperty()._enum(enums).description(sb.length() == 0 ? null : sb.toString());
+            putProperty(name, enumProperty);
+            return enumProperty;
+
+        }
+
+
+        if (typeDeclaration instanceof JavassistEnumDeclaration) {
+            JavassistEnumDeclaration javaParserEnumDeclaration = (JavassistEnumDeclaration) typeDeclaration;
+            String name = javaParserEnumDeclaration.getName();
+            List<String> enums = new ArrayList<>();
+            for (ResolvedEnumConstantDeclaration enumConstant : javaParserEnumDeclaration.getEnumConstants()) {
+                enums.add(enumConstant.getName());
+            }
+            Property enumProperty = new StringProperty()._enum(enums);
+            putProperty(name, enumProperty);
+            return enumProperty;
+
+        }
+        return null;
+    }
+
+    private void putProperty(String name, Property property) {
+        propertyMap.put(name, property);
+        record(t -> t.getModels().put(name, property));
+    }
+
+    /**
+     * 记录到正在解析的类型,不在解析类型时记录到当前文件,类型记录的内容在 {@link #replay(Session, ResolveTrace)} 时补全到文件
+     */
+    private void record(Consumer<ResolveTrace> consumer) {
+        Session session = sessions.get();
+        Resolved current = session == null ? null : session.filling.peek();
+        if (current != null) {
+            consumer.accept(current.trace);
+            return;
+        }
+        ResolveTrace trace = TRACE.get();
+        if (trace != null) {
+            consumer.accept(trace);
+        }
+    }
+
+    private boolean isEnum(Property property) {
+        return property instanceof StringProperty && ((StringProperty) property).getEnum() != null;
+    }
+
+    /**
+     * 枚举会被调用方修改描述,每次返回副本;对象类型返回共用的实例
+     */
+    private Property copy(Property property) {
+        if (isEnum(property)) {
+            return new StringProperty()
+                    ._enum(new ArrayList<>(((StringProperty) property).getEnum()))
+                    .description(property.getDescription());
+        }
+        return property;
+    }
+
+    private void traceSource(ResolvedReferenceTypeDeclaration typeDeclaration) {
+        Node node = null;
+        if (typeDeclaration instanceof JavaParserClassDeclaration) {
+            node = ((JavaParserClassDeclaration) typeDeclaration).getWrappedNode();
+        } else if (typeDeclaration instanceof JavaParserInterfaceDeclaration) {
+            node = ((JavaParserInterfaceDeclaration) typeDeclaration).getWrappedNode();
+        } else if (typeDeclaration instanceof JavaParserEnumDeclaration) {
+            node = ((JavaParserEnumDeclaration) typeDeclaration).getWrappedNode();
+        }
+        if (node == null) return;
+        String qualifiedName = typeDeclaration.getQualifiedName();
+        record(t -> t.getTypeNames().add(qualifiedName));
+        node.findCompilationUnit()
+                .flatMap(CompilationUnit::getStorage)
+                .ifPresent(storage -> record(t -> t.getSources().add(storage.getPath().toAbsolutePath().toString())));
+    }
+
+    private String getFiledname(FieldDeclaration wrappedNode, String name) {
+        Optional<AnnotationExpr> jsonProperty = wrappedNode.getAnnotationByClass(JsonProperty.class);
+        if (jsonProperty.isPresent()) {
+            AnnotationExpr annotationExpr = jsonProperty.get().asAnnotationExpr();
+            if (annotationExpr instanceof SingleMemberAnnotationExpr) {
+                SingleMemberAnnotationExpr single = (SingleMemberAnnotationExpr) annotationExpr;
+                String memberValue = single.getMemberValue().asStringLiteralExpr().getValue();
+                if (StringUtils.isNotBlank(memberValue)) {
+                    name = memberValue;
+                }
+            }
+
+            if (annotationExpr instanceof NormalAnnotationExpr) {
+                NormalAnnotationExpr normalAnnotationExpr = annotationExpr.asNormalAnnotationExpr();
+                NodeList<MemberValuePair> pairs = normalAnnotationExpr.getPairs();
+                for (MemberValuePair pair : pairs) {
+                    String pairName = pair.getName().asString();
+                    Expression pairExpression = pair.getValue();
+                    if ("value".equals(pairName)) {
+                        String pairValue = pairExpression.asStringLiteralExpr().asString();
+                        if (StringUtils.isNotBlank(pairValue)) {
+                            name = pairValue;
+                        }
+                    }
+                }
+            }
+        }
+        return name;
+    }
+
+    private boolean fieldIsRequired(FieldDeclaration wrappedNode) {
+        Optional<AnnotationExpr> jsonProperty = wrappedNode.getAnnotationByClass(JsonProperty.class);
+        Optional<AnnotationExpr> notNull = wrappedNode.getAnnotationByClass(NotNull.class);
+        boolean required = false;
+        if (jsonProperty.isPresent()) {
+            AnnotationExpr annotationExpr = jsonProperty.get().asAnnotationExpr();
+            if (annotationExpr instanceof NormalAnnotationExpr) {
+                NormalAnnotationExpr normalAnnotationExpr = annotationExpr.asNormalAnnotationExpr();
+                NodeList<MemberValuePair> pairs = normalAnnotationExpr.getPairs();
+                for (MemberValuePair pair : pairs) {
+                    String pairName = pair.getName().asString();
+                    Expression pairExpression = pair.getValue();
+                    if ("required".equals(pairName)) {
+                        required = pairExpression.asBooleanLiteralExpr().getValue();
+                    }
+                }
+            }
+        }
+        return required || notNull.isPresent();
+    }
+
+
+    public Map<String, Model> getModelMap() {
+        Map<String, Model> modelMap = new LinkedHashMap<>();
+        for (Map.Entry<String, Property> entry : propertyMap.entrySet()) {
+            Property value = entry.getValue();
+            Model model = toModel(value);
+            if (model != null) {
+                modelMap.put(entry.getKey(), model);
+            }
+        }
+        return modelMap;
+    }
+
+    /**
+     * 按解析时记录的结果生成模型
+     */
+    public Map<String, Model> getModelMap(ResolveTrace trace) {
+        Map<String, Model> modelMap = new LinkedHashMap<>();
+        for (Map.Entry<String, Property> entry : trace.getModels().entrySet()) {
+            Model model = toModel(entry.getValue());
+            if (model != null) {
+                modelMap.put(entry.getKey(), model);
+            }
+        }
+        return modelMap;
+    }
+
+    private Map<String, ResolvedType> resolveTypeParameter(ResolvedType resolvedType) {
+        Map<String, ResolvedType> map = new HashMap<>();
+        if (resolvedType.isReferenceType()) {
+            ResolvedReferenceType resolvedReferenceType = resolvedType.asReferenceType();
+            List<Pair<ResolvedTypeParameterDeclaration, ResolvedType>> typeParametersMap = resolvedReferenceType.getTypeParametersMap();
+            for (Pair<ResolvedTypeParameterDeclaration, ResolvedType> entry : typeParametersMap) {
+                String aName = entry.a.getName();
+                Optional<ResolvedType> genericParameter = resolvedReferenceType.getGenericParameterByName(aName);
+                genericParameter.ifPresent(c -> {
+                    if (!"java.lang.Object".equals(c.describe())) {
+                        if (c.isTypeVariable()) {
+                            ResolvedTypeVariable resolvedTypeVariable = c.asTypeVariable();
+                            map.put(resolvedTypeVariable.describe(), c);
+                        } else {
+                            map.put(aName, c);
+                        }
+                    }
+                });
+            }
+        }
+        return map;
+    }
+
+    private Property resolveParameterProperty(Property property, ResolvedReferenceType resolvedReferenceType, ResolvedType resolvedType) {
+
+        if (resolvedType.isTypeVariable()) {
+            ResolvedTypeVariable resolvedTypeVariable = resolvedType.asTypeVariable();
+            Optional<ResolvedType> genericParameter = resolvedReferenceType.getGenericParameterByName(resolvedTypeVariable.describe());
+            if (genericParameter.isPresent()) {
+                return resolve(genericParameter.get());
+            }
+        }
+
+
+        if (resolvedType.isReferenceType()) {
+            ResolvedReferenceType fieldReferenceType = resolvedType.asReferenceType();
+            List<Pair<ResolvedTypeParameterDeclaration, ResolvedType>> typeParametersMap = fieldReferenceType.getTypeParametersMap();
+            if (typeParametersMap.size() > 0) {
+                for (Pair<ResolvedTypeParameterDeclaration, ResolvedType> typePair : typeParametersMap) {
+                    String clazzName = typePair.a.getName();
+                    ResolvedType b = typePair.b;
+                    if (b.isTypeVariable()) {
+                        Optional<ResolvedType> genericResolvedTypeOptional = resolvedType.asReferenceType().getGenericParameterByName(clazzName);
+                        if (genericResolvedTypeOptional.isPresent()) {
+                            ResolvedType genericResolvedType = genericResolvedTypeOptional.get();
+                            Optional<ResolvedType> genericParameter = resolvedReferenceType.getGenericParameterByName(genericResolvedType.describe());
+                            if (genericParameter.isPresent()) {
+                                ResolvedType genericResolvedParameter = genericParameter.get();
+                                Property resolve = resolve(genericResolvedParameter);
+                                if (property instanceof ArrayProperty) {
+                                    return ((ArrayProperty) property).items(resolve);
+                                }
+
+                                if (property instanceof MapProperty) {
+                                    return ((MapProperty) property).additionalProperties(resolve);
+                                }
+                            }
+                        }
+                    }
+                }
+            }
+        }
+
+        return null;
+    }
+
+    public Model convertToModel(Property property) {
+        if (property != null && property.getName() != null) {
+            return new RefModel("#/definitions/" + property.getName());
+        }
+        return toModel(property);
+    }
+
+
+    /**
+     * 生成模型定义,对象类型的字段输出为引用
+     */
+    public Model toModel(Property property) {
+
+        if (property instanceof ObjectProperty && ((ObjectProperty) property).getProperties() != null) {
+            ModelImpl model = new ModelImpl();
+            model.setDescription(property.getDescription());
+            Map<String, Property> properties = ((ObjectProperty) property).getProperties();
+            for (Map.Entry<String, Property> entry : properties.entrySet()) {
+                Property value = entry.getValue();
+                if (value instanceof ObjectProperty) {
+                    if (value.getName() == null) {
+                        model.property(entry.getKey(), new ObjectProperty());
+                    } else {
+                        model.property(entry.getKey(), new RefProperty("#/definitions/" + value.getName()));
+                    }
+                } else if (value instanceof ArrayProperty || value instanceof MapProperty) {
+                    toModel(value);
+                    model.property(entry.getKey(), value);
+                } else {
+                    model.property(entry.getKey(), entry.getValue());
+                }
+            }
+            return model;
+        }
+        if (property instanceof ArrayProperty) {
+            ArrayProperty arrayProperty = (ArrayProperty) property;
+            Property items = arrayProperty.getItems();
+
+            if (items instanceof ArrayProperty || items instanceof MapProperty) {
+                toModel(items);
+            } else if (items instanceof ObjectProperty) {
+                if (items.getName() == null) {
+                    arrayProperty.items(new ObjectProperty());
+                } else {
+                    arrayProperty.items(new RefProperty("#/definitions/" + items.getName()));
+                }
+            }
+            return new ArrayModel().items(items != null ? items : new ObjectProperty());
+        }
+
+        if (property instanceof MapProperty) {
+            MapProperty mapProperty = (MapProperty) property;
+            Property additionalProperties = mapProperty.getAdditionalProperties();
+            if (additionalProperties instanceof ObjectProperty) {
+                ObjectProperty objectProperty = (ObjectProperty) additionalProperties;
+                if (objectProperty.getName() == null) {
+                    mapProperty.setAdditionalProperties(new ObjectProperty());
+                } else {
+                    mapProperty.setAdditionalProperties(new RefProperty("#/definitions/" + objectProperty.getName()));
+                }
+            } else {
+                toModel(additionalProperties);
+            }
+            return new ModelImpl().additionalProperties(mapProperty);
+        }
+
+        if (property instanceof StringProperty) {
+            StringProperty stringProperty = (StringProperty) property;
+            if (stringProperty.getEnum() != null && stringProperty.getEnum().size() > 0) {
+                return new ModelImpl()._enum(stringProperty.getEnum());
+            }
+        }
+
+        return null;
+    }
+
+
+    /**
+     * 一次解析中的待解析队列和已登记的类型
+     */
+    private static class Session {
+
+        private final Map<String, Resolved> resolved = new LinkedHashMap<>();
+
+        private final Deque<Resolved> worklist = new ArrayDeque<>();
+
+        private final Set<String> roots = new LinkedHashSet<>();
+
+        /**
+         * 正在解析字段的类型,解析父类时会嵌套
+         */
+        private final Deque<Resolved> filling = new ArrayDeque<>();
+
+        private Set<String> inline = new HashSet<>();
+
+        private int inlineDepth;
+    }
+
+    private static class Resolved {
+
+        private final String key;
+
+        private ResolvedReferenceType type;
+
+        private final int depth;
+
+        private Property property;
+
+        /**
+         * 类型自身用到的模型和源文件,不包含引用的其他类型
+         */
+        private final ResolveTrace trace = new ResolveTrace();
+
+        private final Set<String> dependencies = new LinkedHashSet<>();
+
+        private boolean filled;
+
+        /**
+         * 超过层数或时间限制只解析了部分字段,或引用了这样的类型
+         */
+        private boolean truncated;
+
+        private long started;
+
+        Resolved(String key, ResolvedReferenceType type, int depth, Property property) {
+            this.key = key;
+            this.type = type;
+            this.depth = depth;
+            this.property = property;
+        }
+    }
+
+    /**
+     * 无法解析的类型,按源码生成的结果
+     */
+    private class Unresolved {
+
+        private final Property property;
+
+        private final Map<String, SourceFallback.Model> models = new LinkedHashMap<>();
+
+        Unresolved(Type type) {
+            this.property = fallback.resolve(type, models);
+        }
+
+        Property replay() {
+            for (SourceFallback.Model model : models.values()) {
+                putProperty(model.getName(), model.getProperty());
+                if (model.getSource() != null) {
+                    record(t -> t.getSources().add(model.getSource()));
+                }
+            }
+            return copy(property);
+        }
+    }
+
+    /**
+     * 合并父类的属性,父类的属性已包含更上层父类的属性,只合并最近的父类.
+     * 源码解析和注解处理器共用
+     *
+     * @param ancestors  由近到远的父类
+     * @param isModel    父类是否生成模型,jdk 中的类不合并
+     * @param properties 父类的全部属性
+     */
+    public static <T> void inherit(ObjectProperty objectProperty, List<T> ancestors, Predicate<T> isModel,
+                                   Function<T, Map<String, Property>> properties) {
+        for (T ancestor : ancestors) {
+            if (isModel.test(ancestor)) {
+                for (Map.Entry<String, Property> entry : properties.apply(ancestor).entrySet()) {
+                    objectProperty.property(entry.getKey(), entry.getValue());
+                }
+                return;
+            }
+        }
+    }
+
+    /**
+     * 设置字段的注释和必填.对象类型的字段在模型中只输出引用,不修改共用的解析结果
+     *
+     * @param description 字段的注释,没有时返回 null
+     */
+    public static void describeField(Property property, Supplier<String> description, BooleanSupplier required) {
+        if (property instanceof ObjectProperty) return;
+        String text = description.get();
+        if (text != null) {
+            property.description(text);
+        }
+        if (required.getAsBoolean()) {
+            property.setRequired(true);
+        }
+    }
+
+    /**
+     * 基础类型对应的属性,不是基础类型时返回 null
+     *
+     * @param clazzName 类型全名或基本类型名称,如 java.lang.String,int
+     */
+    public static Property resolveBaseType(String clazzName) {
+        Supplier<Property> supplier = BASE_TYPES.get(clazzName);
+        return supplier == null ? null : supplier.get();
+    }
+
+    /**
+     * 基础类型 -> 属性工厂,每次返回新的属性,调用方可以修改描述等信息
+     */
+    private static final Map<String, Supplier<Property>> BASE_TYPES = baseTypes();
+
+    private static Map<String, Supplier<Property>> baseTypes() {
+        Map<String, Supplier<Property>> baseTypes = new HashMap<>();
+        register(baseTypes, IntegerProperty::new, "int", "java.lang.Integer", "java.math.BigInteger", "java.lang.Short", "short");
+        register(baseTypes, LongProperty::new, "long", "java.lang.Long");
+        register(baseTypes, DoubleProperty::new, "double", "java.lang.Double", "java.math.BigDecimal");
+        register(baseTypes, FloatProperty::new, "float", "java.lang.Float");
+        register(baseTypes, BooleanProperty::new, "boolean", "java.lang.Boolean");
+        register(baseTypes, () -> new StringProperty("byte"), "byte", "java.lang.Byte");
+        register(baseTypes, ByteArrayProperty::new, "byte[]", "java.lang.Byte[]");
+        register(baseTypes, StringProperty::new, "java.lang.String", "java.lang.CharSequence");
+        register(baseTypes, () -> new StringProperty("data-time").example("2018-09-10"),
+                "java.joda.LocalDate", "java.time.LocalDate");
+        register(baseTypes, () -> new StringProperty("data-time").example("13:11:43"),
+                "java.time.LocalTime", "java.joda.LocalTime");
+        register(baseTypes, () -> new StringProperty("data-time").example("2018-09-10T13:11:43Z"),
+                "java.util.Date", "java.time.LocalDateTime", "java.time.ZonedDateTime",
+                "java.joda.LocalDateTime", "java.joda.ZonedDateTime", "java.sql.Timestamp");
+        register(baseTypes, FileProperty::new, "org.springframework.web.multipart.MultipartFile");
+        register(baseTypes, UUIDProperty::new, "java.util.UUID");
+        register(baseTypes, () -> new MapProperty().additionalProperties(new ObjectProperty()),
+                "com.alibaba.fastjson.JSONObject", "com.google.gson.JsonObject", "com.fasterxml.jackson.databind.node.ObjectNode");
+        register(baseTypes, () -> new ArrayProperty().items(new ObjectProperty()),
+                "com.alibaba.fastjson.JSONArray", "com.google.gson.JsonArray", "com.fasterxml.jackson.databind.node.ArrayNode");
+
+        String types = System.getProperty("docs.types");
+        if (types != null) {
+            registerMappings(baseTypes, types);
+        }
+        return Collections.unmodifiableMap(baseTypes);
+    }
+
+    /**
+     * 读取 docs.types 指定的类型映射文件,每行为 类全名=type[:format],如 org.joda.money.Money=string:decimal
+     */
+    static void registerMappings(Map<String, Supplier<Property>> baseTypes, String types) {
+        Properties properties = new Properties();
+        try (Reader reader = Files.newBufferedReader(Paths.get(types), StandardCharsets.UTF_8)) {
+            properties.load(reader);
+        } catch (IOException e) {
+            log.warn("Unable to read type mappings " + types + ": " + e.getMessage());
+        }
+        for (String clazzName : properties.stringPropertyNames()) {
+            // 格式为 type[:format],如 string:date-time
+            String[] value = properties.getProperty(clazzName).trim().split(":", 2);
+            String type = value[0].trim();
+            String format = value.length > 1 ? value[1].trim() : null;
+            if (PropertyBuilder.build(type, format, null) == null) {
+                log.warn("Ignoring unknown type mapping " + clazzName + "=" + properties.getProperty(clazzName));
+                continue;
+            }
+            baseTypes.put(clazzName.trim(), () -> PropertyBuilder.build(type, format, null));
+        }
+    }
+
+    private static void register(Map<String, Supplier<Property>> baseTypes, Supplier<Property> supplier, String... clazzNames) {
+        for (String clazzName : clazzNames) {
+            baseTypes.put(clazzName, supplier);
+        }
+    }
+
+}
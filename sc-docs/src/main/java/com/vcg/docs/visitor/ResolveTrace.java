@@ -0,0 +1,82 @@
+package com.vcg.docs.visitor;
+
+import io.swagger.models.properties.Property;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * 解析一个源文件时用到的模型和源文件,用于增量解析时判断哪些文件需要重新解析
+ */
+@Getter
+public class ResolveTrace {
+
+    /**
+     * 模型名 -> 解析结果,多个模块共用解析结果时不受同名模型覆盖的影响
+     */
+    private final Map<String, Property> models = new LinkedHashMap<>();
+
+    private final Set<String> sources = new LinkedHashSet<>();
+
+    private final Set<String> typeNames = new LinkedHashSet<>();
+
+    /**
+     * 注解中查找过的常量名,包括没有找到的
+     */
+    private final Set<String> constants = new TreeSet<>();
+
+    /**
+     * 已补全到当前文件的类型
+     */
+    @Getter(AccessLevel.NONE)
+    private final Set<String> replayedTypes = new HashSet<>();
+
+    /**
+     * 没有源码声明的类型按类名读取注释,源码解析时为 null
+     */
+    @Setter
+    private JavadocLookup javadocs;
+
+    private int resolutions;
+
+    private int hits;
+
+    private int misses;
+
+    public Set<String> getModelNames() {
+        return models.keySet();
+    }
+
+    void resolved() {
+        resolutions++;
+    }
+
+    void hit() {
+        hits++;
+    }
+
+    void miss() {
+        misses++;
+    }
+
+    /**
+     * @return 类型第一次补全到当前文件时返回 true
+     */
+    boolean replay(String key) {
+        return replayedTypes.add(key);
+    }
+
+    void addAll(ResolveTrace trace) {
+        models.putAll(trace.models);
+        sources.addAll(trace.sources);
+        typeNames.addAll(trace.typeNames);
+    }
+
+}
@@ -0,0 +1,123 @@
+package com.vcg.docs.visitor;
+
+import com.github.javaparser.ast.expr.*;
+import com.vcg.docs.mapping.ApiAnnotation;
+import lombok.extern.slf4j.Slf4j;
+
+import java.lang.reflect.Field;
+import java.util.*;
+
+/**
+ * 源码中的注解,属性值按 {@link #value(Expression)} 读取
+ */
+@Slf4j
+class SourceAnnotation implements ApiAnnotation {
+
+    private static final Map<String, String> HEADERS = headers();
+
+    private final AnnotationExpr annotation;
+
+    private final ResolveSwaggerType resolveSwaggerType;
+
+    SourceAnnotation(AnnotationExpr annotation, ResolveSwaggerType resolveSwaggerType) {
+        this.annotation = annotation;
+        this.resolveSwaggerType = resolveSwaggerType;
+    }
+
+    /**
+     * 注解简单名称 -> 注解
+     */
+    static Map<String, SourceAnnotation> of(List<AnnotationExpr> annotations, ResolveSwaggerType resolveSwaggerType) {
+        Map<String, SourceAnnotation> result = new LinkedHashMap<>();
+        for (AnnotationExpr annotation : annotations) {
+            result.put(annotation.getNameAsString(), new SourceAnnotation(annotation, resolveSwaggerType));
+        }
+        return result;
+    }
+
+    @Override
+    public String getName() {
+        return annotation.getNameAsString();
+    }
+
+    @Override
+    public List<String> values(String... names) {
+        for (String name : names) {
+            if (annotation.isSingleMemberAnnotationExpr() && "value".equals(name)) {
+                return values(annotation.asSingleMemberAnnotationExpr().getMemberValue());
+            }
+            if (annotation.isNormalAnnotationExpr()) {
+                for (MemberValuePair pair : annotation.asNormalAnnotationExpr().getPairs()) {
+                    if (name.equals(pair.getNameAsString())) {
+                        return values(pair.getValue());
+                    }
+                }
+            }
+        }
+        return Collections.emptyList();
+    }
+
+    private List<String> values(Expression value) {
+        List<String> values = new ArrayList<>();
+        if (value instanceof ArrayInitializerExpr) {
+            for (Expression expression : value.asArrayInitializerExpr().getValues()) {
+                String path = value(expression);
+                if (path != null) {
+                    values.add(path);
+                }
+            }
+        } else {
+            String path = value(value);
+            if (path != null) {
+                values.add(path);
+            }
+        }
+        return values;
+    }
+
+    /**
+     * 项目中的常量优先,其次为 MediaType 中的常量,都找不到时使用常量名,如 RequestMethod.GET
+     */
+    private String value(Expression expression) {
+        String constant = resolveSwaggerType.resolveConstant(expression);
+        if (constant != null) {
+            return constant;
+        }
+        if (expression instanceof FieldAccessExpr) {
+            String name = expression.asFieldAccessExpr().getName().asString();
+            String header = HEADERS.get(name);
+            return header != null ? header : name;
+        }
+        if (expression instanceof NameExpr) {
+            return expression.asNameExpr().getName().asString();
+        }
+        if (expression instanceof BooleanLiteralExpr) {
+            return String.valueOf(expression.asBooleanLiteralExpr().getValue());
+        }
+        return null;
+    }
+
+    private static Map<String, String> headers() {
+        Map<String, String> headers = new HashMap<>();
+        try {
+            Class<?> mediaTypeClazz = Class.forName("org.springframework.http.MediaType");
+            Field[] fields = mediaTypeClazz.getFields();
+            for (Field field : fields) {
+                try {
+                    Object o = field.get(null);
+                    headers.put(field.getName(), o.toString());
+                } catch (IllegalAccessException e) {
+                    log.warn(e.getMessage());
+                }
+            }
+        } catch (Exception e) {
+            headers.put("APPLICATION_FORM_URLENCODED", "application/x-www-form-urlencoded");
+            headers.put("APPLICATION_JSON_VALUE", "application/json");
+            headers.put("APPLICATION_JSON_UTF8_VALUE", "application/json;charset=UTF-8");
+            headers.put("APPLICATION_OCTET_STREAM_VALUE", "application/octet-stream");
+            headers.put("APPLICATION_XML_VALUE", "application/xml");
+            headers.put("TEXT_HTML_VALUE", "text/html");
+        }
+        return headers;
+    }
+}
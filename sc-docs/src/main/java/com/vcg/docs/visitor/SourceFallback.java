@@ -0,0 +1,466 @@
+package com.vcg.docs.visitor;
+
+import com.github.javaparser.JavaParser;
+import com.github.javaparser.ParseResult;
+import com.github.javaparser.ParseStart;
+import com.github.javaparser.ast.CompilationUnit;
+import com.github.javaparser.ast.ImportDeclaration;
+import com.github.javaparser.ast.Node;
+import com.github.javaparser.ast.NodeList;
+import com.github.javaparser.ast.body.*;
+import com.github.javaparser.ast.type.ClassOrInterfaceType;
+import com.github.javaparser.ast.type.Type;
+import com.github.javaparser.ast.type.TypeParameter;
+import io.swagger.models.properties.*;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import static com.github.javaparser.Providers.provider;
+
+/**
+ * 类型无法解析时,只按源码中的字段名和类型名称生成模型,不做符号解析.
+ * 类型名称按所在文件的内部类、导入和包查找源码,字段类型、父类和泛型参数同样按源码展开
+ */
+@Slf4j
+class SourceFallback {
+
+    private static final Set<String> COLLECTIONS = new HashSet<>(Arrays.asList("Collection", "List", "Set", "Iterable",
+            "ArrayList", "LinkedList", "HashSet", "LinkedHashSet", "TreeSet", "SortedSet"));
+
+    private static final Set<String> MAPS = new HashSet<>(Arrays.asList("Map", "HashMap", "LinkedHashMap", "TreeMap",
+            "SortedMap", "ConcurrentMap", "ConcurrentHashMap"));
+
+    private final Map<String, Supplier<Property>> baseTypes;
+
+    /**
+     * 类型简单名称 -> 源文件,按文件名建立
+     */
+    private volatile Map<String, List<Path>> sources = Collections.emptyMap();
+
+    private final Map<Path, Optional<CompilationUnit>> units = new ConcurrentHashMap<>();
+
+    /**
+     * 类型全名 -> 模型,带泛型参数的类型只在一次解析中共用
+     */
+    private final Map<String, Model> models = new ConcurrentHashMap<>();
+
+    SourceFallback(Map<String, Supplier<Property>> baseTypes) {
+        this.baseTypes = new HashMap<>();
+        for (Map.Entry<String, Supplier<Property>> entry : baseTypes.entrySet()) {
+            String name = entry.getKey();
+            this.baseTypes.putIfAbsent(name.substring(name.lastIndexOf('.') + 1), entry.getValue());
+        }
+    }
+
+    void setSources(Collection<String> files) {
+        Map<String, List<Path>> sources = new HashMap<>();
+        for (String file : files) {
+            Path path = Paths.get(file);
+            String name = path.getFileName().toString();
+            if (name.endsWith(".java")) {
+                sources.computeIfAbsent(name.substring(0, name.length() - ".java".length()), k -> new ArrayList<>()).add(path);
+            }
+        }
+        this.sources = sources;
+    }
+
+    /**
+     * @param found 用到的模型及其字段引用到的模型,名称 -> 模型
+     */
+    Property resolve(Type type, Map<String, Model> found) {
+        Resolution resolution = new Resolution();
+        List<Model> used = new ArrayList<>();
+        Property property = resolution.resolve(type, new Scope(type, Collections.emptyMap()), used);
+        resolution.publish();
+
+        Deque<Model> pending = new ArrayDeque<>(used);
+        while (!pending.isEmpty()) {
+            Model model = pending.poll();
+            if (found.putIfAbsent(model.getName(), model) == null) {
+                pending.addAll(model.getReferences());
+            }
+        }
+        return property;
+    }
+
+    /**
+     * 一次解析中新生成的模型,字段引用到正在生成的模型时直接使用同一个实例
+     */
+    private class Resolution {
+
+        private final Map<String, Model> building = new LinkedHashMap<>();
+
+        /**
+         * @param references 引用到的模型加入其中
+         */
+        Property resolve(Type type, Scope scope, List<Model> references) {
+            if (type.isArrayType()) {
+                return array(resolve(type.asArrayType().getComponentType(), scope, references));
+            }
+            if (type.isPrimitiveType()) {
+                Property property = base(type.asString());
+                return property != null ? property : new ObjectProperty();
+            }
+            if (!type.isClassOrInterfaceType()) {
+                return new ObjectProperty();
+            }
+
+            ClassOrInterfaceType classType = type.asClassOrInterfaceType();
+            String name = classType.getNameAsString();
+            if (!classType.getScope().isPresent() && scope.variables.containsKey(name)) {
+                Binding binding = scope.variables.get(name);
+                return binding == null ? new ObjectProperty() : resolve(binding.type, binding.scope, references);
+            }
+            List<Type> arguments = classType.getTypeArguments().map(ArrayList<Type>::new).orElseGet(ArrayList::new);
+            Property property = base(name);
+            if (property != null) {
+                return property;
+            }
+            if (COLLECTIONS.contains(name)) {
+                return array(arguments.isEmpty() ? new ObjectProperty() : resolve(arguments.get(0), scope, references));
+            }
+            if (MAPS.contains(name)) {
+                Property value = arguments.size() > 1 ? resolve(arguments.get(1), scope, references) : new ObjectProperty();
+                if (value instanceof ObjectProperty && value.getName() != null) {
+                    value = new RefProperty("#/definitions/" + value.getName());
+                }
+                return new MapProperty().additionalProperties(value);
+            }
+
+            Optional<TypeDeclaration<?>> declaration = find(typeName(classType), scope);
+            if (!declaration.isPresent()) {
+                return new ObjectProperty();
+            }
+            Model model = model(declaration.get(), arguments, scope);
+            references.add(model);
+            return copy(model.getProperty());
+        }
+
+        private Model model(TypeDeclaration<?> declaration, List<Type> arguments, Scope scope) {
+            Map<String, Binding> variables = new HashMap<>();
+            if (declaration instanceof ClassOrInterfaceDeclaration) {
+                NodeList<TypeParameter> parameters = ((ClassOrInterfaceDeclaration) declaration).getTypeParameters();
+                for (int i = 0; i < parameters.size(); i++) {
+                    variables.put(parameters.get(i).getNameAsString(), i < arguments.size() ? new Binding(arguments.get(i), scope) : null);
+                }
+            }
+            boolean generic = !variables.isEmpty() && !arguments.isEmpty();
+            String key = qualifiedName(declaration);
+            if (generic) {
+                key += arguments.stream().map(Type::asString).collect(Collectors.joining(",", "<", ">"));
+            }
+            Model model = building.get(key);
+            if (model == null && !generic) {
+                model = models.get(key);
+            }
+            if (model != null) {
+                return model;
+            }
+
+            String name = declaration.getNameAsString();
+            if (generic) {
+                List<String> typeNames = new ArrayList<>();
+                for (Type argument : arguments) {
+                    Property property = resolve(argument, scope, new ArrayList<>());
+                    if (property instanceof ObjectProperty && property.getName() != null) {
+                        typeNames.add(property.getName());
+                    }
+                }
+                if (!typeNames.isEmpty()) {
+                    name = name + "«" + String.join(",", typeNames) + "»";
+                }
+            }
+            String source = declaration.findCompilationUnit()
+                    .flatMap(CompilationUnit::getStorage)
+                    .map(storage -> storage.getPath().toAbsolutePath().toString())
+                    .orElse(null);
+
+            if (declaration instanceof EnumDeclaration) {
+                List<String> enums = new ArrayList<>();
+                for (EnumConstantDeclaration entry : ((EnumDeclaration) declaration).getEntries()) {
+                    enums.add(entry.getNameAsString());
+                }
+                model = new Model(name, new StringProperty()._enum(enums), source);
+                building.put(key, model);
+                return model;
+            }
+
+            ObjectProperty objectProperty = new ObjectProperty().name(name);
+            model = new Model(name, objectProperty, source);
+            building.put(key, model);
+            declaration.getJavadocComment().ifPresent(c -> objectProperty.description(c.parse().toText()));
+            Scope fields = new Scope(declaration, variables);
+            if (declaration instanceof ClassOrInterfaceDeclaration && !((ClassOrInterfaceDeclaration) declaration).isInterface()) {
+                for (ClassOrInterfaceType extendedType : ((ClassOrInterfaceDeclaration) declaration).getExtendedTypes()) {
+                    Property parent = resolve(extendedType, fields, model.getReferences());
+                    if (parent instanceof ObjectProperty && ((ObjectProperty) parent).getProperties() != null) {
+                        for (Map.Entry<String, Property> entry : ((ObjectProperty) parent).getProperties().entrySet()) {
+                            objectProperty.property(entry.getKey(), entry.getValue());
+                        }
+                    }
+                }
+            }
+            for (FieldDeclaration field : declaration.getFields()) {
+                if (field.isStatic()) continue;
+                for (VariableDeclarator variable : field.getVariables()) {
+                    Property property = resolve(variable.getType(), fields, model.getReferences());
+                    ResolveSwaggerType.describeField(property, () -> field.getJavadocComment()
+                                    .map(c -> c.parse().getDescription().toText())
+                                    .orElse(null),
+                            () -> field.isAnnotationPresent("NotNull"));
+                    objectProperty.property(variable.getNameAsString(), property);
+                }
+            }
+            return model;
+        }
+
+        /**
+         * 不带泛型参数的模型供之后的解析共用
+         */
+        void publish() {
+            for (Map.Entry<String, Model> entry : building.entrySet()) {
+                if (!entry.getKey().endsWith(">")) {
+                    models.putIfAbsent(entry.getKey(), entry.getValue());
+                }
+            }
+        }
+    }
+
+    /**
+     * 依次按外层类及其内部类、同一文件、单类型导入、同一个包、通配导入查找,
+     * 都没有时使用唯一同名的源文件
+     *
+     * @param name 简单名称或带外层类、包名的名称
+     */
+    private Optional<TypeDeclaration<?>> find(String name, Scope scope) {
+        String[] names = name.split("\\.");
+        Optional<TypeDeclaration<?>> declaration = findSimple(names[0], scope);
+        if (!declaration.isPresent()) {
+            return names.length > 1 ? findQualified(name) : Optional.empty();
+        }
+        return member(declaration.get(), names, 1);
+    }
+
+    private Optional<TypeDeclaration<?>> findSimple(String name, Scope scope) {
+        for (Node node = scope.anchor; node != null; node = node.getParentNode().orElse(null)) {
+            if (node instanceof TypeDeclaration) {
+                TypeDeclaration<?> declaration = (TypeDeclaration<?>) node;
+                if (declaration.getNameAsString().equals(name)) {
+                    return Optional.of(declaration);
+                }
+                Optional<TypeDeclaration<?>> member = member(declaration, name);
+                if (member.isPresent()) {
+                    return member;
+                }
+            } else if (node instanceof CompilationUnit) {
+                for (TypeDeclaration<?> declaration : ((CompilationUnit) node).getTypes()) {
+                    if (declaration.getNameAsString().equals(name)) {
+                        return Optional.of(declaration);
+                    }
+                }
+            }
+        }
+
+        CompilationUnit cu = scope.anchor.findCompilationUnit().orElse(null);
+        if (cu != null) {
+            for (ImportDeclaration importDeclaration : cu.getImports()) {
+                String imported = importDeclaration.getNameAsString();
+                if (!importDeclaration.isStatic() && !importDeclaration.isAsterisk()
+                        && (imported.equals(name) || imported.endsWith("." + name))) {
+                    return findQualified(imported);
+                }
+            }
+            String packageName = cu.getPackageDeclaration().map(p -> p.getNameAsString()).orElse("");
+            Optional<TypeDeclaration<?>> declaration = findQualified(packageName.isEmpty() ? name : packageName + "." + name);
+            if (declaration.isPresent()) {
+                return declaration;
+            }
+            for (ImportDeclaration importDeclaration : cu.getImports()) {
+                if (!importDeclaration.isStatic() && importDeclaration.isAsterisk()) {
+                    declaration = findQualified(importDeclaration.getNameAsString() + "." + name);
+                    if (declaration.isPresent()) {
+                        return declaration;
+                    }
+                }
+            }
+        }
+
+        List<Path> candidates = sources.getOrDefault(name, Collections.emptyList());
+        return candidates.size() == 1 ? topLevel(candidates.get(0), name) : Optional.empty();
+    }
+
+    /**
+     * 按类型全名查找,包名和外层类的分界未知时从后向前尝试
+     */
+    private Optional<TypeDeclaration<?>> findQualified(String qualifiedName) {
+        String[] names = qualifiedName.split("\\.");
+        for (int i = names.length - 1; i >= 0; i--) {
+            String packageName = String.join(".", Arrays.copyOfRange(names, 0, i));
+            int from = i + 1;
+            for (Path source : sources.getOrDefault(names[i], Collections.emptyList())) {
+                Optional<CompilationUnit> cu = unit(source);
+                if (!cu.isPresent() || !cu.get().getPackageDeclaration().map(p -> p.getNameAsString()).orElse("").equals(packageName)) {
+                    continue;
+                }
+                Optional<TypeDeclaration<?>> declaration = topLevel(source, names[i]).flatMap(d -> member(d, names, from));
+                if (declaration.isPresent()) {
+                    return declaration;
+                }
+            }
+        }
+        return Optional.empty();
+    }
+
+    private Optional<TypeDeclaration<?>> topLevel(Path source, String name) {
+        return unit(source).flatMap(cu -> cu.getTypes().stream()
+                .filter(t -> t.getNameAsString().equals(name))
+                .findFirst());
+    }
+
+    private static Optional<TypeDeclaration<?>> member(TypeDeclaration<?> declaration, String[] names, int from) {
+        Optional<TypeDeclaration<?>> member = Optional.of(declaration);
+        for (int i = from; i < names.length && member.isPresent(); i++) {
+            String name = names[i];
+            member = member.flatMap(d -> member(d, name));
+        }
+        return member;
+    }
+
+    private static Optional<TypeDeclaration<?>> member(TypeDeclaration<?> declaration, String name) {
+        for (BodyDeclaration<?> member : declaration.getMembers()) {
+            if (member instanceof TypeDeclaration && ((TypeDeclaration<?>) member).getNameAsString().equals(name)) {
+                return Optional.of((TypeDeclaration<?>) member);
+            }
+        }
+        return Optional.empty();
+    }
+
+    private Optional<CompilationUnit> unit(Path source) {
+        Optional<CompilationUnit> cu = units.get(source);
+        if (cu == null) {
+            cu = parse(source);
+            units.putIfAbsent(source, cu);
+        }
+        return cu;
+    }
+
+    private Optional<CompilationUnit> parse(Path source) {
+        try {
+            ParseResult<CompilationUnit> parseResult = new JavaParser().parse(ParseStart.COMPILATION_UNIT, provider(source));
+            return parseResult.getResult().map(cu -> cu.setStorage(source));
+        } catch (IOException e) {
+            log.warn(e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    private static String typeName(ClassOrInterfaceType classType) {
+        return classType.getScope().map(scope -> typeName(scope) + ".").orElse("") + classType.getNameAsString();
+    }
+
+    private static String qualifiedName(TypeDeclaration<?> declaration) {
+        Deque<String> names = new ArrayDeque<>();
+        Node node = declaration;
+        while (node != null) {
+            if (node instanceof TypeDeclaration) {
+                names.push(((TypeDeclaration<?>) node).getNameAsString());
+            } else if (node instanceof CompilationUnit) {
+                ((CompilationUnit) node).getPackageDeclaration().ifPresent(p -> names.push(p.getNameAsString()));
+            }
+            node = node.getParentNode().orElse(null);
+        }
+        return String.join(".", names);
+    }
+
+    private Property base(String name) {
+        Supplier<Property> supplier = baseTypes.get(name);
+        return supplier == null ? null : supplier.get();
+    }
+
+    /**
+     * 枚举会被调用方修改描述,每次返回副本;对象类型返回共用的实例
+     */
+    private static Property copy(Property property) {
+        if (property instanceof StringProperty && ((StringProperty) property).getEnum() != null) {
+            return new StringProperty()
+                    ._enum(new ArrayList<>(((StringProperty) property).getEnum()))
+                    .description(property.getDescription());
+        }
+        return property;
+    }
+
+    private Property array(Property items) {
+        if (items == null) {
+            items = new ObjectProperty();
+        }
+        if (items instanceof ObjectProperty && items.getName() != null) {
+            return new ArrayProperty(new RefProperty("#/definitions/" + items.getName()));
+        }
+        return new ArrayProperty(items);
+    }
+
+    /**
+     * 查找类型名称的位置和泛型参数对应的类型
+     */
+    private static class Scope {
+
+        private final Node anchor;
+
+        /**
+         * 泛型参数名称 -> 使用处的类型,没有指定时为 null
+         */
+        private final Map<String, Binding> variables;
+
+        Scope(Node anchor, Map<String, Binding> variables) {
+            this.anchor = anchor;
+            this.variables = variables;
+        }
+    }
+
+    /**
+     * 泛型参数在使用处的类型,按使用处查找
+     */
+    private static class Binding {
+
+        private final Type type;
+
+        private final Scope scope;
+
+        Binding(Type type, Scope scope) {
+            this.type = type;
+            this.scope = scope;
+        }
+    }
+
+    @Getter
+    static class Model {
+
+        private final String name;
+
+        private final Property property;
+
+        /**
+         * 源文件,类型在没有路径的源码中时为 null
+         */
+        private final String source;
+
+        /**
+         * 字段和父类引用到的模型
+         */
+        private final List<Model> references = new ArrayList<>();
+
+        Model(String name, Property property, String source) {
+            this.name = name;
+            this.property = property;
+            this.source = source;
+        }
+    }
+}
@@ -0,0 +1,232 @@
+package com.vcg.docs;
+
+import com.vcg.docs.processor.SwaggerProcessor;
+import com.vcg.docs.visitor.TestExtractorProvider;
+import io.swagger.models.HttpMethod;
+import io.swagger.models.Operation;
+import io.swagger.models.Path;
+import io.swagger.models.Swagger;
+import io.swagger.models.parameters.Parameter;
+import io.swagger.util.Json;
+import org.apache.commons.io.FileUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.springframework.web.bind.annotation.RestController;
+
+import javax.tools.JavaCompiler;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+import java.io.File;
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.*;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * 同一个模块分别从源码、字节码和注解处理器提取,接口和参数应一致
+ */
+public class ExtractorParityTest {
+
+    private static final String PACKAGE = "com/example/demo/";
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private File module;
+
+    private File sourceDirectory;
+
+    private File classes;
+
+    private File springWeb;
+
+    @Before
+    public void setUp() throws IOException, URISyntaxException {
+        System.setProperty("docs.cache", "false");
+        System.setProperty("docs.cache.dir", folder.newFolder("cache").getAbsolutePath());
+        module = folder.newFolder("demo");
+        sourceDirectory = new File(module, "src/main/java");
+        classes = new File(module, "target/classes");
+        springWeb = new File(RestController.class.getProtectionDomain().getCodeSource().getLocation().toURI());
+        FileUtils.copyFileToDirectory(springWeb, new File(module, "target/dependency"));
+        File fixture = new File(getClass().getResource("/fixture/demo/src/main/java").toURI());
+        try (Stream<java.nio.file.Path> stream = Files.walk(fixture.toPath())) {
+            for (java.nio.file.Path path : stream.filter(Files::isRegularFile).collect(Collectors.toList())) {
+                java.nio.file.Path target = sourceDirectory.toPath().resolve(fixture.toPath().relativize(path));
+                Files.createDirectories(target.getParent());
+                Files.copy(path, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+        classes.mkdirs();
+        compile(sources("ApiPaths.java", "User.java", "UserController.java", "OrderController.java"));
+    }
+
+    @After
+    public void tearDown() {
+        System.clearProperty("docs.cache");
+        System.clearProperty("docs.cache.dir");
+        System.clearProperty("docs.bytecode");
+        TestExtractorProvider.setEnabled(false);
+    }
+
+    @Test
+    public void bytecodeAndProcessorMatchSources() throws IOException {
+        Set<String> sources = operations(parseModule(false));
+        assertEquals(new TreeSet<>(Arrays.asList(
+                "DELETE /api/users/{id} path:id",
+                "GET /api/orders/{id} path:id",
+                "GET /api/users header:X-Tenant query:name",
+                "GET /api/users/{id} path:id",
+                "POST /api/users body")), sources);
+
+        assertEquals(sources, operations(parseModule(true)));
+        assertEquals(sources, operations(processed()));
+    }
+
+    @Test
+    public void bytecodeAndProcessorMatchSourceDefinitions() throws IOException {
+        String sources = definitions(parseModule(false));
+        assertTrue(sources, sources.contains("\"status\""));
+
+        assertEquals(sources, definitions(parseModule(true)));
+        assertEquals(sources, definitions(processed()));
+    }
+
+    @Test
+    public void bytecodeFallsBackToSourcesWhenClassesAreStale() throws IOException {
+        File controller = new File(sourceDirectory, PACKAGE + "OrderController.java");
+        String content = new String(Files.readAllBytes(controller.toPath()), StandardCharsets.UTF_8);
+        Files.write(controller.toPath(), content.replace("/orders", "/purchases").getBytes(StandardCharsets.UTF_8));
+        assertTrue(controller.setLastModified(System.currentTimeMillis() + 10000));
+
+        Set<String> operations = operations(parseModule(true));
+        assertTrue(operations.contains("GET /api/purchases/{id} path:id"));
+        assertFalse(operations.contains("GET /api/orders/{id} path:id"));
+    }
+
+    @Test
+    public void bytecodeFallsBackToSourcesWhenControllerSourceIsDeleted() {
+        assertTrue(new File(sourceDirectory, PACKAGE + "OrderController.java").delete());
+
+        Set<String> operations = operations(parseModule(true));
+        assertFalse(operations.contains("GET /api/orders/{id} path:id"));
+        assertTrue(operations.contains("GET /api/users/{id} path:id"));
+    }
+
+    @Test
+    public void processorKeepsUnchangedControllersOnIncrementalCompile() throws IOException {
+        Set<String> full = operations(processed());
+
+        compile(sources("UserController.java"));
+
+        assertEquals(full, operations(processed()));
+    }
+
+    @Test
+    public void processorDropsDeletedControllers() throws IOException {
+        assertTrue(new File(classes, PACKAGE + "OrderController.class").delete());
+        assertTrue(new File(sourceDirectory, PACKAGE + "OrderController.java").delete());
+
+        compile(sources("UserController.java"));
+
+        Set<String> operations = operations(processed());
+        assertFalse(operations.contains("GET /api/orders/{id} path:id"));
+        assertTrue(operations.contains("GET /api/users/{id} path:id"));
+    }
+
+    @Test
+    public void processorDropsModelsOfDeletedControllers() throws IOException {
+        assertTrue(processed().getDefinitions().containsKey("User"));
+        assertTrue(new File(classes, PACKAGE + "UserController.class").delete());
+        assertTrue(new File(sourceDirectory, PACKAGE + "UserController.java").delete());
+
+        compile(sources("OrderController.java"));
+
+        Swagger swagger = processed();
+        assertTrue(operations(swagger).contains("GET /api/orders/{id} path:id"));
+        assertTrue(swagger.getDefinitions() == null || !swagger.getDefinitions().containsKey("User"));
+    }
+
+    @Test
+    public void bytecodeRunsRegisteredExtractorsOnSources() {
+        TestExtractorProvider.setEnabled(true);
+
+        Set<String> operations = operations(parseModule(true));
+        assertTrue(operations.contains("GET /extension/UserController"));
+        assertTrue(operations.contains("GET /extension/OrderController"));
+        assertEquals(operations, operations(parseModule(false)));
+    }
+
+    /**
+     * 依赖已复制到 target/dependency,不执行 maven 构建
+     */
+    private Swagger parseModule(boolean bytecode) {
+        System.setProperty("docs.bytecode", String.valueOf(bytecode));
+        ScSwaggerDocs scSwaggerDocs = new ScSwaggerDocs();
+        scSwaggerDocs.setSkipBuild(true);
+        return scSwaggerDocs.parse(module.getAbsolutePath(), null).get("demo");
+    }
+
+    private Swagger processed() throws IOException {
+        return Json.mapper().readValue(new File(classes, "swagger.json"), Swagger.class);
+    }
+
+    private List<File> sources(String... names) {
+        return Arrays.stream(names)
+                .map(name -> new File(sourceDirectory, PACKAGE + name))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * 编译时 class 目录在 classpath 中,与增量编译时只编译修改过的文件一致
+     */
+    private void compile(List<File> files) throws IOException {
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        try (StandardJavaFileManager fileManager = compiler.getStandardFileManager(null, null, null)) {
+            List<String> options = Arrays.asList("-g", "-encoding", "UTF-8", "-d", classes.getPath(),
+                    "-classpath", springWeb.getPath() + File.pathSeparator + classes.getPath(),
+                    "-Adocs.output=swagger.json");
+            JavaCompiler.CompilationTask task = compiler.getTask(null, fileManager, null, options, null,
+                    fileManager.getJavaFileObjectsFromFiles(files));
+            task.setProcessors(Collections.singletonList(new SwaggerProcessor()));
+            assertTrue("Unable to compile " + files, task.call());
+        }
+    }
+
+    /**
+     * 按名称排序的模型定义
+     */
+    private static String definitions(Swagger swagger) throws IOException {
+        return Json.pretty().writeValueAsString(new TreeMap<>(swagger.getDefinitions()));
+    }
+
+    /**
+     * 每个接口为 方法 路径 参数位置:参数名,参数按名称排序,请求体不比较名称
+     */
+    private static Set<String> operations(Swagger swagger) {
+        Set<String> operations = new TreeSet<>();
+        for (Map.Entry<String, Path> path : swagger.getPaths().entrySet()) {
+            for (Map.Entry<HttpMethod, Operation> entry : path.getValue().getOperationMap().entrySet()) {
+                StringBuilder sb = new StringBuilder(entry.getKey().name()).append(" ").append(path.getKey());
+                List<Parameter> parameters = entry.getValue().getParameters();
+                (parameters == null ? Stream.<Parameter>empty() : parameters.stream())
+                        .map(p -> "body".equals(p.getIn()) ? "body" : p.getIn() + ":" + p.getName())
+                        .sorted()
+                        .forEach(p -> sb.append(" ").append(p));
+                operations.add(sb.toString());
+            }
+        }
+        return operations;
+    }
+}
@@ -0,0 +1,60 @@
+package com.vcg.docs;
+
+import com.github.javaparser.symbolsolver.model.resolution.TypeSolver;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Collections;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class ParseContextTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private ParseContext context;
+
+    private File orders;
+
+    private File users;
+
+    @Before
+    public void setUp() throws IOException {
+        System.setProperty("docs.cache", "false");
+        File sourceDirectory = TestJars.write(folder.newFolder("src"), TestJars.sources(
+                "com.demo.Api", "package com.demo; public class Api { }"));
+        orders = folder.newFolder("orders", "target", "dependency");
+        users = folder.newFolder("users", "target", "dependency");
+        TestJars.jar(new File(orders, "orders-model-1.0.jar"), TestJars.sources(
+                "com.lib.Order", "package com.lib; public class Order { }"));
+        TestJars.jar(new File(users, "users-model-1.0.jar"), TestJars.sources(
+                "com.lib.User", "package com.lib; public class User { }"));
+        context = new ParseContext(Collections.singletonList(sourceDirectory), 1);
+    }
+
+    @After
+    public void tearDown() {
+        context.close();
+        System.clearProperty("docs.cache");
+    }
+
+    @Test
+    public void keepsDependenciesOfEachModuleApart() {
+        TypeSolver orderSolver = context.newTypeSolver(orders);
+        TypeSolver userSolver = context.newTypeSolver(users);
+
+        assertTrue(orderSolver.tryToSolveType("com.lib.Order").isSolved());
+        assertFalse(orderSolver.tryToSolveType("com.lib.User").isSolved());
+        assertTrue(userSolver.tryToSolveType("com.lib.User").isSolved());
+        assertFalse(userSolver.tryToSolveType("com.lib.Order").isSolved());
+        assertFalse(context.newTypeSolver(orders).tryToSolveType("com.lib.User").isSolved());
+        assertTrue(orderSolver.tryToSolveType("com.demo.Api").isSolved());
+    }
+}
@@ -0,0 +1,153 @@
+package com.vcg.docs;
+
+import io.swagger.models.Swagger;
+import io.swagger.util.Json;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.*;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class ScSwaggerDocsTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private File project;
+
+    @Before
+    public void setUp() throws IOException {
+        System.setProperty("docs.cache", "false");
+        System.setProperty("docs.skipBuild", "true");
+        project = folder.newFolder("project");
+        TestJars.write(new File(project, "users/src/main/java"), module("users", "User"));
+        TestJars.write(new File(project, "orders/src/main/java"), module("orders", "Order"));
+    }
+
+    @After
+    public void tearDown() {
+        System.clearProperty("docs.cache");
+        System.clearProperty("docs.skipBuild");
+    }
+
+    @Test
+    public void visitsFilesConcurrentlyLikeSerially() throws IOException {
+        Map<String, String> serial = parse(1, 1);
+        assertEquals(new HashSet<>(Arrays.asList("users", "orders")), serial.keySet());
+        assertTrue(serial.get("users"), serial.get("users").contains("/users/{id}"));
+        assertTrue(serial.get("users"), serial.get("users").contains("UserAddress"));
+
+        assertEquals(serial, parse(4, 1));
+    }
+
+    @Test
+    public void parsesModulesConcurrentlyLikeSerially() throws IOException {
+        assertEquals(parse(1, 1), parse(2, 2));
+    }
+
+    @Test
+    public void regeneratesOnlyModulesWhoseSpecChanged() throws Exception {
+        BlockingQueue<String> written = new LinkedBlockingQueue<>();
+        File outDirectory = folder.newFolder("out");
+        Thread watcher = new Thread(() -> {
+            try {
+                new ScSwaggerDocs().watch(project.getAbsolutePath(), null, outDirectory.getAbsolutePath(),
+                        (projectName, swagger) -> written.add(projectName));
+            } catch (InterruptedException ignored) {
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        watcher.start();
+        try {
+            assertEquals(new HashSet<>(Arrays.asList("users", "orders")),
+                    new HashSet<>(Arrays.asList(written.poll(60, TimeUnit.SECONDS), written.poll(60, TimeUnit.SECONDS))));
+            // 首次生成写入 metrics.json 后才开始监听
+            File metrics = new File(outDirectory, "metrics.json");
+            for (int i = 0; i < 100 && !metrics.exists(); i++) {
+                Thread.sleep(100);
+            }
+            assertTrue(metrics.exists());
+            Thread.sleep(1000);
+
+            File model = new File(project, "orders/src/main/java/com/demo/orders/Order.java");
+            String source = new String(Files.readAllBytes(model.toPath()), StandardCharsets.UTF_8);
+            Files.write(model.toPath(), source.replace("private String name;", "private String name; private String note;")
+                    .getBytes(StandardCharsets.UTF_8));
+
+            assertEquals("orders", written.poll(60, TimeUnit.SECONDS));
+            assertNull(written.poll(2, TimeUnit.SECONDS));
+        } finally {
+            watcher.interrupt();
+            watcher.join(10000);
+        }
+    }
+
+    @Test
+    public void parsesModuleAgainstReactorClassDirectories() throws IOException {
+        File classes = TestJars.classes(folder.newFolder("common"), TestJars.sources(
+                "com.demo.common.Money", "package com.demo.common; public class Money { private String currency; private Long cents; }"));
+        File sourceDirectory = TestJars.write(new File(folder.newFolder("billing"), "src/main/java"), TestJars.sources(
+                "com.demo.billing.Invoice", "package com.demo.billing; import com.demo.common.Money;"
+                        + " public class Invoice { private Money total; }",
+                "com.demo.billing.InvoiceController", "package com.demo.billing;"
+                        + " import org.springframework.web.bind.annotation.*;"
+                        + " @RestController public class InvoiceController {"
+                        + "   @GetMapping(\"/invoices/{id}\") public Invoice get(@PathVariable Long id) { return null; } }"));
+
+        Swagger swagger = new ScSwaggerDocs().parseModule(Collections.singletonList(sourceDirectory), Collections.singletonList(classes));
+
+        assertTrue(swagger.getPaths().containsKey("/invoices/{id}"));
+        assertEquals(new HashSet<>(Arrays.asList("currency", "cents")), swagger.getDefinitions().get("Money").getProperties().keySet());
+    }
+
+    private Map<String, String> parse(int threads, int parallelism) throws IOException {
+        ScSwaggerDocs scSwaggerDocs = new ScSwaggerDocs();
+        scSwaggerDocs.setThreads(threads);
+        scSwaggerDocs.setParallelism(parallelism);
+        Map<String, String> specs = new TreeMap<>();
+        for (Map.Entry<String, Swagger> entry : scSwaggerDocs.parse(project.getAbsolutePath(), null).entrySet()) {
+            specs.put(entry.getKey(), Json.pretty().writeValueAsString(entry.getValue()));
+        }
+        return specs;
+    }
+
+    /**
+     * 一个接口类和多个互相引用的模型,每个类型一个文件
+     */
+    private static Map<String, String> module(String name, String model) {
+        String pkg = "com.demo." + name;
+        String header = "package " + pkg + "; import java.util.List; import org.springframework.web.bind.annotation.*;";
+        Map<String, String> sources = new LinkedHashMap<>();
+        sources.put(pkg + "." + model + "Controller", header
+                + " @RestController @RequestMapping(\"/" + name + "\") public class " + model + "Controller {"
+                + "   @GetMapping(\"/{id}\") public " + model + " get(@PathVariable Long id) { return null; }"
+                + "   @PostMapping public List<" + model + "> save(@RequestBody " + model + " body) { return null; } }");
+        sources.put(pkg + "." + model, "package " + pkg + "; import java.util.List;"
+                + " public class " + model + " extends Base { private String name; private " + model + "Address address;"
+                + " private List<" + model + "Tag> tags; private " + model + " parent; }");
+        sources.put(pkg + ".Base", "package " + pkg + "; public class Base { private Long id; }");
+        sources.put(pkg + "." + model + "Address", "package " + pkg + "; public class " + model + "Address { private String city; }");
+        sources.put(pkg + "." + model + "Tag", "package " + pkg + "; public class " + model + "Tag { private String label; }");
+        for (int i = 0; i < 6; i++) {
+            sources.put(pkg + ".Other" + i + "Controller", header
+                    + " @RestController public class Other" + i + "Controller {"
+                    + "   @GetMapping(\"/" + name + "/other" + i + "\") public " + model + "Tag get() { return null; } }");
+        }
+        return sources;
+    }
+}
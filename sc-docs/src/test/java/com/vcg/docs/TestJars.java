@@ -0,0 +1,85 @@
+package com.vcg.docs;
+
+import javax.tools.JavaCompiler;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * 测试中按源码生成jar,源码为 类全名 -> 类的内容
+ */
+public class TestJars {
+
+    private TestJars() {
+    }
+
+    /**
+     * 编译过程的文件放在jar所在目录的 名称.build 目录下
+     */
+    public static File jar(File jar, Map<String, String> sources) throws IOException {
+        File classes = classes(new File(jar.getAbsoluteFile().getParentFile(), jar.getName() + ".build"), sources);
+        jar.getAbsoluteFile().getParentFile().mkdirs();
+        try (OutputStream out = new FileOutputStream(jar);
+             JarOutputStream jarOut = new JarOutputStream(out);
+             Stream<Path> stream = Files.walk(classes.toPath())) {
+            for (Path path : stream.filter(Files::isRegularFile).sorted().collect(Collectors.toList())) {
+                jarOut.putNextEntry(new JarEntry(classes.toPath().relativize(path).toString().replace(File.separatorChar, '/')));
+                jarOut.write(Files.readAllBytes(path));
+                jarOut.closeEntry();
+            }
+        }
+        return jar;
+    }
+
+    /**
+     * 源码写入 work/src,编译到 work/classes,与 reactor 中其他模块的 target/classes 相同
+     *
+     * @return class 目录
+     */
+    public static File classes(File work, Map<String, String> sources) throws IOException {
+        File sourceDirectory = write(new File(work, "src"), sources);
+        File classes = new File(work, "classes");
+        classes.mkdirs();
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        try (StandardJavaFileManager fileManager = compiler.getStandardFileManager(null, null, null);
+             Stream<Path> stream = Files.walk(sourceDirectory.toPath())) {
+            List<File> files = stream.filter(p -> p.toString().endsWith(".java")).map(Path::toFile).collect(Collectors.toList());
+            if (!compiler.getTask(null, fileManager, null, Arrays.asList("-g", "-proc:none", "-d", classes.getPath()), null,
+                    fileManager.getJavaFileObjectsFromFiles(files)).call()) {
+                throw new IllegalStateException("Unable to compile " + sources.keySet());
+            }
+        }
+        return classes;
+    }
+
+    /**
+     * 按包名写入源码目录
+     */
+    public static File write(File sourceDirectory, Map<String, String> sources) throws IOException {
+        for (Map.Entry<String, String> source : sources.entrySet()) {
+            File file = new File(sourceDirectory, source.getKey().replace('.', '/') + ".java");
+            file.getParentFile().mkdirs();
+            Files.write(file.toPath(), source.getValue().getBytes(StandardCharsets.UTF_8));
+        }
+        return sourceDirectory;
+    }
+
+    public static Map<String, String> sources(String... nameAndContent) {
+        Map<String, String> sources = new LinkedHashMap<>();
+        for (int i = 0; i < nameAndContent.length; i += 2) {
+            sources.put(nameAndContent[i], nameAndContent[i + 1]);
+        }
+        return sources;
+    }
+}
@@ -0,0 +1,78 @@
+package com.vcg.docs.cache;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class DependencyCacheTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private File project;
+
+    private File jar;
+
+    @Before
+    public void setUp() throws IOException {
+        System.setProperty("docs.cache.dir", folder.newFolder("cache").getAbsolutePath());
+        System.setProperty("maven.repo.local", folder.newFolder("repository").getAbsolutePath());
+        project = folder.newFolder("demo");
+        write(new File(project, "pom.xml"), "<project/>");
+        write(new File(project, "api/pom.xml"), "<project/>");
+        jar = new File(project, "api/target/dependency/com.example-model-1.0.jar");
+        write(jar, "jar");
+        DependencyCache.load(project.getPath()).save();
+    }
+
+    @After
+    public void tearDown() {
+        System.clearProperty("docs.cache.dir");
+        System.clearProperty("maven.repo.local");
+        System.clearProperty("docs.cache");
+        System.clearProperty("docs.dependencyCache");
+    }
+
+    @Test
+    public void reusesDependenciesWhenPomsAreUnchanged() {
+        assertTrue(DependencyCache.load(project.getPath()).restore());
+    }
+
+    @Test
+    public void rebuildsWhenPomChanges() throws IOException {
+        write(new File(project, "api/pom.xml"), "<project><version>2</version></project>");
+
+        assertFalse(DependencyCache.load(project.getPath()).restore());
+    }
+
+    @Test
+    public void rebuildsWhenJarIsMissingFromRepository() {
+        assertTrue(jar.delete());
+
+        assertFalse(DependencyCache.load(project.getPath()).restore());
+    }
+
+    @Test
+    public void switchesIndependentlyOfParseCache() {
+        System.setProperty("docs.cache", "false");
+        assertTrue(DependencyCache.load(project.getPath()).restore());
+
+        System.setProperty("docs.dependencyCache", "false");
+        assertFalse(DependencyCache.load(project.getPath()).restore());
+    }
+
+    private static void write(File file, String content) throws IOException {
+        file.getParentFile().mkdirs();
+        Files.write(file.toPath(), content.getBytes(StandardCharsets.UTF_8));
+    }
+}
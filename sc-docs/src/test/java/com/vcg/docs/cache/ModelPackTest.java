@@ -0,0 +1,86 @@
+package com.vcg.docs.cache;
+
+import com.vcg.docs.ParseContext;
+import com.vcg.docs.TestJars;
+import com.vcg.docs.visitor.ResolveSwaggerType;
+import org.apache.commons.io.FileUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Collections;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class ModelPackTest {
+
+    private static final String ORDER = "package com.lib; public class Order { private Item item; }";
+
+    private static final String ITEM = "package com.lib; public class Item { private String name; }";
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private File jar;
+
+    @Before
+    public void setUp() throws IOException {
+        System.setProperty("docs.cache", "false");
+        jar = TestJars.jar(new File(folder.newFolder("repository"), "lib-1.0.jar"),
+                TestJars.sources("com.lib.Order", ORDER, "com.lib.Item", ITEM));
+        File packFile = new File(folder.getRoot(), "packs/lib-1.0.models.json");
+        ModelPack.build(jar).write(packFile);
+        System.setProperty("docs.modelPacks", packFile.getParent());
+    }
+
+    @After
+    public void tearDown() {
+        System.clearProperty("docs.cache");
+        System.clearProperty("docs.modelPacks");
+    }
+
+    @Test
+    public void exportsTypesWithoutJarName() throws IOException {
+        ModelPack pack = ModelPack.read(new File(folder.getRoot(), "packs/lib-1.0.models.json"));
+
+        assertEquals(2, pack.getEntries().size());
+        assertEquals("com.lib.Item", pack.getEntries().get(0).getKey());
+        assertEquals(Collections.singletonList("com.lib.Item"), pack.getEntries().get(1).getDependencies());
+    }
+
+    @Test
+    public void loadsPackForModulesWithTheSameJar() throws IOException {
+        File dependency = folder.newFolder("api", "target", "dependency");
+        FileUtils.copyFile(jar, new File(dependency, "com.lib-lib-1.0.jar"));
+
+        ResolveSwaggerType resolveSwaggerType = resolve(dependency);
+
+        assertEquals(0, resolveSwaggerType.getMisses());
+        assertTrue(resolveSwaggerType.getHits() > 0);
+    }
+
+    @Test
+    public void skipsPackWhenJarContentDiffers() throws IOException {
+        File dependency = folder.newFolder("api", "target", "dependency");
+        TestJars.jar(new File(dependency, "lib-1.0.jar"), TestJars.sources("com.lib.Order", ORDER,
+                "com.lib.Item", "package com.lib; public class Item { private String name; private int count; }"));
+
+        ResolveSwaggerType resolveSwaggerType = resolve(dependency);
+
+        assertEquals(2, resolveSwaggerType.getMisses());
+    }
+
+    private ResolveSwaggerType resolve(File dependency) throws IOException {
+        try (ParseContext context = new ParseContext(Collections.singletonList(folder.newFolder("src")), 1)) {
+            context.loadModelPacks(dependency);
+            ResolveSwaggerType resolveSwaggerType = context.getResolveSwaggerType();
+            resolveSwaggerType.resolve(context.newTypeSolver(dependency).solveType("com.lib.Order"), context.newTypeSolver(dependency));
+            return resolveSwaggerType;
+        }
+    }
+}
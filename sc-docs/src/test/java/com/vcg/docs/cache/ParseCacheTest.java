@@ -0,0 +1,144 @@
+package com.vcg.docs.cache;
+
+import com.vcg.docs.scan.ConstantTable;
+import com.vcg.docs.visitor.ResolveTrace;
+import io.swagger.models.Swagger;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+public class ParseCacheTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private File project;
+
+    private List<File> sourceDirectories;
+
+    private Path controller;
+
+    private Path model;
+
+    @Before
+    public void setUp() throws IOException {
+        System.setProperty("docs.cache.dir", folder.newFolder("cache").getAbsolutePath());
+        project = folder.newFolder("demo");
+        File sourceDirectory = new File(project, "src/main/java");
+        sourceDirectories = Collections.singletonList(sourceDirectory);
+        controller = write(sourceDirectory, "com/example/UserController.java", "class UserController {}");
+        model = write(sourceDirectory, "com/example/User.java", "class User {}");
+    }
+
+    @After
+    public void tearDown() {
+        System.clearProperty("docs.cache.dir");
+    }
+
+    @Test
+    public void reusesUnchangedSources() {
+        put(ParseCache.load(project.getPath(), "v1"));
+
+        assertNotNull(ParseCache.load(project.getPath(), "v1").get(controller, ParseCache.hash(sourceDirectories)));
+    }
+
+    @Test
+    public void invalidatesChangedSource() throws IOException {
+        put(ParseCache.load(project.getPath(), "v1"));
+        Files.write(controller, "class UserController { void get() {} }".getBytes(StandardCharsets.UTF_8));
+
+        assertNull(ParseCache.load(project.getPath(), "v1").get(controller, ParseCache.hash(sourceDirectories)));
+    }
+
+    @Test
+    public void invalidatesChangedDependency() throws IOException {
+        put(ParseCache.load(project.getPath(), "v1"));
+        Files.write(model, "class User { String name; }".getBytes(StandardCharsets.UTF_8));
+
+        assertNull(ParseCache.load(project.getPath(), "v1").get(controller, ParseCache.hash(sourceDirectories)));
+    }
+
+    @Test
+    public void invalidatesChangedFingerprint() {
+        put(ParseCache.load(project.getPath(), "v1"));
+
+        assertNull(ParseCache.load(project.getPath(), "v2").get(controller, ParseCache.hash(sourceDirectories)));
+    }
+
+    @Test
+    public void dropsDeletedSources() {
+        ParseCache cache = ParseCache.load(project.getPath(), "v1");
+        put(cache);
+        cache.retain(Collections.singletonList(model));
+        cache.save();
+
+        assertNull(ParseCache.load(project.getPath(), "v1").get(controller, ParseCache.hash(sourceDirectories)));
+    }
+
+    @Test
+    public void skipsWhenDisabled() {
+        put(ParseCache.load(project.getPath(), "v1"));
+        System.setProperty("docs.cache", "false");
+        try {
+            assertNull(ParseCache.load(project.getPath(), "v1").get(controller, ParseCache.hash(sourceDirectories)));
+        } finally {
+            System.clearProperty("docs.cache");
+        }
+    }
+
+    @Test
+    public void invalidatesOnlyForReferencedConstants() {
+        ConstantTable constants = constants("String USERS = \"/users\"; String ORDERS = \"/orders\";");
+        Map<String, String> hashes = ParseCache.hash(sourceDirectories);
+        ResolveTrace trace = new ResolveTrace();
+        trace.getConstants().add("ApiPaths.USERS");
+        ParseCache cache = ParseCache.load(project.getPath(), "v1", constants);
+        cache.put(controller, hashes, sourceDirectories, trace, new Swagger());
+        cache.save();
+
+        ConstantTable ordersChanged = constants("String USERS = \"/users\"; String ORDERS = \"/purchases\";");
+        assertNotNull(ParseCache.load(project.getPath(), "v1", ordersChanged).get(controller, hashes));
+        ConstantTable usersChanged = constants("String USERS = \"/members\"; String ORDERS = \"/orders\";");
+        assertNull(ParseCache.load(project.getPath(), "v1", usersChanged).get(controller, hashes));
+    }
+
+    private static ConstantTable constants(String body) {
+        ConstantTable constants = new ConstantTable();
+        constants.add(Paths.get("ApiPaths.java"), ("interface ApiPaths { " + body + " }").getBytes(StandardCharsets.UTF_8));
+        return constants.build();
+    }
+
+    /**
+     * 缓存 UserController 的解析结果,依赖 User
+     */
+    private void put(ParseCache cache) {
+        Map<String, String> hashes = ParseCache.hash(sourceDirectories);
+        ResolveTrace trace = new ResolveTrace();
+        trace.getTypeNames().add("com.example.User");
+        cache.put(controller, hashes, sourceDirectories, trace, new Swagger().basePath("/api"));
+        cache.save();
+        assertEquals("/api", cache.get(controller, hashes).getBasePath());
+    }
+
+    private static Path write(File sourceDirectory, String name, String content) throws IOException {
+        Path path = new File(sourceDirectory, name).toPath();
+        Files.createDirectories(path.getParent());
+        return Files.write(path, content.getBytes(StandardCharsets.UTF_8));
+    }
+}
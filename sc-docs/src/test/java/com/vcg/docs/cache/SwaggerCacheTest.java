@@ -0,0 +1,23 @@
+package com.vcg.docs.cache;
+
+import io.swagger.models.Info;
+import io.swagger.models.Swagger;
+import org.junit.Test;
+
+import static org.junit.Assert.assertSame;
+
+public class SwaggerCacheTest {
+
+    @Test
+    public void servesPinnedDocsInsteadOfCachedOnes() {
+        Swagger cached = new Swagger().info(new Info().title("cached"));
+        Swagger watched = new Swagger().info(new Info().title("watched"));
+
+        SwaggerCache.put("swagger-cache-test", cached);
+        assertSame(cached, SwaggerCache.get("swagger-cache-test"));
+
+        SwaggerCache.pin("swagger-cache-test", watched);
+        SwaggerCache.put("swagger-cache-test", cached);
+        assertSame(watched, SwaggerCache.get("swagger-cache-test"));
+    }
+}
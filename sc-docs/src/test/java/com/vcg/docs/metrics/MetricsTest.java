@@ -0,0 +1,62 @@
+package com.vcg.docs.metrics;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class MetricsTest {
+
+    private final Metrics metrics = new Metrics();
+
+    @Test
+    public void recordsPhasesPerModuleWithCounts() throws InterruptedException {
+        try (Metrics.Phase phase = metrics.start("visit", "users")) {
+            phase.count("files", 2);
+            phase.count("files", 3);
+            Thread.sleep(20);
+        }
+        try (Metrics.Phase ignored = metrics.start("write", null)) {
+        }
+
+        List<Metrics.Phase> phases = metrics.getPhases();
+        assertEquals(2, phases.size());
+        assertEquals("visit", phases.get(0).getName());
+        assertEquals("users", phases.get(0).getModule());
+        assertEquals(5, phases.get(0).getCounts().get("files").get());
+        assertTrue(phases.get(0).getWallMs() >= 20);
+        assertTrue(phases.get(0).getHeapUsedBytes() > 0);
+    }
+
+    @Test
+    public void accumulatesWorkTrackedOnOtherThreads() throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        List<Object> allocations = Collections.synchronizedList(new ArrayList<>());
+        try (Metrics.Phase phase = metrics.start("parse", "users")) {
+            for (int i = 0; i < 4; i++) {
+                executor.submit(() -> phase.track(() -> allocations.add(new byte[1 << 20])));
+            }
+            executor.shutdown();
+            assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+        }
+
+        assertTrue(metrics.getPhases().get(0).getAllocatedBytes() >= 4 << 20);
+    }
+
+    @Test
+    public void keepsOnlyTheLatestPassAfterReset() {
+        metrics.start("visit", "users").close();
+        metrics.reset();
+        metrics.start("visit", "orders").close();
+
+        assertEquals(1, metrics.getPhases().size());
+        assertEquals("orders", metrics.getPhases().get(0).getModule());
+    }
+}
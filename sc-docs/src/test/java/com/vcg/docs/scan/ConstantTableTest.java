@@ -0,0 +1,115 @@
+package com.vcg.docs.scan;
+
+import com.github.javaparser.JavaParser;
+import com.github.javaparser.ast.CompilationUnit;
+import com.github.javaparser.ast.expr.AnnotationExpr;
+import com.github.javaparser.ast.expr.Expression;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Set;
+import java.util.TreeSet;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class ConstantTableTest {
+
+    private static final String API_PATHS = "package com.example;\n"
+            + "\n"
+            + "// public static final String COMMENTED = \"/line\";\n"
+            + "/* String BLOCK = \"/block\"; */\n"
+            + "public interface ApiPaths {\n"
+            + "    String BASE = \"/api\";\n"
+            + "    String USERS = BASE + \"/users\";\n"
+            + "    String SEPARATOR = \";{\";\n"
+            + "    String VERSION = 1 + 2 + \"a\" + 1 + 2;\n"
+            + "    default String local() {\n"
+            + "        String LOCAL = \"/local\";\n"
+            + "        return LOCAL;\n"
+            + "    }\n"
+            + "    class Orders {\n"
+            + "        public static final String LIST = BASE + \"/orders\";\n"
+            + "        String INSTANCE = \"/instance\";\n"
+            + "    }\n"
+            + "}\n";
+
+    private static final String CONTROLLER = "package com.example;\n"
+            + "\n"
+            + "public class UserController {\n"
+            + "    private static final String DETAIL = \"/{id}\";\n"
+            + "    @RequestMapping(ApiPaths.USERS + DETAIL)\n"
+            + "    public void get() {\n"
+            + "    }\n"
+            + "    @RequestMapping(produces = MediaType.APPLICATION_JSON_VALUE)\n"
+            + "    public void json() {\n"
+            + "    }\n"
+            + "    @RequestMapping(other.ApiPaths.BASE)\n"
+            + "    public void other() {\n"
+            + "    }\n"
+            + "}\n";
+
+    private ConstantTable table;
+
+    @Before
+    public void setUp() {
+        table = new ConstantTable();
+        table.add(Paths.get("ApiPaths.java"), API_PATHS.getBytes(StandardCharsets.UTF_8));
+        table.add(Paths.get("UserController.java"), CONTROLLER.getBytes(StandardCharsets.UTF_8));
+        table.build();
+    }
+
+    @Test
+    public void concatenatesConstants() {
+        assertEquals("/api", table.get("com.example.ApiPaths.BASE"));
+        assertEquals("/api/users", table.get("ApiPaths.USERS"));
+        assertEquals(";{", table.get("SEPARATOR"));
+        assertEquals("/api/orders", table.get("ApiPaths.Orders.LIST"));
+        assertEquals("/api/orders", table.get("Orders.LIST"));
+    }
+
+    @Test
+    public void foldsNumbersBeforeConcatenation() {
+        assertEquals("3a12", table.get("ApiPaths.VERSION"));
+    }
+
+    @Test
+    public void ignoresCommentsLocalsAndInstanceFields() {
+        assertNull(table.get("COMMENTED"));
+        assertNull(table.get("BLOCK"));
+        assertNull(table.get("LOCAL"));
+        assertNull(table.get("Orders.INSTANCE"));
+    }
+
+    @Test
+    public void resolvesAnnotationValues() {
+        CompilationUnit unit = JavaParser.parse(CONTROLLER);
+        assertEquals("/api/users/{id}", table.resolve(value(unit, "get")));
+        assertNull(table.resolve(value(unit, "json")));
+        assertNull(table.resolve(value(unit, "other")));
+    }
+
+    @Test
+    public void recordsLookedUpNames() {
+        CompilationUnit unit = JavaParser.parse(CONTROLLER);
+        Set<String> names = new TreeSet<>();
+        table.resolve(value(unit, "get"), names);
+        table.resolve(value(unit, "other"), names);
+
+        assertEquals(new TreeSet<>(Arrays.asList("ApiPaths.USERS", "UserController.DETAIL", "other.ApiPaths.BASE")), names);
+        assertEquals(table.digest(names), table.digest(new ArrayList<>(names)));
+    }
+
+    private static Expression value(CompilationUnit unit, String method) {
+        AnnotationExpr annotation = unit.getClassByName("UserController").get()
+                .getMethodsByName(method).get(0)
+                .getAnnotationByName("RequestMapping").get();
+        return annotation.isSingleMemberAnnotationExpr()
+                ? annotation.asSingleMemberAnnotationExpr().getMemberValue()
+                : annotation.asNormalAnnotationExpr().getPairs().get(0).getValue();
+    }
+}
@@ -0,0 +1,74 @@
+package com.vcg.docs.scan;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+public class SourceScannerTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private Path controller;
+
+    private Path resource;
+
+    private Path service;
+
+    private Path model;
+
+    @Before
+    public void setUp() throws IOException {
+        model = write("Order.java", "@Restful public class Order { }");
+        controller = write("OrderController.java", "@org.springframework.web.bind.annotation.RestController\n"
+                + "public class OrderController { }");
+        service = write("OrderServiceImpl.java", "public class OrderServiceImpl extends Base<Order>\n"
+                + "        implements java.io.Serializable, com.demo.OrderService { }");
+        resource = write("OrderResource.java", "@ Path(\"/orders\") public class OrderResource { }");
+    }
+
+    @After
+    public void tearDown() {
+        System.clearProperty("docs.scan");
+    }
+
+    @Test
+    public void keepsFilesWithEndpointAnnotationsInTheirOriginalOrder() {
+        SourceScanner scanner = new SourceScanner(new HashSet<>(Arrays.asList("RestController", "Path")));
+
+        assertEquals(Arrays.asList(controller, resource), scanner.scan(Arrays.asList(model, controller, service, resource)));
+    }
+
+    @Test
+    public void keepsImplementationsOfEndpointInterfaces() {
+        SourceScanner scanner = new SourceScanner(Collections.singleton("RestController"), Collections.singleton("OrderService"));
+
+        assertEquals(Arrays.asList(controller, service), scanner.scan(Arrays.asList(model, controller, service, resource)));
+    }
+
+    @Test
+    public void scansNothingWhenDisabled() {
+        System.setProperty("docs.scan", "false");
+        List<Path> sources = Arrays.asList(model, controller, service, resource);
+
+        assertEquals(sources, new SourceScanner(Collections.singleton("RestController")).scan(sources));
+    }
+
+    private Path write(String name, String content) throws IOException {
+        return Files.write(new File(folder.getRoot(), name).toPath(), content.getBytes(StandardCharsets.UTF_8));
+    }
+}
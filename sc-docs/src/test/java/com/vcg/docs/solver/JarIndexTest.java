@@ -0,0 +1,72 @@
+package com.vcg.docs.solver;
+
+import com.github.javaparser.symbolsolver.resolution.typesolvers.CombinedTypeSolver;
+import com.vcg.docs.TestJars;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.Collections;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+public class JarIndexTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private File cache;
+
+    private File jar;
+
+    @Before
+    public void setUp() throws IOException {
+        cache = folder.newFolder("cache");
+        System.setProperty("docs.cache.dir", cache.getAbsolutePath());
+        jar = TestJars.jar(new File(folder.newFolder("lib"), "model-1.0.jar"), TestJars.sources(
+                "com.lib.User", "package com.lib; public class User { private Address address;"
+                        + " public static class Address { private String city; } }"));
+    }
+
+    @After
+    public void tearDown() {
+        System.clearProperty("docs.cache.dir");
+    }
+
+    @Test
+    public void indexesNestedClassesAndSolvesThemFromTheJar() {
+        JarIndex index = JarIndex.of(jar.getParentFile());
+
+        assertEquals(2, index.size());
+        assertEquals("com.lib.User$Address", index.get("com.lib.User.Address").getBinaryName());
+        assertNull(index.get("com.lib.User$Address"));
+
+        CombinedTypeSolver typeSolver = new CombinedTypeSolver();
+        typeSolver.add(new IndexedJarTypeSolver(index));
+        typeSolver.add(JdkTypeSolver.create());
+        assertEquals("com.lib.User.Address", typeSolver.solveType("com.lib.User.Address").getQualifiedName());
+        assertFalse(typeSolver.tryToSolveType("com.lib.Missing").isSolved());
+    }
+
+    @Test
+    public void readsThePersistedIndexInsteadOfScanningTheJar() throws IOException {
+        JarIndex.of(jar.getParentFile());
+        File[] indexes = new File(cache, "jar-index").listFiles();
+        assertNotNull(indexes);
+        assertEquals(1, indexes.length);
+        Files.write(indexes[0].toPath(), Collections.singletonList("com/lib/Cached.class"),
+                StandardCharsets.UTF_8, StandardOpenOption.APPEND);
+
+        assertNotNull(JarIndex.of(jar.getParentFile()).get("com.lib.Cached"));
+    }
+}
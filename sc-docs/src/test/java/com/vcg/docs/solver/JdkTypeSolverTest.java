@@ -0,0 +1,39 @@
+package com.vcg.docs.solver;
+
+import com.github.javaparser.resolution.declarations.ResolvedReferenceTypeDeclaration;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class JdkTypeSolverTest {
+
+    private final JdkTypeSolver typeSolver = new JdkTypeSolver();
+
+    @Test
+    public void solvesJdkTypesIncludingNestedOnes() {
+        ResolvedReferenceTypeDeclaration entry = typeSolver.solveType("java.util.Map.Entry");
+
+        assertEquals("java.util.Map.Entry", entry.getQualifiedName());
+        assertSame(entry, typeSolver.solveType("java.util.Map.Entry"));
+        assertTrue(JdkTypeSolver.contains("java.time.LocalDate"));
+    }
+
+    @Test
+    public void ignoresClassesOnTheApplicationClassPath() {
+        assertFalse(typeSolver.tryToSolveType("org.springframework.web.bind.annotation.RestController").isSolved());
+        assertFalse(typeSolver.tryToSolveType(JdkTypeSolverTest.class.getName()).isSolved());
+        assertFalse(JdkTypeSolver.contains("com.github.javaparser.JavaParser"));
+    }
+
+    @Test
+    public void solvesObjectWithoutRecursingIntoItsAncestors() {
+        ResolvedReferenceTypeDeclaration object = typeSolver.solveType("java.lang.Object");
+
+        assertTrue(object.asClass().getAncestors().isEmpty());
+        assertTrue(typeSolver.solveType("java.lang.String").getAllAncestors().stream()
+                .anyMatch(ancestor -> ancestor.getQualifiedName().equals("java.lang.Object")));
+    }
+}
@@ -0,0 +1,74 @@
+package com.vcg.docs.solver;
+
+import com.github.javaparser.ast.CompilationUnit;
+import com.github.javaparser.symbolsolver.resolution.typesolvers.CombinedTypeSolver;
+import com.vcg.docs.TestJars;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class SourceTypeSolverTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private SourceIndex index;
+
+    @Before
+    public void setUp() throws IOException {
+        File sourceDirectory = TestJars.write(folder.newFolder("src"), TestJars.sources(
+                "com.demo.User", "package com.demo; public class User { public static class Address { } }",
+                "com.demo.Helpers", "package com.demo; public class Helpers { } class Hidden { }",
+                "com.demo.order.Order", "package com.demo.order; public class Order { }"));
+        List<String> sources;
+        try (Stream<Path> stream = java.nio.file.Files.walk(sourceDirectory.toPath())) {
+            sources = stream.filter(p -> p.toString().endsWith(".java"))
+                    .map(p -> p.toAbsolutePath().toString())
+                    .collect(Collectors.toList());
+        }
+        index = SourceIndex.of(Collections.singletonList(sourceDirectory), sources);
+    }
+
+    @Test
+    public void solvesTopLevelNestedAndPackagePrivateTypes() {
+        CombinedTypeSolver typeSolver = typeSolver(new HashMap<>());
+
+        assertEquals("com.demo.User", typeSolver.solveType("com.demo.User").getQualifiedName());
+        assertEquals("com.demo.User.Address", typeSolver.solveType("com.demo.User.Address").getQualifiedName());
+        assertEquals("com.demo.Hidden", typeSolver.solveType("com.demo.Hidden").getQualifiedName());
+        assertFalse(typeSolver.tryToSolveType("com.demo.Missing").isSolved());
+    }
+
+    @Test
+    public void parsesEachFileOncePerThread() {
+        Map<Path, Optional<CompilationUnit>> parsed = new HashMap<>();
+        typeSolver(parsed).solveType("com.demo.order.Order");
+        CompilationUnit first = parsed.values().iterator().next().get();
+
+        typeSolver(parsed).solveType("com.demo.order.Order");
+
+        assertEquals(1, parsed.size());
+        assertSame(first, parsed.values().iterator().next().get());
+        assertTrue(first.getStorage().isPresent());
+    }
+
+    private CombinedTypeSolver typeSolver(Map<Path, Optional<CompilationUnit>> parsed) {
+        CombinedTypeSolver typeSolver = new CombinedTypeSolver();
+        typeSolver.add(new SourceTypeSolver(index, parsed));
+        typeSolver.add(JdkTypeSolver.create());
+        return typeSolver;
+    }
+}
@@ -0,0 +1,45 @@
+package com.vcg.docs.visitor;
+
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class ApiExtractorProviderTest {
+
+    @After
+    public void tearDown() {
+        TestExtractorProvider.setEnabled(false);
+        System.clearProperty("docs.dubbo");
+    }
+
+    @Test
+    public void loadsBuiltInAndRegisteredExtractors() {
+        assertEquals(2, ApiExtractorProvider.load(new ResolveSwaggerType()).size());
+
+        System.setProperty("docs.dubbo", "true");
+        TestExtractorProvider.setEnabled(true);
+        List<ApiExtractor> extractors = ApiExtractorProvider.load(new ResolveSwaggerType());
+
+        assertEquals(4, extractors.size());
+        List<Class<?>> types = extractors.stream().map(Object::getClass).collect(Collectors.toList());
+        assertTrue(types.contains(JavaxRsVisitorAdapter.class));
+        assertTrue(types.contains(RestVisitorAdapter.class));
+        assertTrue(types.contains(DubboVisitorAdapter.class));
+    }
+
+    @Test
+    public void leavesOutBuiltInExtractorsForBytecodeMode() {
+        TestExtractorProvider.setEnabled(true);
+
+        List<ApiExtractor> extractors = ApiExtractorProvider.load(new ResolveSwaggerType(), false);
+
+        assertEquals(1, extractors.size());
+        assertEquals(Collections.singleton("RestController"), extractors.get(0).getClassAnnotations());
+    }
+}
@@ -0,0 +1,91 @@
+package com.vcg.docs.visitor;
+
+import com.github.javaparser.JavaParser;
+import com.github.javaparser.ast.body.ClassOrInterfaceDeclaration;
+import com.github.javaparser.ast.body.MethodDeclaration;
+import io.swagger.models.Swagger;
+import org.junit.Test;
+
+import java.util.*;
+
+import static org.junit.Assert.assertEquals;
+
+public class CompositeVisitorAdapterTest {
+
+    private static final String SOURCE = "package com.demo;"
+            + " @RestController public class UserController {"
+            + "   @GetMapping public void list() { new Runnable() { @GetMapping public void run() { } }; }"
+            + "   @Deprecated public void helper() { }"
+            + "   @RestController public static class Inner { @PostMapping public void save() { } }"
+            + " }"
+            + " @Path(\"/orders\") class OrderResource { public void get() { } @GET public void find() { } }";
+
+    @Test
+    public void dispatchesClassesAndMethodsByAnnotation() {
+        RecordingExtractor rest = new RecordingExtractor("RestController", "GetMapping", "PostMapping");
+        RecordingExtractor jaxRs = new RecordingExtractor("Path");
+
+        new CompositeVisitorAdapter(Arrays.asList(rest, jaxRs)).visit(JavaParser.parse(SOURCE), new Swagger());
+
+        assertEquals(Arrays.asList("UserController", "Inner"), rest.classes);
+        assertEquals(Arrays.asList("UserController.list", "Inner.save"), rest.methods);
+        assertEquals(Collections.singletonList("OrderResource"), jaxRs.classes);
+        assertEquals(Arrays.asList("OrderResource.get", "OrderResource.find"), jaxRs.methods);
+    }
+
+    @Test
+    public void skipsMethodsOfRejectedClasses() {
+        RecordingExtractor rest = new RecordingExtractor("RestController", "GetMapping", "PostMapping");
+        rest.accept = false;
+
+        new CompositeVisitorAdapter(Collections.singletonList(rest)).visit(JavaParser.parse(SOURCE), new Swagger());
+
+        assertEquals(Arrays.asList("UserController", "Inner"), rest.classes);
+        assertEquals(Collections.emptyList(), rest.methods);
+    }
+
+    /**
+     * 第一个参数为类注解,其余为方法注解
+     */
+    private static class RecordingExtractor implements ApiExtractor {
+
+        private final Set<String> classAnnotations;
+
+        private final Set<String> methodAnnotations;
+
+        private final List<String> classes = new ArrayList<>();
+
+        private final List<String> methods = new ArrayList<>();
+
+        private boolean accept = true;
+
+        RecordingExtractor(String classAnnotation, String... methodAnnotations) {
+            this.classAnnotations = Collections.singleton(classAnnotation);
+            this.methodAnnotations = new HashSet<>(Arrays.asList(methodAnnotations));
+        }
+
+        @Override
+        public Set<String> getClassAnnotations() {
+            return classAnnotations;
+        }
+
+        @Override
+        public Set<String> getMethodAnnotations() {
+            return methodAnnotations;
+        }
+
+        @Override
+        public boolean visitClass(ClassOrInterfaceDeclaration n, Swagger swagger) {
+            classes.add(n.getNameAsString());
+            return accept;
+        }
+
+        @Override
+        public void visitMethod(MethodDeclaration n, Swagger swagger) {
+            String owner = n.getAncestorOfType(ClassOrInterfaceDeclaration.class)
+                    .map(ClassOrInterfaceDeclaration::getNameAsString)
+                    .orElse("");
+            methods.add(owner + "." + n.getNameAsString());
+        }
+    }
+}
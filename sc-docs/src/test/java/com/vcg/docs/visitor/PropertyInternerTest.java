@@ -0,0 +1,68 @@
+package com.vcg.docs.visitor;
+
+import io.swagger.models.properties.ArrayProperty;
+import io.swagger.models.properties.LongProperty;
+import io.swagger.models.properties.ObjectProperty;
+import io.swagger.models.properties.Property;
+import io.swagger.models.properties.StringProperty;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class PropertyInternerTest {
+
+    private final PropertyInterner interner = new PropertyInterner();
+
+    @Test
+    public void sharesEqualProperties() {
+        Property first = interner.intern(new LongProperty().description("主键"));
+        Property second = interner.intern(new LongProperty().description("主键"));
+
+        assertSame(first, second);
+        assertEquals(1, interner.getHits());
+    }
+
+    @Test
+    public void keepsRequiredAndNameApart() {
+        Property optional = interner.intern(new LongProperty());
+        LongProperty required = new LongProperty();
+        required.setRequired(true);
+        StringProperty named = new StringProperty();
+        named.setName("id");
+
+        assertNotSame(optional, interner.intern(required));
+        assertTrue(interner.intern(required).getRequired());
+        assertNotSame(interner.intern(new StringProperty()), interner.intern(named));
+    }
+
+    @Test
+    public void comparesArrayItems() {
+        Property strings = interner.intern(new ArrayProperty(new StringProperty()));
+        Property longs = interner.intern(new ArrayProperty(new LongProperty()));
+
+        assertNotSame(strings, longs);
+        assertSame(strings, interner.intern(new ArrayProperty(new StringProperty())));
+    }
+
+    @Test
+    public void skipsObjectProperties() {
+        ObjectProperty property = new ObjectProperty();
+
+        assertSame(property, interner.intern(property));
+        assertEquals(0, interner.size());
+    }
+
+    @Test
+    public void copyKeepsRequired() {
+        LongProperty property = new LongProperty();
+        property.setRequired(true);
+
+        Property copy = PropertyInterner.copy(property);
+
+        assertNotSame(property, copy);
+        assertTrue(copy.getRequired());
+    }
+}
@@ -0,0 +1,179 @@
+package com.vcg.docs.visitor;
+
+import com.github.javaparser.JavaParser;
+import com.github.javaparser.ParseStart;
+import com.github.javaparser.ParserConfiguration;
+import com.github.javaparser.Providers;
+import com.github.javaparser.ast.body.FieldDeclaration;
+import com.github.javaparser.ast.type.Type;
+import com.github.javaparser.symbolsolver.JavaSymbolSolver;
+import com.github.javaparser.symbolsolver.resolution.typesolvers.CombinedTypeSolver;
+import com.github.javaparser.symbolsolver.resolution.typesolvers.JavaParserTypeSolver;
+import com.github.javaparser.symbolsolver.resolution.typesolvers.ReflectionTypeSolver;
+import com.vcg.docs.TestJars;
+import io.swagger.models.Model;
+import io.swagger.models.properties.ObjectProperty;
+import io.swagger.models.properties.Property;
+import io.swagger.models.properties.RefProperty;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * 按源码解析模型,类型由 JavaParserTypeSolver 从临时源码目录中查找
+ */
+public class ResolveSwaggerTypeSourceTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private final ResolveSwaggerType resolveSwaggerType = new ResolveSwaggerType();
+
+    private File sourceDirectory;
+
+    @Before
+    public void setUp() throws IOException {
+        System.setProperty("docs.cache", "false");
+        sourceDirectory = TestJars.write(folder.newFolder("src"), TestJars.sources(
+                "com.demo.User", "package com.demo; public class User { private String name; private Address address; }",
+                "com.demo.Address", "package com.demo; public class Address { private String city; }"));
+    }
+
+    @After
+    public void tearDown() {
+        System.clearProperty("docs.cache");
+    }
+
+    @Test
+    public void resolvesEachTypeOnceAndReusesItForLaterFields() {
+        Property first = resolveSwaggerType.resolve(field("UserController", "User"));
+        long misses = resolveSwaggerType.getMisses();
+        long hits = resolveSwaggerType.getHits();
+
+        Property second = resolveSwaggerType.resolve(field("AdminController", "User"));
+
+        assertEquals("User", first.getName());
+        assertEquals("User", second.getName());
+        assertEquals(2, misses);
+        assertEquals(misses, resolveSwaggerType.getMisses());
+        assertTrue(resolveSwaggerType.getHits() > hits);
+        assertEquals(properties(first).keySet(), properties(second).keySet());
+    }
+
+    @Test
+    public void mapsValueTypesToFreshProperties() {
+        Property date = resolveSwaggerType.resolve(field("UserController", "java.time.LocalDate"));
+
+        assertEquals("string", date.getType());
+        assertEquals("2018-09-10", date.getExample());
+        assertNotSame(date, resolveSwaggerType.resolve(field("AdminController", "java.time.LocalDate")));
+        assertEquals("number", resolveSwaggerType.resolve(field("UserController", "java.math.BigDecimal")).getType());
+    }
+
+    @Test
+    public void readsCustomTypeMappings() throws IOException {
+        File types = folder.newFile("types.properties");
+        Files.write(types.toPath(), Arrays.asList("org.joda.money.Money = string:decimal", "com.demo.Id=unknown"),
+                StandardCharsets.UTF_8);
+        Map<String, Supplier<Property>> baseTypes = new HashMap<>();
+
+        ResolveSwaggerType.registerMappings(baseTypes, types.getPath());
+
+        assertEquals(Collections.singleton("org.joda.money.Money"), baseTypes.keySet());
+        Property money = baseTypes.get("org.joda.money.Money").get();
+        assertEquals("string", money.getType());
+        assertEquals("decimal", money.getFormat());
+    }
+
+    @Test
+    public void resolvesCyclesAsReferences() throws IOException {
+        TestJars.write(sourceDirectory, TestJars.sources(
+                "com.demo.Category", "package com.demo; import java.util.List;"
+                        + " public class Category { private Category parent; private List<Category> children; private Owner owner; }",
+                "com.demo.Owner", "package com.demo; public class Owner { private Category favorite; }"));
+
+        Property category = resolveSwaggerType.resolve(field("CategoryController", "Category"));
+
+        assertEquals("Category", category.getName());
+        assertEquals(new HashSet<>(Arrays.asList("parent", "children", "owner")), properties(category).keySet());
+        Map<String, Model> models = resolveSwaggerType.getModelMap();
+        assertTrue(models.containsKey("Category"));
+        assertTrue(models.containsKey("Owner"));
+        assertEquals("#/definitions/Category", ((RefProperty) models.get("Owner").getProperties().get("favorite")).get$ref());
+    }
+
+    @Test
+    public void stopsExpandingModelsDeeperThanTheLimitAndPublishesThemOnce() throws IOException {
+        Map<String, String> chain = new LinkedHashMap<>();
+        for (int i = 0; i < 70; i++) {
+            chain.put("com.demo.Level" + i, "package com.demo; public class Level" + i + " { private Level" + (i + 1) + " next; }");
+        }
+        TestJars.write(sourceDirectory, chain);
+
+        resolveSwaggerType.resolve(field("LevelController", "Level0"));
+        long misses = resolveSwaggerType.getMisses();
+
+        Map<String, Model> models = resolveSwaggerType.getModelMap();
+        assertTrue(models.containsKey("Level64"));
+        assertFalse(models.containsKey("Level65"));
+        assertNull(models.get("Level64").getProperties().get("next").getName());
+
+        resolveSwaggerType.resolve(field("OtherController", "Level0"));
+        assertEquals(misses, resolveSwaggerType.getMisses());
+    }
+
+    @Test
+    public void mergesInheritedPropertiesFromResolvedAncestors() throws IOException {
+        TestJars.write(sourceDirectory, TestJars.sources(
+                "com.demo.Base", "package com.demo; public class Base { private Long id; }",
+                "com.demo.Person", "package com.demo; public class Person extends Base { private String name; }",
+                "com.demo.Employee", "package com.demo; public class Employee extends Person { private Double salary; }",
+                "com.demo.Customer", "package com.demo; public class Customer extends Person { private Integer level; }"));
+
+        Property employee = resolveSwaggerType.resolve(field("EmployeeController", "Employee"));
+        assertEquals(3, resolveSwaggerType.getMisses());
+        Property customer = resolveSwaggerType.resolve(field("CustomerController", "Customer"));
+
+        assertEquals(new HashSet<>(Arrays.asList("id", "name", "salary")), properties(employee).keySet());
+        assertEquals(new HashSet<>(Arrays.asList("id", "name", "level")), properties(customer).keySet());
+        assertEquals(4, resolveSwaggerType.getMisses());
+    }
+
+    /**
+     * 在 com.demo 包中声明一个字段,返回字段的类型
+     */
+    private Type field(String controller, String type) {
+        CombinedTypeSolver typeSolver = new CombinedTypeSolver(new ReflectionTypeSolver(), new JavaParserTypeSolver(sourceDirectory));
+        JavaParser javaParser = new JavaParser(new ParserConfiguration().setSymbolResolver(new JavaSymbolSolver(typeSolver)));
+        return javaParser.parse(ParseStart.COMPILATION_UNIT, Providers.provider(
+                "package com.demo; import java.util.*; public class " + controller + " { private " + type + " value; }"))
+                .getResult()
+                .flatMap(cu -> cu.findFirst(FieldDeclaration.class))
+                .map(field -> field.getVariable(0).getType())
+                .orElseThrow(IllegalStateException::new);
+    }
+
+    private static Map<String, Property> properties(Property property) {
+        return ((ObjectProperty) property).getProperties();
+    }
+}
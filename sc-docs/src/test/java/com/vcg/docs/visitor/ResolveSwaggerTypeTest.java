@@ -0,0 +1,118 @@
+package com.vcg.docs.visitor;
+
+import com.github.javaparser.JavaParser;
+import com.github.javaparser.ast.body.FieldDeclaration;
+import com.github.javaparser.symbolsolver.model.typesystem.ReferenceTypeImpl;
+import com.github.javaparser.symbolsolver.resolution.typesolvers.CombinedTypeSolver;
+import com.vcg.docs.TestJars;
+import com.vcg.docs.metrics.ResolveProfile;
+import com.vcg.docs.solver.IndexedJarTypeSolver;
+import com.vcg.docs.solver.JarIndex;
+import com.vcg.docs.solver.JdkTypeSolver;
+import io.swagger.models.properties.ObjectProperty;
+import io.swagger.models.properties.Property;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+
+import static org.junit.Assert.assertEquals;
+
+public class ResolveSwaggerTypeTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private final ResolveSwaggerType resolveSwaggerType = new ResolveSwaggerType();
+
+    @Before
+    public void setUp() {
+        System.setProperty("docs.cache", "false");
+    }
+
+    @After
+    public void tearDown() {
+        System.clearProperty("docs.cache");
+    }
+
+    @Test
+    public void keepsVersionsOfTheSameTypeApart() throws IOException {
+        File v1 = TestJars.jar(new File(folder.newFolder("a"), "model-1.0.jar"), TestJars.sources(
+                "com.lib.User", "package com.lib; public class User { private String name; }"));
+        File v2 = TestJars.jar(new File(folder.newFolder("b"), "model-2.0.jar"), TestJars.sources(
+                "com.lib.User", "package com.lib; public class User { private String name; private int age; }"));
+
+        assertEquals(Collections.singleton("name"), properties(resolve(v1, "com.lib.User")).keySet());
+        assertEquals(2, properties(resolve(v2, "com.lib.User")).size());
+        assertEquals(0, resolveSwaggerType.getHits());
+    }
+
+    @Test
+    public void profilesTypesReachedThroughCachedModels() throws IOException {
+        File jar = TestJars.jar(new File(folder.newFolder("lib"), "model-1.0.jar"), TestJars.sources(
+                "com.lib.Order", "package com.lib; public class Order { private User user; }",
+                "com.lib.User", "package com.lib; public class User { private String name; }"));
+        ResolveProfile profile = new ResolveProfile();
+        resolveSwaggerType.setProfile(profile);
+        CombinedTypeSolver typeSolver = typeSolver(jar);
+
+        resolveSwaggerType.resolve(new ReferenceTypeImpl(typeSolver.solveType("com.lib.Order"), typeSolver), "OrderController");
+        resolveSwaggerType.resolve(new ReferenceTypeImpl(typeSolver.solveType("com.lib.Order"), typeSolver), "AdminController");
+
+        ResolveProfile.TypeProfile user = profile(profile, "com.lib.User@model-1.0.jar");
+        assertEquals(1, user.getResolves());
+        assertEquals(new HashSet<>(Arrays.asList("AdminController", "OrderController")), user.getControllers());
+    }
+
+    @Test
+    public void profilesUnresolvedTypesOfEachController() throws IOException {
+        File order = TestJars.write(folder.newFolder("src"), TestJars.sources(
+                "com.demo.Order", "package com.demo; public class Order { private String name; }"));
+        resolveSwaggerType.setSources(Collections.singletonList(new File(order, "com/demo/Order.java").getPath()));
+        ResolveProfile profile = new ResolveProfile();
+        resolveSwaggerType.setProfile(profile);
+
+        resolveSwaggerType.resolve(field("OrderController", "Order"));
+        resolveSwaggerType.resolve(field("AdminController", "Order"));
+
+        ResolveProfile.TypeProfile model = profile(profile, "Order");
+        assertEquals(new HashSet<>(Arrays.asList("AdminController", "OrderController")), model.getControllers());
+    }
+
+    private static com.github.javaparser.ast.type.Type field(String controller, String type) {
+        return JavaParser.parse("package com.demo; public class " + controller + " { private " + type + " value; }")
+                .findFirst(FieldDeclaration.class)
+                .map(field -> field.getVariable(0).getType())
+                .orElseThrow(IllegalStateException::new);
+    }
+
+    private static ResolveProfile.TypeProfile profile(ResolveProfile profile, String type) {
+        return profile.report().getMostResolved().stream()
+                .filter(p -> p.getType().equals(type))
+                .findFirst()
+                .orElseThrow(() -> new AssertionError("No profile of " + type));
+    }
+
+    private static CombinedTypeSolver typeSolver(File jar) {
+        CombinedTypeSolver typeSolver = new CombinedTypeSolver();
+        typeSolver.add(JdkTypeSolver.create());
+        typeSolver.add(new IndexedJarTypeSolver(JarIndex.of(jar.getParentFile())));
+        return typeSolver;
+    }
+
+    Property resolve(File jar, String className) {
+        CombinedTypeSolver typeSolver = typeSolver(jar);
+        return resolveSwaggerType.resolve(typeSolver.solveType(className), typeSolver);
+    }
+
+    private static java.util.Map<String, Property> properties(Property property) {
+        return ((ObjectProperty) property).getProperties();
+    }
+}
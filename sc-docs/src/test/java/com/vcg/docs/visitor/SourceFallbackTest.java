@@ -0,0 +1,87 @@
+package com.vcg.docs.visitor;
+
+import com.github.javaparser.JavaParser;
+import com.github.javaparser.ast.body.FieldDeclaration;
+import com.github.javaparser.ast.type.Type;
+import com.vcg.docs.TestJars;
+import io.swagger.models.properties.*;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.*;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class SourceFallbackTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private SourceFallback fallback;
+
+    @Before
+    public void setUp() throws IOException {
+        Map<String, Supplier<Property>> baseTypes = new HashMap<>();
+        baseTypes.put("java.lang.String", StringProperty::new);
+        baseTypes.put("long", LongProperty::new);
+        fallback = new SourceFallback(baseTypes);
+        File sourceDirectory = TestJars.write(folder.newFolder("src"), TestJars.sources(
+                "com.demo.model.Order", "package com.demo.model; import com.demo.common.Page;"
+                        + " public class Order extends Base { private Page<Item> items; private Status status;"
+                        + " public static class Item { private String sku; } public enum Status { NEW, PAID } }",
+                "com.demo.model.Base", "package com.demo.model; public class Base { private long id; }",
+                "com.demo.common.Page", "package com.demo.common; import java.util.List;"
+                        + " public class Page<T> { private List<T> content; private long total; }",
+                "com.other.Order", "package com.other; public class Order { private String other; }"));
+        try (Stream<java.nio.file.Path> stream = Files.walk(sourceDirectory.toPath())) {
+            fallback.setSources(stream.filter(Files::isRegularFile).map(Object::toString).collect(Collectors.toList()));
+        }
+    }
+
+    @Test
+    public void resolvesTypesByImportsAndExpandsFields() {
+        Map<String, SourceFallback.Model> found = new LinkedHashMap<>();
+        Property property = fallback.resolve(field("import com.demo.model.Order;", "Order"), found);
+
+        assertEquals("Order", property.getName());
+        assertEquals(new HashSet<>(Arrays.asList("Order", "Base", "Page«Item»", "Item", "Status")), found.keySet());
+        Map<String, Property> order = properties(property);
+        assertEquals(new HashSet<>(Arrays.asList("id", "items", "status")), order.keySet());
+        assertEquals("Page«Item»", order.get("items").getName());
+        assertEquals(Arrays.asList("NEW", "PAID"), ((StringProperty) order.get("status")).getEnum());
+
+        Property content = properties(found.get("Page«Item»").getProperty()).get("content");
+        assertEquals("#/definitions/Item", ((RefProperty) ((ArrayProperty) content).getItems()).get$ref());
+    }
+
+    @Test
+    public void resolvesNestedTypesAndTypesOfTheSamePackage() {
+        Map<String, SourceFallback.Model> found = new LinkedHashMap<>();
+        assertEquals(Collections.singleton("sku"), properties(fallback.resolve(field("import com.demo.model.Order;", "Order.Item"), found)).keySet());
+
+        Property other = fallback.resolve(JavaParser.parse("package com.other; class Api { Order value; }")
+                .findFirst(FieldDeclaration.class).get().getVariable(0).getType(), new LinkedHashMap<>());
+        assertEquals(Collections.singleton("other"), properties(other).keySet());
+        assertTrue(found.containsKey("Item"));
+    }
+
+    private static Type field(String imports, String type) {
+        return JavaParser.parse("package com.demo.web; " + imports + " public class Api { private " + type + " value; }")
+                .findFirst(FieldDeclaration.class)
+                .map(field -> field.getVariable(0).getType())
+                .orElseThrow(IllegalStateException::new);
+    }
+
+    private static Map<String, Property> properties(Property property) {
+        return ((ObjectProperty) property).getProperties();
+    }
+}
@@ -0,0 +1,49 @@
+package com.vcg.docs.visitor;
+
+import com.github.javaparser.ast.body.ClassOrInterfaceDeclaration;
+import com.github.javaparser.ast.body.MethodDeclaration;
+import io.swagger.models.Operation;
+import io.swagger.models.Path;
+import io.swagger.models.Swagger;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 测试中通过 META-INF/services 注册的提取器,开启后为每个 @RestController 类添加 GET /extension/类名
+ */
+public class TestExtractorProvider implements ApiExtractorProvider {
+
+    private static volatile boolean enabled;
+
+    public static void setEnabled(boolean enabled) {
+        TestExtractorProvider.enabled = enabled;
+    }
+
+    @Override
+    public List<ApiExtractor> create(ResolveSwaggerType resolveSwaggerType) {
+        if (!enabled) return Collections.emptyList();
+        return Collections.singletonList(new ApiExtractor() {
+            @Override
+            public Set<String> getClassAnnotations() {
+                return Collections.singleton("RestController");
+            }
+
+            @Override
+            public Set<String> getMethodAnnotations() {
+                return Collections.emptySet();
+            }
+
+            @Override
+            public boolean visitClass(ClassOrInterfaceDeclaration n, Swagger swagger) {
+                swagger.path("/extension/" + n.getNameAsString(), new Path().get(new Operation()));
+                return false;
+            }
+
+            @Override
+            public void visitMethod(MethodDeclaration n, Swagger swagger) {
+            }
+        });
+    }
+}
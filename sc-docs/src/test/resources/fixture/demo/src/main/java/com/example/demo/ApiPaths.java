@@ -0,0 +1,10 @@
+package com.example.demo;
+
+public interface ApiPaths {
+
+    String BASE = "/api";
+
+    String USERS = BASE + "/users";
+
+    String ID = "/{id}";
+}
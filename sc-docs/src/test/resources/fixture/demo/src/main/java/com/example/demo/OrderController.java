@@ -0,0 +1,19 @@
+package com.example.demo;
+
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * 订单接口
+ */
+@RestController
+@RequestMapping(ApiPaths.BASE + "/orders")
+public class OrderController {
+
+    @GetMapping(ApiPaths.ID)
+    public String get(@PathVariable("id") Long id) {
+        return null;
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.demo;
+
+import org.springframework.http.HttpStatus;
+
+/**
+ * 用户
+ */
+public class User {
+
+    private Long id;
+
+    private String name;
+
+    private HttpStatus status;
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public HttpStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(HttpStatus status) {
+        this.status = status;
+    }
+}
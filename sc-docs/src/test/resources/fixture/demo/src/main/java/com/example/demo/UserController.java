@@ -0,0 +1,38 @@
+package com.example.demo;
+
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * 用户接口
+ */
+@RestController
+@RequestMapping(ApiPaths.USERS)
+public class UserController {
+
+    /**
+     * 查询用户
+     *
+     * @param name 用户名
+     */
+    @GetMapping
+    public List<User> list(@RequestParam(value = "name", required = false) String name,
+                           @RequestHeader("X-Tenant") String tenant) {
+        return null;
+    }
+
+    @GetMapping("/{id}")
+    public User get(@PathVariable("id") Long id) {
+        return null;
+    }
+
+    @PostMapping
+    public User create(@RequestBody User user) {
+        return null;
+    }
+
+    @DeleteMapping(ApiPaths.ID)
+    public void delete(@PathVariable("id") Long id) {
+    }
+}